@@ -0,0 +1,144 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.EngagementIndex;
+import social.model.FeedRanking;
+import social.model.Post;
+import social.model.User;
+import social.model.test.DataProvider;
+import social.model.test.WorkloadGenerator;
+
+/**
+ * Lecture des premiers Post d'un fil classé par engagement (nombre de likes
+ * pondéré par l'âge des Post) pendant qu'un autre thread du même groupe ajoute
+ * des likes en continu, les likes portant de préférence sur les Post récents:
+ * <ul>
+ * <li>groupe index: par l'EngagementIndex, qui reclasse chaque Post à chaque
+ * like;</li>
+ * <li>groupe score: par FeedRanking.score, qui calcule le score de tous les Post
+ * du fil à chaque lecture.</li>
+ * </ul>
+ * Le réseau (WorkloadGenerator) compte nbUsers User ayant publié nbPosts Post.
+ * Les classements obtenus par les deux méthodes sont vérifiés par
+ * TestUser.testsetEngagementIndex et TestUser.testrankedFeed.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EngagementBenchmark {
+	private static final int PAGE_SIZE = 20;
+	private static final double LIKE_WEIGHT = 1;
+	private static final Duration HALF_LIFE = Duration.ofSeconds(1);
+	// Fenêtre des Post récents sur lesquels porte la plupart des likes
+	private static final int RECENT_WINDOW = 10_000;
+
+	@Param("20000")
+	int nbUsers;
+
+	@Param("100")
+	int nbSubscriptions;
+
+	@Param("1000000")
+	int nbPosts;
+
+	@Param("42")
+	long seed;
+
+	private List<User> users;
+	private EngagementIndex index;
+	private Post[] posts;
+	private User[] readers;
+
+	@State(Scope.Thread)
+	public static class Reader {
+		int next;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		WorkloadGenerator gen = new WorkloadGenerator("engagement-", seed).setUserNb(nbUsers)
+				.setAverageSubscriptionNb(nbSubscriptions);
+		gen.buildSubscriptions();
+		users = gen.getUsers();
+		index = new EngagementIndex(LIKE_WEIGHT, HALF_LIFE);
+		// L'index reste installé: chaque essai s'exécute dans sa propre JVM
+		User.setEngagementIndex(index);
+		posts = gen.posts(nbPosts).toArray(Post[]::new);
+		// Lecteurs tirés par DataProvider
+		DataProvider.setSeed(seed);
+		readers = new User[4096];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = DataProvider.getRandomElt(users);
+		}
+	}
+
+	@Benchmark
+	@Group("index")
+	@GroupThreads(1)
+	public List<Post> indexTop(Reader state) {
+		state.next = (state.next + 1) & (readers.length - 1);
+		return index.top(readers[state.next], PAGE_SIZE);
+	}
+
+	@Benchmark
+	@Group("index")
+	@GroupThreads(1)
+	public boolean indexLike() {
+		return like();
+	}
+
+	@Benchmark
+	@Group("score")
+	@GroupThreads(1)
+	public List<Post> scoreTop(Reader state) {
+		state.next = (state.next + 1) & (readers.length - 1);
+		return readers[state.next].rankedFeed(FeedRanking.score(LIKE_WEIGHT, HALF_LIFE, Instant.now()), PAGE_SIZE);
+	}
+
+	@Benchmark
+	@Group("score")
+	@GroupThreads(1)
+	public boolean scoreLike() {
+		return like();
+	}
+
+	/*
+	 * Ajoute un like d'un User tiré au hasard à un Post tiré au hasard, parmi les
+	 * RECENT_WINDOW Post les plus récents trois fois sur quatre.
+	 */
+	private boolean like() {
+		ThreadLocalRandom rand = ThreadLocalRandom.current();
+		int i = rand.nextInt(4) > 0 ? posts.length - 1 - rand.nextInt(Math.min(RECENT_WINDOW, posts.length))
+				: rand.nextInt(posts.length);
+		return posts[i].addLikeFrom(users.get(rand.nextInt(users.size())));
+	}
+}
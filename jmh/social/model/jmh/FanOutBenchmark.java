@@ -0,0 +1,119 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.Post;
+import social.model.TimelineStore;
+import social.model.User;
+import social.model.test.DataProvider;
+import social.model.test.WorkloadGenerator;
+
+/**
+ * Publication d'un Post et lecture de la première page du fil d'actualité d'un
+ * lecteur tiré au hasard, sur un réseau synthétique (WorkloadGenerator: nombre
+ * d'abonnés suivant une loi de puissance, activité des auteurs suivant une loi
+ * de Zipf) de nbUsers User ayant publié nbPosts Post, selon trois stratégies:
+ * <ul>
+ * <li>merge: fusion à la lecture (User.timeLine()), sans TimelineStore;</li>
+ * <li>push: fils précalculés à l'écriture pour tous les auteurs (TimelineStore
+ * sans célébrité);</li>
+ * <li>hybrid: fils précalculés, sauf pour les auteurs ayant plus de
+ * celebrityThreshold followers, dont les Post sont fusionnés à la lecture.</li>
+ * </ul>
+ * L'égalité des fils obtenus par les trois stratégies est vérifiée par
+ * TestTimelineStore.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FanOutBenchmark {
+	private static final int PAGE_SIZE = 20;
+
+	@Param({ "merge", "push", "hybrid" })
+	String strategy;
+
+	@Param("50000")
+	int nbUsers;
+
+	@Param("100")
+	int nbSubscriptions;
+
+	@Param("500000")
+	int nbPosts;
+
+	@Param("1000")
+	int celebrityThreshold;
+
+	@Param("42")
+	long seed;
+
+	private WorkloadGenerator gen;
+	private TimelineStore store;
+	private User[] readers;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		gen = new WorkloadGenerator("fanout-" + strategy, seed).setUserNb(nbUsers)
+				.setAverageSubscriptionNb(nbSubscriptions).setMaxLikeNb(0);
+		gen.buildSubscriptions();
+		if (strategy.equals("push")) {
+			store = new TimelineStore(TimelineStore.DEFAULT_CAPACITY, Integer.MAX_VALUE);
+		} else if (strategy.equals("hybrid")) {
+			store = new TimelineStore(TimelineStore.DEFAULT_CAPACITY, celebrityThreshold);
+		}
+		// Le TimelineStore reste installé: chaque essai s'exécute dans sa propre JVM
+		User.setTimelineStore(store);
+		gen.posts(nbPosts).forEach(p -> {
+		});
+		// Lecteurs tirés par DataProvider
+		DataProvider.setSeed(seed);
+		List<User> users = gen.getUsers();
+		readers = new User[4096];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = DataProvider.getRandomElt(users);
+		}
+	}
+
+	/**
+	 * Publication d'un Post par un auteur tiré par le WorkloadGenerator, et ajout
+	 * aux fils précalculés de ses followers.
+	 */
+	@Benchmark
+	public Post publish() {
+		return gen.nextPost();
+	}
+
+	@Benchmark
+	public List<Post> readFirstPage() {
+		next = (next + 1) & (readers.length - 1);
+		User reader = readers[next];
+		if (store == null) {
+			return reader.timeLine().page(0, PAGE_SIZE);
+		}
+		return store.timeLine(reader).page(0, PAGE_SIZE);
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.User;
+import social.model.test.DataProvider;
+
+/**
+ * Abonnements et désabonnements simultanés (une "tempête" d'abonnements) entre
+ * nbUsers User, par autant de threads que de processeurs (option -t de JMH
+ * pour en changer le nombre). Après chaque itération, la cohérence du graphe
+ * des abonnements est vérifiée: u.hasSubscriptionTo(v) <==> v.hasFollower(u).
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class FollowStormBenchmark {
+
+	@Param("10000")
+	int nbUsers;
+
+	@Param("42")
+	long seed;
+
+	private List<User> users;
+	// Couples (abonné, compte suivi) et opérations, tirés par DataProvider
+	private User[] followers;
+	private User[] followed;
+	private boolean[] follow;
+
+	@State(Scope.Thread)
+	public static class Operations {
+		int next;
+
+		/*
+		 * Chaque thread parcourt les opérations à partir d'une position différente.
+		 */
+		@Setup(Level.Trial)
+		public void setUp() {
+			next = ThreadLocalRandom.current().nextInt(4096);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DataProvider.setSeed(seed);
+		users = Workloads.newUsers("storm", nbUsers);
+		followers = new User[4096];
+		followed = new User[4096];
+		follow = new boolean[4096];
+		for (int i = 0; i < followers.length; i++) {
+			followers[i] = DataProvider.getRandomElt(users);
+			do {
+				followed[i] = DataProvider.getRandomElt(users);
+			} while (followed[i] == followers[i] && nbUsers > 1);
+			follow[i] = DataProvider.randBool();
+		}
+	}
+
+	@Benchmark
+	public boolean followOrUnfollow(Operations state) {
+		state.next = (state.next + 1) & (followers.length - 1);
+		int i = state.next;
+		if (follow[i]) {
+			return followers[i].addSubscriptionTo(followed[i]);
+		}
+		return followers[i].removeSubscriptionTo(followed[i]);
+	}
+
+	@TearDown(Level.Iteration)
+	public void checkGraph() {
+		long subscriptionNb = 0;
+		long followerNb = 0;
+		for (User u : users) {
+			for (User v : u.getSubscriptions()) {
+				if (!v.hasFollower(u)) {
+					throw new IllegalStateException();
+				}
+			}
+			subscriptionNb += u.getSubscriptionNb();
+			followerNb += u.getFollowerNb();
+		}
+		if (subscriptionNb != followerNb) {
+			throw new IllegalStateException();
+		}
+	}
+}
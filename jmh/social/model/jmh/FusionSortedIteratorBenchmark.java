@@ -0,0 +1,99 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import social.model.FusionSortedIterator;
+import social.model.Post;
+import social.model.PostCursor;
+import social.model.User;
+import social.model.test.DataProvider;
+
+/**
+ * Construction et parcours d'un FusionSortedIterator fusionnant les Post de
+ * nbSources User, totalisant nbPosts Post, selon le comparateur des dates
+ * (Comparator.reverseOrder()) ou celui des horodatages
+ * (Post.reverseChronologicalOrder()).
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FusionSortedIteratorBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	int nbSources;
+
+	@Param({ "100000", "10000000" })
+	long nbPosts;
+
+	@Param({ "dates", "timestamps" })
+	String comparator;
+
+	@Param("42")
+	long seed;
+
+	private Set<PostCursor> cursors;
+	private Comparator<? super Post> order;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		DataProvider.setSeed(seed);
+		List<User> users = Workloads.newUsers("fusion", nbSources);
+		Workloads.addPosts(users, nbPosts);
+		cursors = new HashSet<PostCursor>();
+		for (User u : users) {
+			cursors.add(u.cursor());
+		}
+		order = comparator.equals("dates") ? Comparator.reverseOrder() : Post.reverseChronologicalOrder();
+	}
+
+	/**
+	 * Construction de la fusion et lecture des 20 Post les plus récents, comme à
+	 * l'ouverture d'un fil d'actualité.
+	 */
+	@Benchmark
+	public void openAndReadFirstPage(Blackhole bh) {
+		FusionSortedIterator<Post, PostCursor> feed = new FusionSortedIterator<Post, PostCursor>(cursors, order);
+		for (int i = 0; i < 20 && feed.hasNext(); i++) {
+			bh.consume(feed.next());
+		}
+	}
+
+	/**
+	 * Construction de la fusion et parcours complet.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void traverse(Blackhole bh) {
+		FusionSortedIterator<Post, PostCursor> feed = new FusionSortedIterator<Post, PostCursor>(cursors, order);
+		while (feed.hasNext()) {
+			bh.consume(feed.next());
+		}
+	}
+}
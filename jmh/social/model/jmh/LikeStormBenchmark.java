@@ -0,0 +1,107 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.Post;
+import social.model.SimplePost;
+import social.model.User;
+import social.model.test.DataProvider;
+
+/**
+ * Likes simultanés sur un même Post (un Post "viral") de la part de nbUsers
+ * User, par autant de threads que de processeurs (option -t de JMH pour en
+ * changer le nombre). Chaque thread parcourt les User à partir d'une position
+ * différente, si bien que chaque User like le Post depuis plusieurs threads.
+ * Après chaque itération, le nombre de likes est vérifié: getLikeNumber(),
+ * getLikers().size() et le nombre d'éléments énumérés par iterator() doivent
+ * être égaux.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(Threads.MAX)
+public class LikeStormBenchmark {
+
+	@Param("1000000")
+	int nbUsers;
+
+	@Param("42")
+	long seed;
+
+	private User[] likers;
+	private Post post;
+
+	@State(Scope.Thread)
+	public static class Likers {
+		int next;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			next = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUpUsers() {
+		DataProvider.setSeed(seed);
+		List<User> users = Workloads.newUsers("storm-liker", nbUsers);
+		// Ordre des likes, tiré par DataProvider
+		likers = new User[nbUsers];
+		for (int i = 0; i < likers.length; i++) {
+			likers[i] = DataProvider.getRandomElt(users);
+		}
+	}
+
+	/*
+	 * Un nouveau Post par itération.
+	 */
+	@Setup(Level.Iteration)
+	public void setUpPost() {
+		post = new SimplePost("viral");
+	}
+
+	@Benchmark
+	public boolean addLikeFrom(Likers state) {
+		state.next = (state.next + 1) % likers.length;
+		return post.addLikeFrom(likers[state.next]);
+	}
+
+	@TearDown(Level.Iteration)
+	public void checkLikes() {
+		int iterated = 0;
+		for (User u : post) {
+			if (u != null) {
+				iterated++;
+			}
+		}
+		if (post.getLikeNumber() != iterated || post.getLikers().size() != iterated) {
+			throw new IllegalStateException();
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.Post;
+import social.model.SimplePost;
+import social.model.User;
+
+/**
+ * Lecture de la première page, de pageSize Post, du fil d'actualité d'un
+ * lecteur abonné à nbSubscriptions auteurs ayant chacun nbPostsPerUser Post:
+ * fusion séquentielle (User.timeLine()) et fusion parallèle
+ * (User.timeLine(ForkJoinPool, int)) dans un ForkJoinPool de nbThreads
+ * threads. L'égalité des pages obtenues par les deux fusions est vérifiée par
+ * TestFusionSortedIterator.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelFeedBenchmark {
+
+	@Param({ "1000", "10000" })
+	int nbSubscriptions;
+
+	@Param("100")
+	int nbPostsPerUser;
+
+	@Param("200")
+	int pageSize;
+
+	@Param({ "1", "2", "4", "8" })
+	int nbThreads;
+
+	private User reader;
+	private ForkJoinPool pool;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		reader = Workloads.newUsers("parallel-reader", 1).get(0);
+		List<User> authors = Workloads.newUsers("parallel-author", nbSubscriptions);
+		for (User author : authors) {
+			reader.addSubscriptionTo(author);
+		}
+		// Les Post des auteurs sont entrelacés, comme des publications simultanées
+		for (int n = 0; n < nbPostsPerUser; n++) {
+			for (User author : authors) {
+				author.addPost(new SimplePost("Post " + n));
+			}
+		}
+		pool = new ForkJoinPool(nbThreads);
+	}
+
+	@Benchmark
+	public List<Post> sequentialFirstPage() {
+		return reader.timeLine().page(0, pageSize);
+	}
+
+	@Benchmark
+	public List<Post> parallelFirstPage() {
+		return reader.timeLine(pool, pageSize).page(0, pageSize);
+	}
+}
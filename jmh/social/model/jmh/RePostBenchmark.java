@@ -0,0 +1,92 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.Post;
+import social.model.RePost;
+import social.model.SimplePost;
+import social.model.User;
+import social.model.test.DataProvider;
+
+/**
+ * RePost.getText sur une chaîne de RePost de profondeur depth: premier appel
+ * (construction du texte) et appels suivants (texte mémorisé).
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RePostBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Chain {
+		@Param({ "1", "10", "100", "1000" })
+		int depth;
+
+		@Param("42")
+		long seed;
+
+		User[] authors;
+		Post chain;
+
+		@Setup(Level.Trial)
+		public void setUpAuthors() {
+			DataProvider.setSeed(seed);
+			authors = Workloads.newUsers("reposter", 16).toArray(new User[0]);
+			chain = newChain();
+			chain.getText();
+		}
+
+		Post newChain() {
+			Post p = new SimplePost("Post original");
+			for (int i = 0; i < depth; i++) {
+				p = new RePost("RePost " + i, authors[DataProvider.randInt(authors.length)], p);
+			}
+			return p;
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class FreshChain {
+		Post chain;
+
+		/*
+		 * Une nouvelle chaîne par appel, afin que chaque appel de firstGetText
+		 * construise le texte.
+		 */
+		@Setup(Level.Invocation)
+		public void setUp(Chain state) {
+			chain = state.newChain();
+		}
+	}
+
+	@Benchmark
+	public String firstGetText(FreshChain state) {
+		return state.chain.getText();
+	}
+
+	@Benchmark
+	public String cachedGetText(Chain state) {
+		return state.chain.getText();
+	}
+}
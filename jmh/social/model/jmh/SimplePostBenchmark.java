@@ -0,0 +1,90 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import social.model.Post;
+import social.model.SimplePost;
+import social.model.User;
+import social.model.test.DataProvider;
+
+/**
+ * SimplePost.addLikeFrom (nouveaux likes et likes déjà présents) et parcours
+ * des likers par SimplePost.iterator(), sur un Post ayant nbLikes likes.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimplePostBenchmark {
+
+	@Param({ "0", "3", "100", "100000" })
+	int nbLikes;
+
+	@Param("42")
+	long seed;
+
+	private List<User> users;
+	private Post post;
+	private User[] likers;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUpUsers() {
+		DataProvider.setSeed(seed);
+		users = Workloads.newUsers("liker", Math.max(nbLikes, 1) * 2);
+		// Likers, tirés par DataProvider, des appels mesurés à addLikeFrom
+		likers = new User[4096];
+		for (int i = 0; i < likers.length; i++) {
+			likers[i] = DataProvider.getRandomElt(users);
+		}
+	}
+
+	/*
+	 * Un nouveau Post par itération, possédant nbLikes likes.
+	 */
+	@Setup(Level.Iteration)
+	public void setUpPost() {
+		post = new SimplePost("Post");
+		for (int i = 0; i < nbLikes; i++) {
+			post.addLikeFrom(users.get(i));
+		}
+	}
+
+	@Benchmark
+	public boolean addLikeFrom() {
+		next = (next + 1) & (likers.length - 1);
+		return post.addLikeFrom(likers[next]);
+	}
+
+	@Benchmark
+	public void iterator(Blackhole bh) {
+		ListIterator<User> iter = post.iterator();
+		while (iter.hasNext()) {
+			bh.consume(iter.next());
+		}
+	}
+}
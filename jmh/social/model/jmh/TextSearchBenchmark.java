@@ -0,0 +1,146 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.Post;
+import social.model.TextIndex;
+import social.model.User;
+import social.model.test.WorkloadGenerator;
+
+/**
+ * Recherche des Post les plus récents contenant des mots donnés, parmi nbPosts
+ * Post publiés par nbUsers User (WorkloadGenerator):
+ * <ul>
+ * <li>par le TextIndex, alimenté à chaque publication, pour des requêtes d'un
+ * mot, de deux mots (searchAll) et de l'un de deux mots (searchAny);</li>
+ * <li>en lisant le texte de tous les Post de tous les User, pour des requêtes
+ * de deux mots.</li>
+ * </ul>
+ * Les mots des requêtes sont tirés du texte de Post publiés. Les résultats de
+ * l'index sont vérifiés par TestUser.testsetTextIndex.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TextSearchBenchmark {
+	private static final int PAGE_SIZE = 20;
+	// Nombre de Post dont les mots servent à construire les requêtes
+	private static final int SAMPLE_NB = 10_000;
+
+	@Param("100000")
+	int nbUsers;
+
+	@Param("10000000")
+	long nbPosts;
+
+	@Param("42")
+	long seed;
+
+	private List<User> users;
+	private TextIndex index;
+	private List<List<String>> queries;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		WorkloadGenerator gen = new WorkloadGenerator("text-", seed).setUserNb(nbUsers).setAverageSubscriptionNb(0)
+				.setMaxLikeNb(0);
+		users = gen.getUsers();
+		index = new TextIndex();
+		// L'index reste installé: chaque essai s'exécute dans sa propre JVM
+		User.setTextIndex(index);
+		Random rand = new Random(seed);
+		List<List<String>> samples = new ArrayList<List<String>>(SAMPLE_NB);
+		for (long i = 0; i < nbPosts; i++) {
+			Post p = gen.nextPost();
+			// Échantillon uniforme des Post publiés (reservoir sampling)
+			if (samples.size() < SAMPLE_NB) {
+				samples.add(TextIndex.tokens(p.getText()));
+			} else if (rand.nextDouble() * (i + 1) < SAMPLE_NB) {
+				samples.set(rand.nextInt(SAMPLE_NB), TextIndex.tokens(p.getText()));
+			}
+		}
+		queries = new ArrayList<List<String>>(1024);
+		for (int i = 0; i < 1024; i++) {
+			queries.add(query(samples, rand));
+		}
+	}
+
+	@Benchmark
+	public List<Post> searchOneWord() {
+		return index.searchAll(nextQuery().subList(0, 1), PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<Post> searchAll() {
+		return index.searchAll(nextQuery(), PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<Post> searchAny() {
+		return index.searchAny(nextQuery(), PAGE_SIZE);
+	}
+
+	/**
+	 * Lecture du texte de tous les Post, sans index.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public List<Post> scan() {
+		List<String> words = nextQuery();
+		List<Post> result = new ArrayList<Post>();
+		for (User u : users) {
+			for (Post p : u.getPosts()) {
+				if (TextIndex.tokens(p.getText()).containsAll(words)) {
+					result.add(p);
+				}
+			}
+		}
+		result.sort(Post.reverseChronologicalOrder());
+		return result.subList(0, Math.min(PAGE_SIZE, result.size()));
+	}
+
+	private List<String> nextQuery() {
+		next = (next + 1) & (queries.size() - 1);
+		return queries.get(next);
+	}
+
+	/*
+	 * Renvoie deux mots distincts du texte d'un Post de l'échantillon.
+	 */
+	private static List<String> query(List<List<String>> samples, Random rand) {
+		List<String> words;
+		do {
+			words = samples.get(rand.nextInt(samples.size()));
+		} while (words.size() < 2);
+		int first = rand.nextInt(words.size());
+		int second = (first + 1 + rand.nextInt(words.size() - 1)) % words.size();
+		return Arrays.asList(words.get(first), words.get(second));
+	}
+}
@@ -0,0 +1,94 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import social.model.Post;
+import social.model.SimplePost;
+import social.model.User;
+import social.model.test.DataProvider;
+
+/**
+ * User.addPost sur un User possédant déjà nbPosts Post, et User.getUser parmi
+ * nbUsers User.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Registry {
+		@Param({ "1000", "100000", "1000000" })
+		int nbUsers;
+
+		@Param("42")
+		long seed;
+
+		String[] names;
+		int next;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			DataProvider.setSeed(seed);
+			List<User> users = Workloads.newUsers("registry", nbUsers);
+			// Noms cherchés, tirés par DataProvider; un quart n'existe pas
+			names = new String[4096];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = DataProvider.randBool(4) ? "absent-" + i : DataProvider.getRandomElt(users).getName();
+			}
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Author {
+		@Param({ "0", "100000", "1000000" })
+		int nbPosts;
+
+		User author;
+
+		/*
+		 * Un nouvel auteur par itération, afin que le nombre de Post de l'auteur
+		 * reste proche de nbPosts.
+		 */
+		@Setup(Level.Iteration)
+		public void setUp() {
+			author = Workloads.newUsers("author", 1).get(0);
+			for (int i = 0; i < nbPosts; i++) {
+				author.addPost(new SimplePost("Post " + i));
+			}
+		}
+	}
+
+	@Benchmark
+	public Post addPost(Author state) {
+		return state.author.addPost(new SimplePost("Post"));
+	}
+
+	@Benchmark
+	public User getUser(Registry state) {
+		state.next = (state.next + 1) & (state.names.length - 1);
+		return User.getUser(state.names[state.next]);
+	}
+}
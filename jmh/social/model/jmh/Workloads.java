@@ -0,0 +1,55 @@
+/**
+ *
+ */
+package social.model.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import social.model.SimplePost;
+import social.model.User;
+import social.model.test.DataProvider;
+
+/**
+ * Construction des données communes aux benchmarks. Les User créés portent des
+ * noms uniques dans le processus, préfixés par le nom spécifié.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class Workloads {
+	private static int userCounter = 0;
+
+	private Workloads() {
+	}
+
+	/**
+	 * Crée le nombre spécifié de User.
+	 *
+	 * @param prefix le préfixe des noms des User créés
+	 * @param nb     le nombre de User à créer
+	 *
+	 * @return la liste des User créés
+	 */
+	static List<User> newUsers(String prefix, int nb) {
+		List<User> users = new ArrayList<User>(nb);
+		for (int i = 0; i < nb; i++) {
+			users.add(new User(prefix + "-" + userCounter++, "pass"));
+		}
+		return users;
+	}
+
+	/**
+	 * Ajoute le nombre spécifié de Post aux User spécifiés. Chaque Post est
+	 * attribué à un User tiré par DataProvider, de sorte que la répartition des
+	 * Post dépend de la graine de DataProvider.
+	 *
+	 * @param users les User auxquels ajouter des Post
+	 * @param nb    le nombre de Post à ajouter
+	 */
+	static void addPosts(List<User> users, long nb) {
+		for (long i = 0; i < nb; i++) {
+			DataProvider.getRandomElt(users).addPost(new SimplePost("Post " + i));
+		}
+	}
+}
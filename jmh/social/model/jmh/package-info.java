@@ -0,0 +1,29 @@
+/**
+ * Benchmarks JMH des chemins critiques de social.model: construction et
+ * parcours d'un FusionSortedIterator, User.addPost, User.getUser,
+ * SimplePost.addLikeFrom et SimplePost.iterator, likes, abonnements et
+ * désabonnements simultanés, RePost.getText, publication et lecture des fils
+ * d'actualité précalculés (TimelineStore), fusion parallèle des fils
+ * d'actualité, classement par engagement (EngagementIndex et
+ * FeedRanking.score), recherche de Post par mots (TextIndex).
+ *
+ * Ces sources forment un ensemble distinct, de racine jmh/, qui dépend des
+ * sources du projet (social.model et social.model.test, pour DataProvider et
+ * WorkloadGenerator), de JUnit (lib/junit-platform-console-standalone-1.10.1.jar,
+ * requis par DataProvider) et de JMH (jmh-core et jmh-generator-annprocess).
+ * Par exemple, avec les jars de JMH et de ses dépendances dans jmh-lib/:
+ *
+ * <pre>{@code
+ * javac -d out -cp "lib/*:jmh-lib/*" $(find social jmh -name "*.java")
+ * java -cp "out:lib/*:jmh-lib/*" org.openjdk.jmh.Main social.model.jmh
+ * }</pre>
+ *
+ * Les tailles des données sont des paramètres JMH (cf. @Param), modifiables
+ * par l'option -p de JMH. Les données sont tirées par le générateur
+ * pseudo-aléatoire de DataProvider, initialisé avec le paramètre seed: deux
+ * exécutions de même graine mesurent les mêmes données.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+package social.model.jmh;
@@ -5,6 +5,9 @@ package social.controller;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowListener;
 import java.util.ListIterator;
 
 import javax.swing.JFrame;
@@ -12,8 +15,8 @@ import javax.swing.JOptionPane;
 
 import social.Microdon;
 import social.model.FusionSortedIterator;
-import social.model.NewsFeed;
 import social.model.Post;
+import social.model.PostCursor;
 import social.model.RePost;
 import social.model.User;
 import social.view.MessageView;
@@ -41,10 +44,11 @@ public class MessageController implements ActionListener {
 	public final static String LOGOUT_CMD = "Logout";
 
 	private User myUser;
-	private FusionSortedIterator<Post, User> newsFeed;
+	private FusionSortedIterator<Post, PostCursor> newsFeed;
 	private MessageView myView;
 	private Post currentPost;
 	private JFrame controllingFrame; // needed for dialogs
+	private WindowListener closingListener;
 
 	/**
 	 * Initialise un MessageController pour la vue spécifiée.
@@ -60,9 +64,18 @@ public class MessageController implements ActionListener {
 	public MessageController(MessageView v) {
 		myView = v;
 		myUser = v.getUser();
-		// newsFeed = myUser.timeLine();
-		newsFeed = myUser.newsFeed();
+		newsFeed = myUser.timeLine();
+		// Les nouveaux Post sont intégrés au fil d'actualité tant que la vue est
+		// affichée, jusqu'à ce qu'elle soit remplacée ou que la fenêtre soit fermée
+		newsFeed.setLive(true);
 		controllingFrame = Microdon.getTheInstance().getFrame();
+		closingListener = new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				stopLiveFeed();
+			}
+		};
+		controllingFrame.addWindowListener(closingListener);
 	}
 
 	/**
@@ -95,7 +108,7 @@ public class MessageController implements ActionListener {
 	public void setFirstMessage() {
 		if (newsFeed.hasNext()) {
 			currentPost = newsFeed.next();
-			myView.setNewMessage(newsFeed.lastIterator(), currentPost);
+			myView.setNewMessage(newsFeed.lastIterator().getUser(), currentPost);
 
 		}
 		myView.setNextEnabled(newsFeed.hasNext());
@@ -126,25 +139,30 @@ public class MessageController implements ActionListener {
 						JOptionPane.ERROR_MESSAGE);
 
 			}
-			myView.setNewMessage(newsFeed.lastIterator(), currentPost);
+			myView.setNewMessage(newsFeed.lastIterator().getUser(), currentPost);
 			return;
 		}
 		if (NEW_CMD.equals(e.getActionCommand())) {
+			stopLiveFeed();
 			Microdon.getTheInstance().createAndShowEditMessagePanel();
 			return;
 		}
 		if (REPOST_CMD.equals(e.getActionCommand())) {
-			Post newmsg = new RePost("Read This…", newsFeed.lastIterator(), currentPost);
+			Post newmsg = new RePost("Read This…", newsFeed.lastIterator().getUser(), currentPost);
 			myUser.addPost(newmsg);
+			// Le RePost, plus récent que tous les Post du fil, précède le Post affiché
+			myView.setPreviousEnabled(newsFeed.hasPrevious());
 			JOptionPane.showMessageDialog(controllingFrame, "Re post successful!", "Information Message",
 					JOptionPane.INFORMATION_MESSAGE);
 			return;
 		}
 		if (FOLLOW_CMD.equals(e.getActionCommand())) {
+			stopLiveFeed();
 			Microdon.getTheInstance().createAndShowFollowUserPanel();
 			return;
 		}
 		if (LOGOUT_CMD.equals(e.getActionCommand())) {
+			stopLiveFeed();
 			Microdon.getTheInstance().logout();
 			Microdon.getTheInstance().createAndShowLoginPanel();
 			return;
@@ -152,6 +170,15 @@ public class MessageController implements ActionListener {
 
 	}
 
+	/*
+	 * Cesse d'intégrer les nouveaux Post au fil d'actualité, ce qui retire ses
+	 * observateurs des User suivis, et retire l'observateur de la fenêtre.
+	 */
+	private void stopLiveFeed() {
+		newsFeed.setLive(false);
+		controllingFrame.removeWindowListener(closingListener);
+	}
+
 	/**
 	 * Récupère le message précédent (plus récent) et demande à la vue de l'afficher.
 	 */
@@ -164,7 +191,7 @@ public class MessageController implements ActionListener {
 		// newsFeed.lastIndex() == nextIndex()
 		if (newsFeed.hasPrevious()) {
 			currentPost = newsFeed.previous();
-			myView.setNewMessage(newsFeed.lastIterator(), currentPost);
+			myView.setNewMessage(newsFeed.lastIterator().getUser(), currentPost);
 			myView.setNextEnabled(true);
 		}
 		myView.setPreviousEnabled(newsFeed.hasPrevious());
@@ -183,7 +210,7 @@ public class MessageController implements ActionListener {
 		// newsFeed.lastIndex() == iterPost.previousIndex()
 		if (newsFeed.hasNext()) {
 			currentPost = newsFeed.next();
-			myView.setNewMessage(newsFeed.lastIterator(), currentPost);
+			myView.setNewMessage(newsFeed.lastIterator().getUser(), currentPost);
 			myView.setPreviousEnabled(true);
 		}
 		myView.setNextEnabled(newsFeed.hasNext());
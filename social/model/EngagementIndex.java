@@ -0,0 +1,415 @@
+/**
+ *
+ */
+package social.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Index des Post classés par engagement ("top posts"): lorsqu'un EngagementIndex
+ * est installé par User.setEngagementIndex, chaque Post publié par User.addPost
+ * est rangé dans la liste classée de son auteur, et sa place y est mise à jour
+ * à chaque nouveau like (SimplePost.addLikeFrom). Les k premiers Post du fil
+ * d'un lecteur (top(User, int)) sont alors obtenus sans trier ni parcourir
+ * l'ensemble des Post de ses abonnements.
+ *
+ * Les Post sont classés selon le score de FeedRanking.score(likeWeight,
+ * halfLife, now):
+ *
+ * <pre>{@code
+ * log2(1 + likeWeight * getLikeNumber()) - (now - getDate()) / halfLife
+ * }</pre>
+ *
+ * La date now étant commune à tous les Post, elle ne change pas leur ordre: les
+ * Post sont rangés selon la clé invariable dans le temps
+ *
+ * <pre>{@code
+ * log2(1 + likeWeight * getLikeNumber()) + (getDate() - origine) / halfLife
+ * }</pre>
+ *
+ * qui ne change qu'à l'ajout d'un like, et ne fait alors qu'augmenter. Chaque
+ * like coûte O(log n) pour un auteur ayant n Post indexés, et la lecture des k
+ * premiers Post d'un fil fusionnant a auteurs coûte O(a + k log a), O(k) pour
+ * un seul auteur.
+ *
+ * Seuls les Post publiés après l'installation de l'index sont classés. Un
+ * EngagementIndex peut être modifié et consulté simultanément par plusieurs
+ * threads; une lecture concurrente à des likes renvoie des Post distincts,
+ * classés selon leur score au moment de leur lecture.
+ *
+ * @invariant getLikeWeight() >= 0;
+ * @invariant getHalfLife() != null && !getHalfLife().isNegative() &&
+ *            !getHalfLife().isZero();
+ * @invariant getOrigin() != null;
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public final class EngagementIndex {
+	private static final double LN2 = Math.log(2);
+	/*
+	 * Ordre des entrées: clé décroissante puis, à clé égale, du plus récent au
+	 * plus ancien Post.
+	 */
+	private static final Comparator<Entry> BEST_FIRST = (e1, e2) -> {
+		int cmp = Double.compare(e2.key, e1.key);
+		return cmp != 0 ? cmp : Long.compare(e2.timestamp, e1.timestamp);
+	};
+
+	private final double likeWeight;
+	private final Duration halfLife;
+	private final Instant origin;
+	private final double halfLifeNanos;
+	private final long originTimestamp;
+	// Listes classées des auteurs, indexées par l'identifiant des User (cf.
+	// User.graphId())
+	private volatile Ranking[] rankings;
+	// Entrée courante de chaque Post indexé
+	private final ConcurrentHashMap<Post, Entry> entries;
+	private final LongAdder updateNb;
+
+	/**
+	 * Initialise un index vide classant les Post selon le score de
+	 * FeedRanking.score(likeWeight, halfLife, now), l'âge des Post étant mesuré à
+	 * partir de la date de création de cet index.
+	 *
+	 * @param likeWeight le poids d'un like
+	 * @param halfLife   la durée au bout de laquelle le poids d'un Post est divisé
+	 *                   par deux
+	 *
+	 * @throws NullPointerException     si halfLife est null
+	 * @throws IllegalArgumentException si likeWeight < 0 ou n'est pas un nombre
+	 *                                  fini, ou si halfLife n'est pas strictement
+	 *                                  positive
+	 *
+	 * @requires halfLife != null;
+	 * @requires likeWeight >= 0 && Double.isFinite(likeWeight);
+	 * @requires !halfLife.isNegative() && !halfLife.isZero();
+	 * @ensures getLikeWeight() == likeWeight;
+	 * @ensures getHalfLife().equals(halfLife);
+	 */
+	public EngagementIndex(double likeWeight, Duration halfLife) {
+		if (halfLife == null) {
+			throw new NullPointerException();
+		}
+		if (!(likeWeight >= 0) || Double.isInfinite(likeWeight) || halfLife.isNegative() || halfLife.isZero()) {
+			throw new IllegalArgumentException();
+		}
+		this.likeWeight = likeWeight;
+		this.halfLife = halfLife;
+		this.origin = Instant.now();
+		this.halfLifeNanos = halfLife.getSeconds() * 1e9 + halfLife.getNano();
+		this.originTimestamp = origin.getEpochSecond() * 1_000_000_000L + origin.getNano();
+		this.rankings = new Ranking[16];
+		this.entries = new ConcurrentHashMap<Post, Entry>();
+		this.updateNb = new LongAdder();
+	}
+
+	public double getLikeWeight() {
+		return likeWeight;
+	}
+
+	public Duration getHalfLife() {
+		return halfLife;
+	}
+
+	public Instant getOrigin() {
+		return origin;
+	}
+
+	/**
+	 * Renvoie le nombre de Post indexés.
+	 *
+	 * @return le nombre de Post indexés
+	 *
+	 * @pure
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Renvoie le nombre de mises à jour de la place d'un Post à la suite d'un like
+	 * depuis la création de cet index.
+	 *
+	 * @return le nombre de mises à jour dues à des likes
+	 *
+	 * @pure
+	 */
+	public long getUpdateNb() {
+		return updateNb.sum();
+	}
+
+	/**
+	 * Renvoie true si le Post spécifié est classé par cet index.
+	 *
+	 * @param p le Post testé
+	 *
+	 * @return true si le Post spécifié est classé par cet index
+	 *
+	 * @pure
+	 */
+	public boolean contains(Post p) {
+		return p != null && entries.containsKey(p);
+	}
+
+	/**
+	 * Renvoie la clé de classement du Post spécifié selon son nombre actuel de
+	 * likes: les Post de plus grande clé sont classés en premier. La différence
+	 * entre les clés de deux Post est celle de leurs scores selon
+	 * FeedRanking.score(getLikeWeight(), getHalfLife(), now), quelle que soit la
+	 * date now.
+	 *
+	 * @param p le Post dont on cherche la clé
+	 *
+	 * @return la clé de classement du Post spécifié
+	 *
+	 * @throws NullPointerException si le Post spécifié est null
+	 *
+	 * @requires p != null;
+	 *
+	 * @pure
+	 */
+	public double key(Post p) {
+		return Math.log1p(likeWeight * p.getLikeNumber()) / LN2 + (p.getTimestamp() - originTimestamp) / halfLifeNanos;
+	}
+
+	/**
+	 * Range le Post spécifié, que l'User spécifié vient de publier, dans la liste
+	 * classée de cet User.
+	 *
+	 * @param author l'User ayant publié le Post
+	 * @param p      le Post publié
+	 *
+	 * @requires author != null && p != null;
+	 * @ensures contains(p);
+	 */
+	void published(User author, Post p) {
+		Ranking r = ranking(author);
+		synchronized (r) {
+			Entry e = new Entry(p, key(p), r);
+			if (entries.putIfAbsent(p, e) == null) {
+				r.entries.add(e);
+			}
+		}
+	}
+
+	/**
+	 * Met à jour la place du Post spécifié, qui vient de recevoir un like, s'il
+	 * est classé par cet index.
+	 *
+	 * @param p le Post ayant reçu un like
+	 *
+	 * @requires p != null;
+	 */
+	void liked(Post p) {
+		Entry old = entries.get(p);
+		if (old == null) {
+			return;
+		}
+		Ranking r = old.owner;
+		synchronized (r) {
+			old = entries.get(p);
+			double key = key(p);
+			// Les likes concurrents sont pris en compte par le dernier d'entre eux
+			if (key > old.key) {
+				Entry e = new Entry(p, key, r);
+				r.entries.remove(old);
+				r.entries.add(e);
+				entries.put(p, e);
+				updateNb.increment();
+			}
+		}
+	}
+
+	/**
+	 * Renvoie les k premiers Post classés par cet index parmi les Post de l'User
+	 * spécifié et des User auxquels il est abonné (tous ces Post s'il y en a moins
+	 * de k), du meilleur au moins bon score.
+	 *
+	 * @param reader le lecteur du fil
+	 * @param k      le nombre maximal de Post renvoyés
+	 *
+	 * @return une nouvelle liste des k premiers Post du fil de l'User spécifié
+	 *
+	 * @throws NullPointerException     si l'User spécifié est null
+	 * @throws IllegalArgumentException si k < 0
+	 *
+	 * @requires reader != null && k >= 0;
+	 * @ensures \result != null && \result.size() <= k;
+	 *
+	 * @pure
+	 */
+	public List<Post> top(User reader, int k) {
+		if (reader == null) {
+			throw new NullPointerException();
+		}
+		if (k < 0) {
+			throw new IllegalArgumentException("k doit être positif");
+		}
+		Set<User> authors = reader.getSubscriptions();
+		List<Iterator<Entry>> sources = new ArrayList<Iterator<Entry>>(authors.size() + 1);
+		addSource(sources, reader);
+		for (User u : authors) {
+			addSource(sources, u);
+		}
+		return merge(sources, k);
+	}
+
+	/**
+	 * Renvoie les k Post de meilleur score de l'User spécifié parmi ceux classés
+	 * par cet index, en O(k).
+	 *
+	 * @param author l'User dont on cherche les meilleurs Post
+	 * @param k      le nombre maximal de Post renvoyés
+	 *
+	 * @return une nouvelle liste des k meilleurs Post de l'User spécifié
+	 *
+	 * @throws NullPointerException     si l'User spécifié est null
+	 * @throws IllegalArgumentException si k < 0
+	 *
+	 * @requires author != null && k >= 0;
+	 * @ensures \result != null && \result.size() <= k;
+	 *
+	 * @pure
+	 */
+	public List<Post> topOf(User author, int k) {
+		if (author == null) {
+			throw new NullPointerException();
+		}
+		if (k < 0) {
+			throw new IllegalArgumentException("k doit être positif");
+		}
+		List<Iterator<Entry>> sources = new ArrayList<Iterator<Entry>>(1);
+		addSource(sources, author);
+		return merge(sources, k);
+	}
+
+	private void addSource(List<Iterator<Entry>> sources, User u) {
+		Ranking r = existingRanking(u);
+		if (r != null && !r.entries.isEmpty()) {
+			sources.add(r.entries.iterator());
+		}
+	}
+
+	/*
+	 * Fusionne les listes classées spécifiées par un tas de leurs entrées
+	 * suivantes. Les itérateurs des listes pouvant voir une entrée et la nouvelle
+	 * entrée du même Post lorsqu'un like est ajouté pendant la lecture, les Post
+	 * déjà renvoyés sont ignorés.
+	 */
+	private static List<Post> merge(List<Iterator<Entry>> sources, int k) {
+		int n = sources.size();
+		Entry[] heads = new Entry[n];
+		int[] heap = new int[n];
+		int heapSize = 0;
+		for (int i = 0; i < n; i++) {
+			if (sources.get(i).hasNext()) {
+				heads[i] = sources.get(i).next();
+				heap[heapSize++] = i;
+			}
+		}
+		for (int pos = heapSize / 2 - 1; pos >= 0; pos--) {
+			siftDown(heap, heapSize, heads, pos);
+		}
+		List<Post> result = new ArrayList<Post>(Math.min(k, 64));
+		Set<Post> seen = new HashSet<Post>();
+		while (result.size() < k && heapSize > 0) {
+			int i = heap[0];
+			Post p = heads[i].post;
+			if (seen.add(p)) {
+				result.add(p);
+			}
+			Iterator<Entry> source = sources.get(i);
+			if (source.hasNext()) {
+				heads[i] = source.next();
+			} else {
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, heapSize, heads, 0);
+		}
+		return result;
+	}
+
+	private static void siftDown(int[] heap, int heapSize, Entry[] heads, int pos) {
+		if (pos >= heapSize) {
+			return;
+		}
+		int slot = heap[pos];
+		int child = 2 * pos + 1;
+		while (child < heapSize) {
+			if (child + 1 < heapSize && BEST_FIRST.compare(heads[heap[child + 1]], heads[heap[child]]) < 0) {
+				child++;
+			}
+			if (BEST_FIRST.compare(heads[heap[child]], heads[slot]) >= 0) {
+				break;
+			}
+			heap[pos] = heap[child];
+			pos = child;
+			child = 2 * pos + 1;
+		}
+		heap[pos] = slot;
+	}
+
+	private Ranking existingRanking(User u) {
+		Ranking[] table = rankings;
+		int id = u.graphId();
+		return id < table.length ? table[id] : null;
+	}
+
+	private Ranking ranking(User u) {
+		Ranking r = existingRanking(u);
+		if (r != null) {
+			return r;
+		}
+		synchronized (this) {
+			Ranking[] table = rankings;
+			int id = u.graphId();
+			if (id >= table.length) {
+				table = Arrays.copyOf(table, Math.max(id + 1, table.length * 2));
+			}
+			if (table[id] == null) {
+				table[id] = new Ranking();
+			}
+			rankings = table;
+			return table[id];
+		}
+	}
+
+	/*
+	 * Liste des Post indexés d'un auteur, du meilleur au moins bon score. Les
+	 * modifications d'une liste sont effectuées en tenant son verrou; les
+	 * lectures ne le prennent pas.
+	 */
+	private static final class Ranking {
+		final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<Entry>(BEST_FIRST);
+	}
+
+	/*
+	 * Place d'un Post dans la liste classée de son auteur, pour une clé donnée.
+	 */
+	private static final class Entry {
+		final Post post;
+		final double key;
+		final long timestamp;
+		final Ranking owner;
+
+		Entry(Post post, double key, Ranking owner) {
+			this.post = post;
+			this.key = key;
+			this.timestamp = post.getTimestamp();
+			this.owner = owner;
+		}
+	}
+}
@@ -0,0 +1,363 @@
+/**
+ *
+ */
+package social.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Un ordre de classement des Post d'un fil d'actualité (cf. User.rankedFeed):
+ * <ul>
+ * <li>recency(): du plus récent au plus ancien;</li>
+ * <li>likes(): du plus aimé au moins aimé;</li>
+ * <li>score(likeWeight, halfLife, now): selon un score pondérant le nombre de
+ * likes et l'âge du Post, dont le poids est divisé par deux à chaque
+ * halfLife.</li>
+ * </ul>
+ * Pour les deux derniers ordres, les Post de même score sont classés du plus
+ * récent au plus ancien.
+ *
+ * Seul l'ordre recency() est compatible avec l'ordre des Post de chaque User:
+ * les k premiers Post du classement sont alors obtenus par une seule fusion
+ * paresseuse (FusionSortedIterator), en O(a + k log a) pour a auteurs. Pour les
+ * autres ordres, le score de chaque Post est calculé une seule fois et les k
+ * meilleurs Post sont sélectionnés par un tas borné à k éléments, en O(n log k)
+ * pour n Post, sans trier l'ensemble des Post.
+ *
+ * Le nombre de likes d'un Post pouvant changer, le score d'un Post est évalué
+ * au moment de la sélection.
+ *
+ * @invariant getHalfLife() == null || !getHalfLife().isNegative();
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public final class FeedRanking {
+	private static final double LN2 = Math.log(2);
+	private static final FeedRanking RECENCY = new FeedRanking(true, 0, null, null);
+	private static final FeedRanking LIKES = new FeedRanking(false, 1, null, null);
+
+	private final boolean recency;
+	private final double likeWeight;
+	private final Duration halfLife;
+	private final Instant now;
+	// Demi-vie en secondes et date de référence en nanosecondes (cf.
+	// Post.getTimestamp()), utilisées par score(Post)
+	private final double halfLifeSeconds;
+	private final long nowTimestamp;
+
+	private FeedRanking(boolean recency, double likeWeight, Duration halfLife, Instant now) {
+		this.recency = recency;
+		this.likeWeight = likeWeight;
+		this.halfLife = halfLife;
+		this.now = now;
+		this.halfLifeSeconds = halfLife == null ? 0 : halfLife.getSeconds() + halfLife.getNano() / 1e9;
+		this.nowTimestamp = now == null ? 0 : now.getEpochSecond() * 1_000_000_000L + now.getNano();
+	}
+
+	/**
+	 * Renvoie le classement des Post du plus récent au plus ancien.
+	 *
+	 * @return le classement par dates décroissantes
+	 *
+	 * @ensures \result != null && \result.isSourceOrdered();
+	 *
+	 * @pure
+	 */
+	public static FeedRanking recency() {
+		return RECENCY;
+	}
+
+	/**
+	 * Renvoie le classement des Post par nombre de likes décroissant, les Post
+	 * ayant le même nombre de likes étant classés du plus récent au plus ancien.
+	 *
+	 * @return le classement par nombre de likes décroissant
+	 *
+	 * @ensures \result != null && !\result.isSourceOrdered();
+	 *
+	 * @pure
+	 */
+	public static FeedRanking likes() {
+		return LIKES;
+	}
+
+	/**
+	 * Renvoie le classement des Post par score décroissant, le score d'un Post
+	 * publié à la date d étant:
+	 *
+	 * <pre>{@code
+	 * log2(1 + likeWeight * getLikeNumber()) - age(d, now) / halfLife
+	 * }</pre>
+	 *
+	 * i.e. le logarithme de (1 + likeWeight * getLikeNumber()) / 2^(age /
+	 * halfLife): chaque like compte pour likeWeight, et le poids d'un Post est
+	 * divisé par deux à chaque halfLife écoulée entre sa date et la date now.
+	 *
+	 * @param likeWeight le poids d'un like
+	 * @param halfLife   la durée au bout de laquelle le poids d'un Post est divisé
+	 *                   par deux
+	 * @param now        la date de référence du calcul de l'âge des Post
+	 *
+	 * @return le classement par score décroissant
+	 *
+	 * @throws NullPointerException     si halfLife ou now est null
+	 * @throws IllegalArgumentException si likeWeight < 0 ou n'est pas un nombre
+	 *                                  fini, ou si halfLife n'est pas strictement
+	 *                                  positive
+	 *
+	 * @requires halfLife != null && now != null;
+	 * @requires likeWeight >= 0 && Double.isFinite(likeWeight);
+	 * @requires !halfLife.isNegative() && !halfLife.isZero();
+	 * @ensures \result != null && !\result.isSourceOrdered();
+	 * @ensures \result.getHalfLife().equals(halfLife);
+	 * @ensures \result.getNow().equals(now);
+	 *
+	 * @pure
+	 */
+	public static FeedRanking score(double likeWeight, Duration halfLife, Instant now) {
+		if (halfLife == null || now == null) {
+			throw new NullPointerException();
+		}
+		if (!(likeWeight >= 0) || Double.isInfinite(likeWeight) || halfLife.isNegative() || halfLife.isZero()) {
+			throw new IllegalArgumentException();
+		}
+		return new FeedRanking(false, likeWeight, halfLife, now);
+	}
+
+	/**
+	 * Renvoie true si ce classement est compatible avec l'ordre des Post de chaque
+	 * User (du plus récent au plus ancien), de sorte qu'il s'obtient par fusion.
+	 *
+	 * @return true si ce classement est l'ordre par dates décroissantes
+	 *
+	 * @pure
+	 */
+	public boolean isSourceOrdered() {
+		return recency;
+	}
+
+	/**
+	 * Renvoie la demi-vie de ce classement, ou null s'il ne tient pas compte de
+	 * l'âge des Post.
+	 *
+	 * @return la demi-vie de ce classement, ou null
+	 *
+	 * @pure
+	 */
+	public Duration getHalfLife() {
+		return halfLife;
+	}
+
+	/**
+	 * Renvoie la date de référence de ce classement, ou null s'il ne tient pas
+	 * compte de l'âge des Post.
+	 *
+	 * @return la date de référence de ce classement, ou null
+	 *
+	 * @pure
+	 */
+	public Instant getNow() {
+		return now;
+	}
+
+	/**
+	 * Renvoie le score du Post spécifié selon ce classement: les Post de plus
+	 * grand score sont classés en premier. Pour le classement recency(), le score
+	 * est la date du Post en nanosecondes (cf. Post.getTimestamp()).
+	 *
+	 * @param p le Post dont on cherche le score
+	 *
+	 * @return le score du Post spécifié
+	 *
+	 * @throws NullPointerException si le Post spécifié est null
+	 *
+	 * @requires p != null;
+	 *
+	 * @pure
+	 */
+	public double score(Post p) {
+		if (recency) {
+			return p.getTimestamp();
+		}
+		double s = Math.log1p(likeWeight * p.getLikeNumber()) / LN2;
+		if (halfLife != null) {
+			s -= (nowTimestamp - p.getTimestamp()) / 1e9 / halfLifeSeconds;
+		}
+		return s;
+	}
+
+	/**
+	 * Renvoie un Comparator ordonnant les Post selon ce classement: par score
+	 * décroissant puis, à score égal, du plus récent au plus ancien. Les scores
+	 * étant recalculés à chaque comparaison, ce Comparator n'est cohérent que tant
+	 * que le nombre de likes des Post comparés ne change pas.
+	 *
+	 * @return un Comparator ordonnant les Post selon ce classement
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public Comparator<Post> comparator() {
+		if (recency) {
+			return Post.reverseChronologicalOrder();
+		}
+		return (p1, p2) -> {
+			int cmp = Double.compare(score(p2), score(p1));
+			return cmp != 0 ? cmp : Long.compare(p2.getTimestamp(), p1.getTimestamp());
+		};
+	}
+
+	/**
+	 * Renvoie les k premiers Post, selon ce classement, des Post des User
+	 * spécifiés (tous leurs Post s'ils en ont moins de k).
+	 *
+	 * @param authors les User dont les Post sont classés
+	 * @param k       le nombre maximal de Post renvoyés
+	 *
+	 * @return une nouvelle liste des k premiers Post des User spécifiés, dans
+	 *         l'ordre de ce classement
+	 *
+	 * @throws NullPointerException     si la collection spécifiée est null ou
+	 *                                  contient null
+	 * @throws IllegalArgumentException si k < 0
+	 *
+	 * @requires authors != null && !authors.contains(null);
+	 * @requires k >= 0;
+	 * @ensures \result != null;
+	 * @ensures \result.size() == Math.min(k, (\sum User u; authors.contains(u);
+	 *          u.getPostNb()));
+	 *
+	 * @pure
+	 */
+	public List<Post> top(Collection<User> authors, int k) {
+		if (authors == null || authors.contains(null)) {
+			throw new NullPointerException();
+		}
+		if (k < 0) {
+			throw new IllegalArgumentException("k doit être positif");
+		}
+		if (k == 0) {
+			return new ArrayList<Post>();
+		}
+		if (recency) {
+			return new FusionSortedIterator<Post, PostCursor>(User.cursors(authors), Post.reverseChronologicalOrder())
+					.limit(k);
+		}
+		TopK top = new TopK(k);
+		for (User u : authors) {
+			for (Post p : u.getPostsSnapshot()) {
+				top.offer(p, score(p));
+			}
+		}
+		return top.toList();
+	}
+
+	/*
+	 * Sélection des k Post de meilleur score: tas minimum borné à k éléments dont
+	 * la racine est le moins bon des Post retenus.
+	 */
+	private static final class TopK {
+		private final int k;
+		private Post[] posts;
+		private double[] scores;
+		private int size;
+
+		TopK(int k) {
+			this.k = k;
+			this.posts = new Post[Math.min(k, 16)];
+			this.scores = new double[posts.length];
+		}
+
+		void offer(Post p, double score) {
+			if (size < k) {
+				if (size == posts.length) {
+					int length = (int) Math.min(k, 2L * size);
+					posts = Arrays.copyOf(posts, length);
+					scores = Arrays.copyOf(scores, length);
+				}
+				posts[size] = p;
+				scores[size] = score;
+				siftUp(size++);
+			} else if (worse(scores[0], posts[0], score, p)) {
+				posts[0] = p;
+				scores[0] = score;
+				siftDown(0);
+			}
+		}
+
+		/*
+		 * Renvoie les Post retenus, du meilleur au moins bon, en vidant le tas.
+		 */
+		List<Post> toList() {
+			Post[] result = new Post[size];
+			while (size > 0) {
+				result[size - 1] = posts[0];
+				size--;
+				posts[0] = posts[size];
+				scores[0] = scores[size];
+				posts[size] = null;
+				siftDown(0);
+			}
+			List<Post> list = new ArrayList<Post>(result.length);
+			Collections.addAll(list, result);
+			return list;
+		}
+
+		/*
+		 * Renvoie true si le premier Post est classé après le second: score
+		 * inférieur ou, à score égal, date antérieure.
+		 */
+		private static boolean worse(double s1, Post p1, double s2, Post p2) {
+			int cmp = Double.compare(s1, s2);
+			return cmp < 0 || (cmp == 0 && p1.getTimestamp() < p2.getTimestamp());
+		}
+
+		private boolean worse(int i, int j) {
+			return worse(scores[i], posts[i], scores[j], posts[j]);
+		}
+
+		private void siftUp(int pos) {
+			while (pos > 0) {
+				int parent = (pos - 1) / 2;
+				if (!worse(pos, parent)) {
+					break;
+				}
+				swap(pos, parent);
+				pos = parent;
+			}
+		}
+
+		private void siftDown(int pos) {
+			int child = 2 * pos + 1;
+			while (child < size) {
+				if (child + 1 < size && worse(child + 1, child)) {
+					child++;
+				}
+				if (!worse(child, pos)) {
+					break;
+				}
+				swap(pos, child);
+				pos = child;
+				child = 2 * pos + 1;
+			}
+		}
+
+		private void swap(int i, int j) {
+			Post p = posts[i];
+			posts[i] = posts[j];
+			posts[j] = p;
+			double s = scores[i];
+			scores[i] = scores[j];
+			scores[j] = s;
+		}
+	}
+}
@@ -3,11 +3,20 @@
 */
 package social.model;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Un ListIterator fusionnant plusieurs ExtendedListIterator en interdisant
@@ -43,11 +52,59 @@ import java.util.Set;
 public class FusionSortedIterator<E extends Comparable<? super E>, I extends ExtendedListIterator<? extends E>>
 		implements ListIterator<E> {
 
-	private ArrayList<E> mergedList;
-	private ListIterator<E> mergedIterator;
+	/*
+	 * La fusion est effectuée de manière paresseuse: aucun élément n'est copié à
+	 * la construction. Les itérateurs fusionnés (les "sources") sont rangés dans
+	 * un tas binaire indexé (heap/heapPos) ordonné selon l'élément suivant de
+	 * chaque source (heads). Chaque appel à next() n'avance que la source en
+	 * tête du tas, soit un coût O(log k) pour k sources. Pour permettre les appels
+	 * à previous(), l'indice de la source ayant produit chaque élément déjà
+	 * énuméré est mémorisé dans history, à partir de l'index historyStart: après
+	 * seekTo, les sources des éléments précédant la nouvelle position sont
+	 * inconnues et previous() les retrouve en comparant l'élément précédent de
+	 * chaque source.
+	 *
+	 * En mode direct (setLive(true)), chaque nouveau Post d'un User fusionné est
+	 * signalé par un PostListener qui range l'indice de sa source dans pending; les
+	 * signalements sont traités (sync()) au début de l'opération suivante. Un
+	 * nouveau Post étant plus récent que tous les autres, il devient l'élément
+	 * suivant si l'itération n'a pas commencé; sinon il précède la position
+	 * courante, et les index sont décalés de un comme pour User.addPost.
+	 *
+	 * Lorsque le comparateur est un LongKeyComparator, la clé de l'élément suivant
+	 * de chaque source est mémorisée dans keys lors de la lecture de cet élément,
+	 * et les comparaisons du tas portent directement sur ces clés.
+	 *
+	 * Construit en parallèle, un FusionSortedIterator connaît dès sa création les
+	 * sources des mergedNb premiers éléments, rangées dans history: next() lit
+	 * alors directement la source indiquée sans maintenir le tas, qui n'est
+	 * construit (heapStale) que lorsque l'itération dépasse ces éléments. Les
+	 * égalités étant départagées comme dans less(), l'ordre de l'itération est
+	 * identique à celui de la fusion séquentielle.
+	 */
+	private final Object[] sources;
+	private final Object[] heads;
+	private final long[] keys;
+	private final LongKeyComparator<? super E> keyComparator;
+	private final int[] heap;
+	private final int[] heapPos;
+	private int heapSize;
+	private int[] history;
+	private int historyStart;
 	private I lastIterator;
 	private Comparator<? super E> comparator;
 	private int previousIndex, nextIndex, lastIndex;
+	private PostListener[] listeners;
+	private ConcurrentLinkedQueue<Integer> pending;
+	private int mergedNb;
+	private boolean heapStale;
+
+	/*
+	 * Nombre minimal d'itérateurs fusionnés séquentiellement par une même tâche
+	 * lors de la construction parallèle, et nombre de tâches par thread.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 32;
+	private static final int TASKS_PER_THREAD = 4;
 
 	/**
 	 * Initialise une instance permettant d'itérer selon l'ordre "naturel" sur tous
@@ -75,18 +132,7 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * @throws NullPointerException si l'ensemble spécifié est null ou contient null
 	 */
 	public FusionSortedIterator(Set<? extends I> iters) {
-		if (iters == null || iters.contains(null)) {
-			throw new NullPointerException();
-		}
-		mergedList = new ArrayList<>();
-		for (I iter : iters) {
-			while (iter.hasNext()) {
-				mergedList.add(iter.next());
-			}
-		}
-		mergedList.sort(Comparator.naturalOrder());
-		mergedIterator = mergedList.listIterator();
-		startIteration();
+		this(iters, Comparator.naturalOrder());
 	}
 
 	/**
@@ -96,6 +142,8 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * ListIterator contenus dans l'ensemble spécifié sont supposés ordonnés selon
 	 * l'ordre induit par le Comparator spécifié.
 	 *
+	 * La construction a un coût O(k) où k est le nombre de ListIterator fusionnés:
+	 * les éléments ne sont lus qu'au fur et à mesure de l'itération.
 	 *
 	 * @param iters      ensemble des ListIterator à fusionner
 	 * @param comparator le comparateur à utiliser
@@ -112,13 +160,98 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * @throws NullPointerException si l'ensemble spécifié est null ou contient
 	 *                              null, ou si le Comparator spécifié est null
 	 */
+	@SuppressWarnings("unchecked")
 	public FusionSortedIterator(Set<? extends I> iters, Comparator<? super E> comparator) {
-		this(iters);
-		if (comparator == null) {
+		if (iters == null || iters.contains(null) || comparator == null) {
 			throw new NullPointerException();
 		}
 		this.comparator = comparator;
-		mergedList.sort(comparator);
+		this.sources = iters.toArray();
+		this.heads = new Object[sources.length];
+		if (comparator instanceof LongKeyComparator) {
+			this.keyComparator = (LongKeyComparator<? super E>) comparator;
+			this.keys = new long[sources.length];
+		} else {
+			this.keyComparator = null;
+			this.keys = null;
+		}
+		this.heap = new int[sources.length];
+		this.heapPos = new int[sources.length];
+		this.history = new int[16];
+		startIteration();
+	}
+
+	/**
+	 * Initialise une instance permettant d'itérer sur tous les éléments des
+	 * ListIterator de l'ensemble spécifié selon l'ordre spécifié, en fusionnant
+	 * ses size premiers éléments en parallèle dans le ForkJoinPool spécifié.
+	 *
+	 * Seul ce préfixe borné de l'itération est fusionné en parallèle, lors de la
+	 * construction: les éléments suivants sont fusionnés séquentiellement, au fur
+	 * et à mesure des appels à next(), par le thread qui les demande. size est
+	 * donc à choisir selon le nombre d'éléments qui seront lus (par exemple la
+	 * taille des premières pages d'un fil d'actualité), et non selon le nombre
+	 * total d'éléments; une fusion complète en parallèle s'obtient par
+	 * spliterator() et un Stream parallèle.
+	 *
+	 * L'ensemble des ListIterator est découpé récursivement en deux moitiés, dont
+	 * les size premiers éléments sont fusionnés par deux tâches distinctes, puis
+	 * fusionnés entre eux (arbre de tournoi), jusqu'à des groupes d'environ k / (4
+	 * p) ListIterator, pour k ListIterator et p threads, fusionnés séquentiellement
+	 * par un tas. La construction coûte O(k + p size log k) lectures et
+	 * comparaisons réparties entre les threads du ForkJoinPool, puis chacun des
+	 * size premiers appels à next() coûte O(1). Au-delà des size premiers
+	 * éléments, l'itération se poursuit par la fusion paresseuse, comme pour un
+	 * FusionSortedIterator construit séquentiellement.
+	 *
+	 * L'itération (éléments, ordre, index et lastIterator()) est identique à celle
+	 * d'un FusionSortedIterator construit sur les mêmes ListIterator par
+	 * FusionSortedIterator(iters, comparator). Pendant la construction, chaque
+	 * ListIterator est parcouru par un seul thread; les ListIterator fusionnés ne
+	 * doivent pas être modifiés pendant la construction. Les éléments fusionnés en
+	 * parallèle sont oubliés par seekTo(Instant) et setLive(true).
+	 *
+	 * @param iters      ensemble des ListIterator à fusionner
+	 * @param comparator le comparateur à utiliser
+	 * @param pool       le ForkJoinPool exécutant la fusion parallèle
+	 * @param size       le nombre d'éléments, au début de l'itération,
+	 *                   fusionnés en parallèle
+	 *
+	 * @requires iters != null && !iters.contains(null);
+	 * @requires comparator != null && pool != null;
+	 * @requires size >= 0;
+	 * @ensures comparator() != null;
+	 * @ensures !hasPrevious();
+	 * @ensures lastIndex() == -1;
+	 * @ensures lastIterator() == null;
+	 * @ensures (\forall I iter; iters.contains(iter); !iter.hasPrevious() &&
+	 *          iter.lastIndex() == -1);
+	 *
+	 * @throws NullPointerException     si l'ensemble spécifié est null ou contient
+	 *                                  null, ou si le Comparator ou le ForkJoinPool
+	 *                                  spécifié est null
+	 * @throws IllegalArgumentException si size < 0
+	 */
+	public FusionSortedIterator(Set<? extends I> iters, Comparator<? super E> comparator, ForkJoinPool pool,
+			int size) {
+		this(iters, comparator);
+		if (pool == null) {
+			throw new NullPointerException();
+		}
+		if (size < 0) {
+			throw new IllegalArgumentException("size doit être positif");
+		}
+		if (size > 0 && sources.length > 0) {
+			int tasks = pool.getParallelism() * TASKS_PER_THREAD;
+			int leaf = Math.max(SEQUENTIAL_THRESHOLD, (sources.length + tasks - 1) / tasks);
+			Run run = pool.invoke(new MergeTask(0, sources.length, size, leaf));
+			if (history.length < run.length) {
+				history = new int[run.length];
+			}
+			System.arraycopy(run.slots, 0, history, 0, run.length);
+			mergedNb = run.length;
+			heapStale = true;
+		}
 	}
 
 	/**
@@ -132,10 +265,101 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * @ensures lastIterator() == null;
 	 */
 	public void startIteration() {
+		if (pending != null) {
+			pending.clear();
+		}
 		this.previousIndex = -1;
 		this.nextIndex = 0;
 		this.lastIndex = -1;
 		this.lastIterator = null;
+		this.historyStart = 0;
+		for (int i = 0; i < sources.length; i++) {
+			source(i).startIteration();
+		}
+		// Le tas n'est construit qu'au premier besoin, sauf en mode direct où les
+		// nouveaux Post y sont intégrés dès leur signalement
+		if (listeners == null) {
+			heapStale = true;
+		} else {
+			buildHeap();
+		}
+	}
+
+	/**
+	 * Positionne cet itérateur avant le plus récent élément dont la date n'est pas
+	 * postérieure à la date spécifiée: chaque itérateur fusionné est positionné à
+	 * cette date par son propre seekTo, puis le tas des itérateurs fusionnés est
+	 * reconstruit.
+	 *
+	 * Opération optionnelle: elle n'est possible que si les itérateurs fusionnés
+	 * sont des PostListIterator et si comparator() ordonne les Post du plus récent
+	 * au plus ancien, c'est à dire s'il s'agit de Comparator.reverseOrder() ou de
+	 * Post.reverseChronologicalOrder(). Pour tout autre comparateur, même
+	 * compatible avec l'ordre des dates, la position obtenue serait sans rapport
+	 * avec l'ordre de l'itération: l'opération est alors refusée. Pour des itérateurs fusionnés positionnés par
+	 * recherche dichotomique (comme User et PostCursor), le coût est O(k log n)
+	 * où k est le nombre d'itérateurs fusionnés et n leur plus grand nombre
+	 * d'éléments.
+	 *
+	 * Les appels à previous() qui remontent avant la nouvelle position coûtent
+	 * ensuite O(k) chacun.
+	 *
+	 * @param date la date à laquelle positionner cet itérateur
+	 *
+	 * @throws NullPointerException          si la date spécifiée est null
+	 * @throws UnsupportedOperationException si comparator() n'est pas un ordre
+	 *                                       du plus récent au plus ancien, ou si
+	 *                                       un des itérateurs fusionnés n'est pas
+	 *                                       un PostListIterator
+	 *
+	 * @requires date != null;
+	 * @requires comparator().equals(Comparator.reverseOrder()) || comparator() ==
+	 *           Post.reverseChronologicalOrder();
+	 * @requires (\forall I iter; iters.contains(iter); iter instanceof
+	 *           PostListIterator);
+	 * @ensures nextIndex() == (\sum I iter; iters.contains(iter);
+	 *          iter.nextIndex());
+	 * @ensures nextIndex() == 0 ==> lastIndex() == -1;
+	 * @ensures nextIndex() > 0 && hasNext() ==> lastIndex() == nextIndex();
+	 * @ensures nextIndex() > 0 && !hasNext() ==> lastIndex() == previousIndex();
+	 */
+	public void seekTo(Instant date) {
+		if (date == null) {
+			throw new NullPointerException();
+		}
+		if (!comparator.equals(Comparator.reverseOrder()) && comparator != Post.reverseChronologicalOrder()) {
+			throw new UnsupportedOperationException("seekTo requiert un ordre du plus récent au plus ancien");
+		}
+		for (int i = 0; i < sources.length; i++) {
+			if (!(sources[i] instanceof PostListIterator)) {
+				throw new UnsupportedOperationException("seekTo requiert des PostListIterator");
+			}
+		}
+		if (pending != null) {
+			pending.clear();
+		}
+		int index = 0;
+		for (int i = 0; i < sources.length; i++) {
+			PostListIterator source = (PostListIterator) sources[i];
+			source.seekTo(date);
+			index += source.nextIndex();
+		}
+		mergedNb = 0;
+		heapStale = false;
+		buildHeap();
+		this.nextIndex = index;
+		this.previousIndex = index - 1;
+		this.historyStart = index;
+		if (index == 0) {
+			this.lastIndex = -1;
+			this.lastIterator = null;
+		} else if (hasNext()) {
+			this.lastIndex = nextIndex;
+			this.lastIterator = source(heap[0]);
+		} else {
+			this.lastIndex = previousIndex;
+			this.lastIterator = source(lastBefore());
+		}
 	}
 
 	/**
@@ -157,12 +381,13 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * Renvoie l'itérateur ayant produit l'élément lors du dernier appel à next() ou
 	 * previous().
 	 * 
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
+	 * 
 	 * @return l'itérateur ayant produit l'élément lors du dernier appel à next() ou
 	 *         previous()
-	 * 
-	 * @pure
 	 */
 	public I lastIterator() {
+		sync();
 		return this.lastIterator;
 	}
 
@@ -170,30 +395,35 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * Renvoie l'index pour cet itérateur du dernier élément retourné par next() ou
 	 * previous().
 	 * 
-	 * @return l'index du dernier élément retourné par next() ou previous()
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
 	 * 
-	 * @pure
+	 * @return l'index du dernier élément retourné par next() ou previous()
 	 */
 	public int lastIndex() {
+		sync();
 		return lastIndex;
 	}
 
 	/**
 	 * Renvoie true s'il reste un élément après dans l'itération.
 	 * 
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
+	 * 
 	 * @return true s'il reste un élément après dans l'itération; false sinon
 	 * 
 	 * @ensures !\result <==> nextIndex() == iterModel.size();
-	 * 
-	 * @pure
 	 */
 	@Override
 	public boolean hasNext() {
-		if (mergedIterator.hasNext()) {
+		sync();
+		if (nextIndex < mergedNb) {
 			return true;
-		} else {
-			return false;
 		}
+		if (heapStale) {
+			heapStale = false;
+			buildHeap();
+		}
+		return heapSize > 0;
 	}
 
 	/**
@@ -217,32 +447,59 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * @ensures nextIndex() == \old(nextIndex() + 1);
 	 * @ensures lastIndex() == \old(nextIndex());
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public E next() {
 		if (!hasNext()) {
 			throw new NoSuchElementException();
 		}
-		E next = mergedIterator.next();
-		lastIterator = (I) mergedIterator;
+		if (nextIndex < mergedNb) {
+			// Source connue depuis la construction parallèle: le tas n'est pas maintenu
+			int slot = history[nextIndex];
+			I source = source(slot);
+			E next = source.next();
+			heapStale = true;
+			lastIterator = source;
+			lastIndex = nextIndex;
+			previousIndex = nextIndex;
+			nextIndex++;
+			return next;
+		}
+		int slot = heap[0];
+		I source = source(slot);
+		E next = source.next();
+		if (source.hasNext()) {
+			setHead(slot, source.getNext());
+			siftDown(0);
+		} else {
+			removeTop();
+		}
+		int h = nextIndex - historyStart;
+		if (h >= 0) {
+			if (h == history.length) {
+				history = Arrays.copyOf(history, history.length * 2);
+			}
+			history[h] = slot;
+		}
+		lastIterator = source;
+		lastIndex = nextIndex;
 		previousIndex = nextIndex;
 		nextIndex++;
-		lastIndex = nextIndex;
 		return next;
 	}
 
 	/**
 	 * Renvoie true s'il y a un élément précédent dans l'itération.
 	 * 
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
+	 * 
 	 * @return true s'il y a un élément précédent dans l'itération; false sinon
 	 * 
 	 * @ensures !\result <==> previousIndex() == -1;
-	 *
-	 * @pure
 	 */
 	@Override
 	public boolean hasPrevious() {
-		return mergedIterator.hasPrevious();
+		sync();
+		return previousIndex >= 0;
 	}
 
 	/**
@@ -265,17 +522,27 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * @ensures nextIndex() == \old(nextIndex()) - 1;
 	 * @ensures lastIndex() == \old(previousIndex());
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public E previous() {
 		if (!hasPrevious()) {
 			throw new NoSuchElementException();
 		}
-		E previous = mergedIterator.previous();
-		lastIterator = (I) mergedIterator;
-		previousIndex = nextIndex;
-		nextIndex--;
+		int slot = previousIndex >= historyStart ? history[previousIndex - historyStart] : lastBefore();
+		I source = source(slot);
+		E previous = source.previous();
+		if (!heapStale) {
+			setHead(slot, previous);
+			if (heapPos[slot] == -1) {
+				heap[heapSize] = slot;
+				heapPos[slot] = heapSize;
+				heapSize++;
+			}
+			siftUp(heapPos[slot]);
+		}
+		lastIterator = source;
 		lastIndex = previousIndex;
+		nextIndex = previousIndex;
+		previousIndex--;
 		return previous;
 	}
 
@@ -283,15 +550,16 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * Renvoie l'index de l'élément suivant dans l'itération. Renvoie le nombre
 	 * total d'élément dans l'itération s'il n'y a pas d'élément suivant.
 	 * 
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
+	 * 
 	 * @return l'index de l'élément suivant dans l'itération
 	 * 
 	 * @ensures hasNext() <==> \result >= 0 && \result < iterModel.size();
 	 * @ensures !hasNext() <==> \result == iterModel.size();
-	 * 
-	 * @pure
 	 */
 	@Override
 	public int nextIndex() {
+		sync();
 		return nextIndex;
 	}
 
@@ -299,18 +567,337 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 	 * Renvoie l'index de l'élément précédent dans l'itération. Renvoie -1 s'il n'y
 	 * a pas d'élément précédent.
 	 * 
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
+	 * 
 	 * @return l'index de l'élément précédent dans l'itération
 	 * 
 	 * @ensures hasPrevious() ==> \result >= 0;
 	 * @ensures !hasPrevious() <==> \result == -1;
-	 *
-	 * @pure
 	 */
 	@Override
 	public int previousIndex() {
+		sync();
 		return previousIndex;
 	}
 
+	/**
+	 * Renvoie une nouvelle liste contenant, dans l'ordre de l'itération, les size
+	 * éléments de cet itérateur à partir de l'index offset (moins de size éléments
+	 * s'il n'y a pas assez d'éléments après offset). Cet itérateur est positionné
+	 * après le dernier élément de la liste renvoyée, de sorte que la page suivante
+	 * s'obtient par page(nextIndex(), size).
+	 *
+	 * Seuls les éléments de la page et ceux qui la précèdent sont lus: obtenir la
+	 * première page d'une fusion de k itérateurs coûte O(k + size log k), quel que
+	 * soit le nombre total d'éléments, et obtenir la page suivant la position
+	 * courante coûte O(size log k).
+	 *
+	 * @param offset l'index du premier élément de la page
+	 * @param size   le nombre maximal d'éléments de la page
+	 *
+	 * @return la liste des éléments d'index compris entre offset (inclus) et
+	 *         offset + size (exclus)
+	 *
+	 * @throws IllegalArgumentException si offset < 0 ou size < 0
+	 *
+	 * @requires offset >= 0 && size >= 0;
+	 * @ensures \result != null;
+	 * @ensures \result.equals(iterModel.subList(Math.min(offset, iterModel.size()),
+	 *          Math.min(offset + size, iterModel.size())));
+	 * @ensures nextIndex() == Math.min(offset + \result.size(), iterModel.size());
+	 * @ensures !\result.isEmpty() ==> lastIndex() == previousIndex();
+	 */
+	public List<E> page(int offset, int size) {
+		if (offset < 0 || size < 0) {
+			throw new IllegalArgumentException("offset et size doivent être positifs");
+		}
+		sync();
+		moveTo(offset);
+		List<E> result = new ArrayList<E>(Math.min(size, 64));
+		while (result.size() < size && hasNext()) {
+			result.add(next());
+		}
+		return result;
+	}
+
+	/**
+	 * Renvoie une nouvelle liste contenant les size premiers éléments de cet
+	 * itérateur (tous ses éléments s'il en a moins de size), dans l'ordre de
+	 * l'itération. Équivalent à page(0, size).
+	 *
+	 * @param size le nombre maximal d'éléments renvoyés
+	 *
+	 * @return la liste des size premiers éléments de cet itérateur
+	 *
+	 * @throws IllegalArgumentException si size < 0
+	 *
+	 * @requires size >= 0;
+	 * @ensures \result != null;
+	 * @ensures \result.equals(iterModel.subList(0, Math.min(size,
+	 *          iterModel.size())));
+	 * @ensures nextIndex() == \result.size();
+	 */
+	public List<E> limit(int size) {
+		return page(0, size);
+	}
+
+	/**
+	 * Renvoie un Spliterator sur les éléments restants de cet itérateur (d'index
+	 * nextIndex() et suivants), dans l'ordre de l'itération, sans déplacer cet
+	 * itérateur ni les itérateurs fusionnés. Ses caractéristiques sont ORDERED,
+	 * SORTED (selon comparator()), SIZED, SUBSIZED, NONNULL et IMMUTABLE.
+	 *
+	 * Lorsque les itérateurs fusionnés sont des User ou des PostCursor, le
+	 * Spliterator fusionne directement des vues figées de leurs Post: sa création
+	 * coûte O(k) pour k itérateurs fusionnés, et trySplit() partage les éléments
+	 * restants en O(k log n), sans copie, de sorte qu'un Stream parallèle répartit
+	 * la fusion entre plusieurs threads. Les éléments des autres itérateurs sont
+	 * recopiés à la création du Spliterator.
+	 *
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
+	 * 
+	 * @return un Spliterator sur les éléments restants de cet itérateur
+	 *
+	 * @ensures \result != null;
+	 * @ensures \result.estimateSize() == iterModel.size() - nextIndex();
+	 * @ensures \result.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED
+	 *          | Spliterator.SIZED | Spliterator.SUBSIZED);
+	 */
+	@SuppressWarnings("unchecked")
+	public Spliterator<E> spliterator() {
+		sync();
+		List<? extends E>[] lists = MergeSpliterator.newLists(sources.length);
+		int[] from = new int[sources.length];
+		int[] to = new int[sources.length];
+		for (int i = 0; i < sources.length; i++) {
+			List<? extends E> list = (List<? extends E>) postsOf(sources[i]);
+			if (list == null) {
+				return copySpliterator();
+			}
+			lists[i] = list;
+			from[i] = Math.min(source(i).nextIndex(), list.size());
+			to[i] = list.size();
+		}
+		return new MergeSpliterator<E>(lists, from, to, comparator);
+	}
+
+	/**
+	 * Renvoie un Stream séquentiel sur les éléments restants de cet itérateur, dans
+	 * l'ordre de l'itération, sans déplacer cet itérateur (cf. spliterator()). Le
+	 * Stream renvoyé peut être rendu parallèle par parallel().
+	 *
+	 * En mode direct, intègre d'abord les Post signalés (cf. setLive(boolean)).
+	 * 
+	 * @return un Stream sur les éléments restants de cet itérateur
+	 *
+	 * @ensures \result != null;
+	 * @ensures \result.collect(Collectors.toList()).equals(iterModel.subList(
+	 *          nextIndex(), iterModel.size()));
+	 */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/*
+	 * Renvoie une vue figée des Post de l'itérateur fusionné spécifié, dans l'ordre
+	 * de son itération, ou null si ses éléments ne sont pas accessibles
+	 * directement.
+	 */
+	private static List<Post> postsOf(Object source) {
+		if (source instanceof User) {
+			return ((User) source).getPostsSnapshot();
+		}
+		if (source instanceof PostCursor) {
+			return ((PostCursor) source).getUser().getPostsSnapshot();
+		}
+		if (source instanceof PostArrayCursor) {
+			return ((PostArrayCursor) source).asList();
+		}
+		return null;
+	}
+
+	/*
+	 * Renvoie un Spliterator sur une copie des éléments restants, obtenue en
+	 * parcourant cet itérateur, qui est ensuite replacé dans son état initial.
+	 */
+	private Spliterator<E> copySpliterator() {
+		int index = nextIndex;
+		int oldLastIndex = lastIndex;
+		I oldLastIterator = lastIterator;
+		List<E> rest = new ArrayList<E>();
+		while (hasNext()) {
+			rest.add(next());
+		}
+		moveTo(index);
+		lastIndex = oldLastIndex;
+		lastIterator = oldLastIterator;
+		return MergeSpliterator.of(rest, comparator);
+	}
+
+	/*
+	 * Positionne cet itérateur de sorte que nextIndex() == index, ou à la fin de
+	 * l'itération s'il y a moins de index éléments. Pour reculer, l'itération est
+	 * recommencée lorsque c'est moins coûteux que d'appeler previous().
+	 */
+	private void moveTo(int index) {
+		if (index < nextIndex && index < nextIndex - index) {
+			startIteration();
+		}
+		while (nextIndex > index) {
+			previous();
+		}
+		while (nextIndex < index && hasNext()) {
+			next();
+		}
+	}
+
+	/**
+	 * Active ou désactive le mode direct de cet itérateur. En mode direct, les Post
+	 * ajoutés par User.addPost aux User dont les Post sont fusionnés (les
+	 * itérateurs fusionnés qui sont des User ou des PostCursor) sont intégrés à
+	 * l'itération sans la recommencer, au coût de O(log k) par Post pour k
+	 * itérateurs fusionnés. Les éléments sont supposés triés par date, du plus
+	 * récent au plus ancien: comme pour User.addPost, un nouveau Post devient
+	 * l'élément suivant si l'itération n'a pas commencé (lastIndex() == -1), et
+	 * précède sinon tous les éléments de l'itération, les index étant alors
+	 * décalés de un.
+	 *
+	 * En mode direct, cet itérateur est enregistré comme PostListener auprès de
+	 * chacun des User fusionnés: le mode direct doit être désactivé lorsque cet
+	 * itérateur n'est plus utilisé. Les itérateurs fusionnés ne doivent pas être
+	 * déplacés par ailleurs, comme c'est le cas des PostCursor de
+	 * User.timeLine(). Les Post peuvent être ajoutés par d'autres threads: ils
+	 * sont alors intégrés lors de l'opération suivante sur cet itérateur, y
+	 * compris par hasNext(), hasPrevious(), nextIndex(), previousIndex(),
+	 * lastIndex(), lastIterator() et spliterator(), qui ne sont donc pas pures
+	 * en mode direct: elles peuvent décaler les index de l'itération.
+	 *
+	 * @param live true pour activer le mode direct, false pour le désactiver
+	 *
+	 * @ensures isLive() == live;
+	 */
+	public void setLive(boolean live) {
+		if (live == isLive()) {
+			return;
+		}
+		if (live) {
+			// Les nouveaux Post décaleraient les éléments fusionnés en parallèle
+			mergedNb = 0;
+			if (heapStale) {
+				heapStale = false;
+				buildHeap();
+			}
+			ConcurrentLinkedQueue<Integer> queue = new ConcurrentLinkedQueue<Integer>();
+			pending = queue;
+			listeners = new PostListener[sources.length];
+			for (int i = 0; i < sources.length; i++) {
+				User author = authorOf(source(i));
+				if (author != null) {
+					Integer slot = i;
+					listeners[i] = (u, p) -> queue.add(slot);
+					author.addPostListener(listeners[i]);
+				}
+				anchor(source(i));
+			}
+		} else {
+			for (int i = 0; i < sources.length; i++) {
+				if (listeners[i] != null) {
+					authorOf(source(i)).removePostListener(listeners[i]);
+				}
+			}
+			listeners = null;
+			pending = null;
+		}
+	}
+
+	/**
+	 * Renvoie true si cet itérateur est en mode direct.
+	 *
+	 * @return true si cet itérateur est en mode direct; false sinon
+	 *
+	 * @pure
+	 */
+	public boolean isLive() {
+		return listeners != null;
+	}
+
+	/*
+	 * Renvoie l'User dont l'itérateur fusionné spécifié énumère les Post, ou null
+	 * si cet itérateur n'est ni un User ni un PostCursor.
+	 */
+	private static User authorOf(Object source) {
+		if (source instanceof User) {
+			return (User) source;
+		}
+		if (source instanceof PostCursor) {
+			return ((PostCursor) source).getUser();
+		}
+		return null;
+	}
+
+	/*
+	 * Fixe la position de l'itérateur fusionné spécifié s'il n'a pas encore été
+	 * déplacé: un PostCursor (et donc un User) dont l'itération n'a pas commencé
+	 * renverrait sinon par next() le plus récent de ses Post au moment de l'appel,
+	 * et non l'élément mémorisé dans heads.
+	 */
+	private void anchor(I source) {
+		if (source.lastIndex() == -1 && !source.hasPrevious() && source.hasNext()) {
+			source.next();
+			source.previous();
+		}
+	}
+
+	/*
+	 * Intègre à l'itération les nouveaux Post signalés en mode direct.
+	 */
+	private void sync() {
+		if (pending == null) {
+			return;
+		}
+		Integer slot;
+		while ((slot = pending.poll()) != null) {
+			postAdded(slot);
+		}
+	}
+
+	/*
+	 * Intègre à l'itération un nouveau Post de l'itérateur fusionné spécifié, plus
+	 * récent que tous ses autres éléments.
+	 */
+	private void postAdded(int slot) {
+		I source = source(slot);
+		if (lastIndex == -1) {
+			// L'itération n'a pas commencé: le nouveau Post devient l'élément suivant
+			// de sa source, et prend sa place en tête du tas
+			while (source.hasPrevious()) {
+				source.previous();
+			}
+			anchor(source);
+			if (source.hasNext()) {
+				setHead(slot, source.getNext());
+				if (heapPos[slot] == -1) {
+					heap[heapSize] = slot;
+					heapPos[slot] = heapSize;
+					heapSize++;
+				}
+				siftUp(heapPos[slot]);
+			}
+		} else {
+			// Le nouveau Post précède la position courante: une source absente du tas
+			// (sans élément suivant) doit rester sans élément suivant
+			if (heapPos[slot] == -1) {
+				while (source.hasNext()) {
+					source.next();
+				}
+			}
+			nextIndex++;
+			previousIndex++;
+			lastIndex++;
+			historyStart++;
+		}
+	}
+
 	/**
 	 * Opération non supportée.
 	 * 
@@ -341,4 +928,272 @@ public class FusionSortedIterator<E extends Comparable<? super E>, I extends Ext
 		throw new UnsupportedOperationException();
 	}
 
+	@SuppressWarnings("unchecked")
+	private I source(int slot) {
+		return (I) sources[slot];
+	}
+
+	private void setHead(int slot, E e) {
+		heads[slot] = e;
+		if (keys != null) {
+			keys[slot] = keyComparator.key(e);
+		}
+	}
+
+	/*
+	 * Compare les sources spécifiées selon leur élément suivant; à élément égal,
+	 * l'ordre des indices départage les sources afin que l'ordre de l'itération
+	 * soit identique d'une itération à l'autre.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean less(int slot1, int slot2) {
+		if (keys != null) {
+			long key1 = keys[slot1];
+			long key2 = keys[slot2];
+			return key1 < key2 || (key1 == key2 && slot1 < slot2);
+		}
+		int cmp = comparator.compare((E) heads[slot1], (E) heads[slot2]);
+		return cmp < 0 || (cmp == 0 && slot1 < slot2);
+	}
+
+	/*
+	 * Range dans le tas les itérateurs fusionnés ayant un élément suivant, selon
+	 * cet élément.
+	 */
+	private void buildHeap() {
+		heapSize = 0;
+		for (int i = 0; i < sources.length; i++) {
+			I source = source(i);
+			heapPos[i] = -1;
+			heads[i] = null;
+			if (listeners != null) {
+				anchor(source);
+			}
+			if (source.hasNext()) {
+				setHead(i, source.getNext());
+				heap[heapSize] = i;
+				heapPos[i] = heapSize;
+				heapSize++;
+			}
+		}
+		for (int pos = heapSize / 2 - 1; pos >= 0; pos--) {
+			siftDown(pos);
+		}
+	}
+
+	/*
+	 * Renvoie l'indice de l'itérateur fusionné ayant produit l'élément précédent
+	 * lorsqu'il n'est pas mémorisé dans history: parmi les itérateurs ayant un
+	 * élément précédent, celui dont l'élément précédent est le plus grand, l'indice
+	 * le plus grand départageant les éléments égaux (symétrique de less).
+	 */
+	private int lastBefore() {
+		int best = -1;
+		E bestElt = null;
+		for (int i = 0; i < sources.length; i++) {
+			I source = source(i);
+			if (source.hasPrevious()) {
+				E e = source.getPrevious();
+				if (best == -1 || comparator.compare(e, bestElt) >= 0) {
+					best = i;
+					bestElt = e;
+				}
+			}
+		}
+		return best;
+	}
+
+	private void siftUp(int pos) {
+		int slot = heap[pos];
+		while (pos > 0) {
+			int parent = (pos - 1) / 2;
+			if (!less(slot, heap[parent])) {
+				break;
+			}
+			heap[pos] = heap[parent];
+			heapPos[heap[pos]] = pos;
+			pos = parent;
+		}
+		heap[pos] = slot;
+		heapPos[slot] = pos;
+	}
+
+	private void siftDown(int pos) {
+		int slot = heap[pos];
+		int child = 2 * pos + 1;
+		while (child < heapSize) {
+			if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!less(heap[child], slot)) {
+				break;
+			}
+			heap[pos] = heap[child];
+			heapPos[heap[pos]] = pos;
+			pos = child;
+			child = 2 * pos + 1;
+		}
+		heap[pos] = slot;
+		heapPos[slot] = pos;
+	}
+
+	/*
+	 * Compare les éléments spécifiés, produits par les sources spécifiées, comme
+	 * less() compare les sources du tas.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean less(Object e1, int slot1, Object e2, int slot2) {
+		int cmp;
+		if (keyComparator != null) {
+			cmp = Long.compare(keyComparator.key((E) e1), keyComparator.key((E) e2));
+		} else {
+			cmp = comparator.compare((E) e1, (E) e2);
+		}
+		return cmp < 0 || (cmp == 0 && slot1 < slot2);
+	}
+
+	/*
+	 * Les size premiers éléments d'un intervalle de sources, dans l'ordre de leur
+	 * fusion, et les indices des sources qui les ont produits.
+	 */
+	private static final class Run {
+		final Object[] elements;
+		final int[] slots;
+		final int length;
+
+		Run(Object[] elements, int[] slots, int length) {
+			this.elements = elements;
+			this.slots = slots;
+			this.length = length;
+		}
+	}
+
+	/*
+	 * Fusionne les size premiers éléments des sources d'indices compris entre lo
+	 * (inclus) et hi (exclus): au-delà de leaf sources, chaque moitié est
+	 * fusionnée par une sous-tâche, et les deux résultats sont fusionnés entre
+	 * eux, la moitié gauche (indices les plus petits) l'emportant à égalité.
+	 */
+	private final class MergeTask extends RecursiveTask<Run> {
+		private static final long serialVersionUID = 1L;
+		private final int lo, hi, size, leaf;
+
+		MergeTask(int lo, int hi, int size, int leaf) {
+			this.lo = lo;
+			this.hi = hi;
+			this.size = size;
+			this.leaf = leaf;
+		}
+
+		@Override
+		protected Run compute() {
+			if (hi - lo <= leaf) {
+				return read();
+			}
+			int mid = (lo + hi) >>> 1;
+			MergeTask left = new MergeTask(lo, mid, size, leaf);
+			left.fork();
+			Run r = new MergeTask(mid, hi, size, leaf).compute();
+			return merge(left.join(), r);
+		}
+
+		/*
+		 * Fusionne séquentiellement, par un tas local ordonné comme le tas de
+		 * l'itérateur, les size premiers éléments des sources de l'intervalle, qui
+		 * sont ensuite repositionnées au début de leur itération.
+		 */
+		private Run read() {
+			int[] localHeap = new int[hi - lo];
+			Object[] localHeads = new Object[hi - lo];
+			int localSize = 0;
+			for (int slot = lo; slot < hi; slot++) {
+				I source = source(slot);
+				if (source.hasNext()) {
+					localHeads[slot - lo] = source.getNext();
+					localHeap[localSize++] = slot;
+				}
+			}
+			for (int pos = localSize / 2 - 1; pos >= 0; pos--) {
+				siftDown(localHeap, localHeads, localSize, pos);
+			}
+			Object[] elements = new Object[Math.min(size, 16)];
+			int[] slots = new int[elements.length];
+			int n = 0;
+			while (n < size && localSize > 0) {
+				int slot = localHeap[0];
+				I source = source(slot);
+				if (n == elements.length) {
+					elements = Arrays.copyOf(elements, (int) Math.min(size, 2L * n));
+					slots = Arrays.copyOf(slots, elements.length);
+				}
+				elements[n] = source.next();
+				slots[n++] = slot;
+				if (source.hasNext()) {
+					localHeads[slot - lo] = source.getNext();
+				} else {
+					localHeap[0] = localHeap[--localSize];
+				}
+				siftDown(localHeap, localHeads, localSize, 0);
+			}
+			for (int slot = lo; slot < hi; slot++) {
+				source(slot).startIteration();
+			}
+			return new Run(elements, slots, n);
+		}
+
+		private void siftDown(int[] localHeap, Object[] localHeads, int localSize, int pos) {
+			if (localSize == 0) {
+				return;
+			}
+			int slot = localHeap[pos];
+			int child = 2 * pos + 1;
+			while (child < localSize) {
+				int c = localHeap[child];
+				if (child + 1 < localSize) {
+					int c2 = localHeap[child + 1];
+					if (less(localHeads[c2 - lo], c2, localHeads[c - lo], c)) {
+						child++;
+						c = c2;
+					}
+				}
+				if (!less(localHeads[c - lo], c, localHeads[slot - lo], slot)) {
+					break;
+				}
+				localHeap[pos] = c;
+				pos = child;
+				child = 2 * pos + 1;
+			}
+			localHeap[pos] = slot;
+		}
+
+		private Run merge(Run left, Run right) {
+			int n = Math.min(size, left.length + right.length);
+			Object[] elements = new Object[n];
+			int[] slots = new int[n];
+			int i = 0, j = 0;
+			for (int k = 0; k < n; k++) {
+				if (j == right.length
+						|| (i < left.length && !less(right.elements[j], right.slots[j], left.elements[i], left.slots[i]))) {
+					elements[k] = left.elements[i];
+					slots[k] = left.slots[i++];
+				} else {
+					elements[k] = right.elements[j];
+					slots[k] = right.slots[j++];
+				}
+			}
+			return new Run(elements, slots, n);
+		}
+	}
+
+	private void removeTop() {
+		int slot = heap[0];
+		heapPos[slot] = -1;
+		heads[slot] = null;
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			siftDown(0);
+		}
+	}
+
 }
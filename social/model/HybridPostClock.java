@@ -0,0 +1,91 @@
+/**
+ *
+ */
+package social.model;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Horloge logique hybride: chaque horodatage est le maximum entre l'heure
+ * physique courante et le dernier horodatage renvoyé augmenté d'une
+ * nanoseconde. Les horodatages sont donc strictement croissants même lorsque
+ * plusieurs Post sont créés pendant le même "tic" de l'horloge physique, ou
+ * lorsque l'heure physique recule; ils ne devancent alors l'heure physique que
+ * d'une nanoseconde par Post créé pendant ce tic.
+ *
+ * Avec une horloge physique grossière (par exemple une milliseconde par tic),
+ * plus d'un horodatage par nanoseconde de résolution peut être demandé pendant
+ * un tic: les horodatages prev + 1 prennent alors de l'avance sur l'heure
+ * physique, jusqu'à ce que celle-ci les rattrape. Tant que cette avance
+ * subsiste, la date d'un Post peut être postérieure à Instant.now(): la
+ * postcondition getDate().compareTo(Instant.now()) <= 0 des constructeurs de
+ * SimplePost et RePost ne vaut que si moins de Post sont créés pendant un tic
+ * que le tic ne compte de nanosecondes (un million de Post par milliseconde).
+ * Après un recul de l'heure physique, l'avance est celle du recul.
+ *
+ * Cette horloge peut être utilisée simultanément par plusieurs threads sans
+ * verrou.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public final class HybridPostClock implements PostClock {
+	private final LongSupplier physicalClock;
+	private final AtomicLong last;
+
+	/**
+	 * Initialise une horloge dont l'heure physique est l'heure du système (cf.
+	 * Instant.now()).
+	 */
+	public HybridPostClock() {
+		this(HybridPostClock::systemNanos);
+	}
+
+	/**
+	 * Initialise une horloge dont l'heure physique est fournie par la source
+	 * spécifiée, en nanosecondes depuis Instant.EPOCH.
+	 *
+	 * @param physicalClock la source de l'heure physique
+	 *
+	 * @throws NullPointerException si l'argument spécifié est null
+	 *
+	 * @requires physicalClock != null;
+	 */
+	public HybridPostClock(LongSupplier physicalClock) {
+		if (physicalClock == null) {
+			throw new NullPointerException();
+		}
+		this.physicalClock = physicalClock;
+		this.last = new AtomicLong(Long.MIN_VALUE);
+	}
+
+	private static long systemNanos() {
+		Instant now = Instant.now();
+		return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+	}
+
+	/**
+	 * Renvoie un nouvel horodatage, égal à l'heure physique courante si elle est
+	 * postérieure au dernier horodatage renvoyé, et au dernier horodatage
+	 * augmenté d'une nanoseconde sinon.
+	 *
+	 * @return un nouvel horodatage, en nanosecondes depuis Instant.EPOCH
+	 *
+	 * @ensures \result > \old(nextTimestamp());
+	 * @ensures \result == Math.max(heure physique lue par cet appel, dernier
+	 *          horodatage renvoyé + 1);
+	 */
+	@Override
+	public long nextTimestamp() {
+		long physical = physicalClock.getAsLong();
+		while (true) {
+			long prev = last.get();
+			long next = Math.max(physical, prev + 1);
+			if (last.compareAndSet(prev, next)) {
+				return next;
+			}
+		}
+	}
+}
@@ -0,0 +1,342 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Ensemble d'entiers positifs ou nuls représenté par un tableau de int.
+ * Contrairement à un HashSet<Integer>, un élément n'occupe que quelques octets
+ * et aucun objet n'est alloué lors d'un ajout; un ensemble vide n'alloue aucun
+ * tableau.
+ *
+ * Un petit ensemble (au plus DENSE_MAX éléments) range ses éléments de manière
+ * contiguë au début du tableau, qui est parcouru séquentiellement: un tel
+ * ensemble n'occupe pratiquement que la place de ses éléments. Au-delà, le
+ * tableau devient une table de hachage à adressage ouvert (sondage linéaire).
+ * Le mode de représentation se déduit de la taille du tableau.
+ *
+ * Cette classe n'est pas synchronisée.
+ *
+ * @invariant size() >= 0;
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class IntHashSet {
+	private static final int[] EMPTY_TABLE = {};
+	private static final int FREE = -1;
+	private static final int DENSE_STEP = 4;
+	private static final int DENSE_MAX = 32;
+
+	private int[] table;
+	private int size;
+
+	/**
+	 * Initialise un ensemble vide.
+	 *
+	 * @ensures size() == 0;
+	 */
+	IntHashSet() {
+		this.table = EMPTY_TABLE;
+	}
+
+	/**
+	 * Renvoie le nombre d'éléments de cet ensemble.
+	 *
+	 * @return le nombre d'éléments de cet ensemble
+	 *
+	 * @pure
+	 */
+	int size() {
+		return size;
+	}
+
+	private boolean isDense() {
+		return table.length <= DENSE_MAX;
+	}
+
+	private int denseIndexOf(int key) {
+		for (int i = 0; i < size; i++) {
+			if (table[i] == key) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int slot(int key, int mask) {
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * Renvoie true si l'entier spécifié appartient à cet ensemble.
+	 *
+	 * @param key l'entier cherché
+	 *
+	 * @return true si l'entier spécifié appartient à cet ensemble; false sinon
+	 *
+	 * @pure
+	 */
+	boolean contains(int key) {
+		if (size == 0 || key < 0) {
+			return false;
+		}
+		if (isDense()) {
+			return denseIndexOf(key) >= 0;
+		}
+		int mask = table.length - 1;
+		for (int i = slot(key, mask);; i = (i + 1) & mask) {
+			int k = table[i];
+			if (k == key) {
+				return true;
+			}
+			if (k == FREE) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Ajoute l'entier spécifié à cet ensemble.
+	 *
+	 * @param key l'entier à ajouter
+	 *
+	 * @return true si l'entier spécifié n'appartenait pas déjà à cet ensemble
+	 *
+	 * @requires key >= 0;
+	 * @ensures contains(key);
+	 */
+	boolean add(int key) {
+		if (isDense()) {
+			if (denseIndexOf(key) >= 0) {
+				return false;
+			}
+			if (size < table.length) {
+				table[size++] = key;
+				return true;
+			}
+			if (table.length < DENSE_MAX) {
+				table = Arrays.copyOf(table, table.length + DENSE_STEP);
+				table[size++] = key;
+				return true;
+			}
+			resize(2 * DENSE_MAX);
+		} else if ((size + 1) * 4 > table.length * 3) {
+			// Taux de remplissage maximal: 3/4
+			resize(table.length * 2);
+		}
+		int mask = table.length - 1;
+		for (int i = slot(key, mask);; i = (i + 1) & mask) {
+			int k = table[i];
+			if (k == key) {
+				return false;
+			}
+			if (k == FREE) {
+				table[i] = key;
+				size++;
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Retire l'entier spécifié de cet ensemble.
+	 *
+	 * @param key l'entier à retirer
+	 *
+	 * @return true si l'entier spécifié appartenait à cet ensemble
+	 *
+	 * @ensures !contains(key);
+	 */
+	boolean remove(int key) {
+		if (size == 0 || key < 0) {
+			return false;
+		}
+		if (isDense()) {
+			int i = denseIndexOf(key);
+			if (i < 0) {
+				return false;
+			}
+			table[i] = table[--size];
+			if (size == 0) {
+				table = EMPTY_TABLE;
+			}
+			return true;
+		}
+		int mask = table.length - 1;
+		int i = slot(key, mask);
+		while (table[i] != key) {
+			if (table[i] == FREE) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		// Suppression par décalage: les éléments suivants de la même séquence de
+		// sondage sont rapprochés de leur position idéale.
+		int hole = i;
+		for (int j = (hole + 1) & mask; table[j] != FREE; j = (j + 1) & mask) {
+			int ideal = slot(table[j], mask);
+			if (((j - ideal) & mask) >= ((j - hole) & mask)) {
+				table[hole] = table[j];
+				hole = j;
+			}
+		}
+		table[hole] = FREE;
+		size--;
+		if (size == 0) {
+			table = EMPTY_TABLE;
+		}
+		return true;
+	}
+
+	/*
+	 * Range les éléments de cet ensemble dans une table de hachage de capacité
+	 * spécifiée (une puissance de 2 supérieure à DENSE_MAX).
+	 */
+	private void resize(int capacity) {
+		int[] old = isDense() ? Arrays.copyOf(table, size) : table;
+		int[] t = new int[capacity];
+		Arrays.fill(t, FREE);
+		int mask = capacity - 1;
+		for (int key : old) {
+			if (key != FREE) {
+				int i = slot(key, mask);
+				while (t[i] != FREE) {
+					i = (i + 1) & mask;
+				}
+				t[i] = key;
+			}
+		}
+		table = t;
+	}
+
+	/**
+	 * Renvoie un nouveau tableau contenant les éléments de cet ensemble.
+	 *
+	 * @return un tableau contenant les éléments de cet ensemble
+	 *
+	 * @ensures \result.length == size();
+	 *
+	 * @pure
+	 */
+	int[] toArray() {
+		if (isDense()) {
+			return Arrays.copyOf(table, size);
+		}
+		int[] result = new int[size];
+		int n = 0;
+		for (int key : table) {
+			if (key != FREE) {
+				result[n++] = key;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Renvoie un nouveau curseur, positionné avant le premier élément de cet
+	 * ensemble. Le curseur parcourt directement le tableau de cet ensemble, sans
+	 * le recopier.
+	 *
+	 * @return un nouveau curseur sur les éléments de cet ensemble
+	 *
+	 * @ensures \result != null;
+	 * @ensures !\result.hasPrevious();
+	 *
+	 * @pure
+	 */
+	Cursor cursor() {
+		return new Cursor();
+	}
+
+	/**
+	 * Un curseur bidirectionnel sur les éléments d'un IntHashSet. Un curseur
+	 * énumère tous les éléments présents lors de sa création; les éléments
+	 * ajoutés ensuite peuvent ou non être énumérés. Un curseur ne tolère aucun
+	 * retrait d'élément de l'ensemble pendant l'itération.
+	 */
+	final class Cursor {
+		private final int[] elements;
+		// Nombre de cases significatives de elements
+		private final int limit;
+		// Case examinée par le prochain appel à next()
+		private int pos;
+		private int index;
+
+		private Cursor() {
+			this.elements = table;
+			this.limit = isDense() ? size : elements.length;
+		}
+
+		/**
+		 * Renvoie true s'il reste un élément à énumérer.
+		 *
+		 * @return true s'il reste un élément à énumérer
+		 */
+		boolean hasNext() {
+			while (pos < limit && elements[pos] == FREE) {
+				pos++;
+			}
+			return pos < limit;
+		}
+
+		/**
+		 * Renvoie l'élément suivant et avance d'un élément.
+		 *
+		 * @return l'élément suivant
+		 *
+		 * @throws NoSuchElementException si hasNext() est false
+		 */
+		int next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			index++;
+			return elements[pos++];
+		}
+
+		/**
+		 * Renvoie true s'il existe un élément précédent.
+		 *
+		 * @return true s'il existe un élément précédent
+		 *
+		 * @pure
+		 */
+		boolean hasPrevious() {
+			return index > 0;
+		}
+
+		/**
+		 * Renvoie l'élément précédent et recule d'un élément.
+		 *
+		 * @return l'élément précédent
+		 *
+		 * @throws NoSuchElementException si hasPrevious() est false
+		 */
+		int previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			do {
+				pos--;
+			} while (elements[pos] == FREE);
+			index--;
+			return elements[pos];
+		}
+
+		/**
+		 * Renvoie le nombre d'éléments précédant la position de ce curseur.
+		 *
+		 * @return le nombre d'éléments précédant la position de ce curseur
+		 *
+		 * @pure
+		 */
+		int nextIndex() {
+			return index;
+		}
+	}
+}
@@ -0,0 +1,279 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ensemble des identifiants (cf. User.getUserById) des likers d'un Post,
+ * pouvant être modifié et consulté simultanément par plusieurs threads.
+ *
+ * Tant qu'il contient peu d'éléments, l'ensemble est un unique IntHashSet
+ * protégé par son propre verrou. Au-delà de PROMOTION_THRESHOLD éléments (un
+ * Post "viral"), les éléments sont répartis entre plusieurs IntHashSet, chacun
+ * protégé par son propre verrou (verrous "striés", comme dans SocialGraph): des
+ * likes simultanés portant sur des stripes différentes ne se bloquent pas
+ * mutuellement, et le nombre d'éléments est alors compté par un LongAdder que
+ * les threads incrémentent sans se gêner.
+ *
+ * Aucun élément ne peut être retiré d'un LikerSet.
+ *
+ * @invariant size() >= 0;
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class LikerSet {
+	private static final int PROMOTION_THRESHOLD = 32;
+	private static final int STRIPE_BITS = stripeBits();
+
+	// Représentation initiale; n'est plus modifié après la répartition
+	private final IntHashSet small;
+	// null tant que les éléments n'ont pas été répartis entre les stripes
+	private volatile IntHashSet[] stripes;
+	private LongAdder count;
+
+	/**
+	 * Initialise un ensemble vide.
+	 *
+	 * @ensures size() == 0;
+	 */
+	LikerSet() {
+		this.small = new IntHashSet();
+	}
+
+	private static int stripeBits() {
+		int n = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4);
+		return Integer.numberOfTrailingZeros(Math.min(Math.max(n, 16), 256));
+	}
+
+	private static int stripeOf(int id) {
+		return (id * 0x9E3779B9) >>> (32 - STRIPE_BITS);
+	}
+
+	/**
+	 * Ajoute l'identifiant spécifié à cet ensemble.
+	 *
+	 * @param id l'identifiant à ajouter
+	 *
+	 * @return true si l'identifiant spécifié n'appartenait pas déjà à cet
+	 *         ensemble
+	 *
+	 * @requires id >= 0;
+	 * @ensures contains(id);
+	 */
+	boolean add(int id) {
+		IntHashSet[] s = stripes;
+		if (s == null) {
+			synchronized (small) {
+				s = stripes;
+				if (s == null) {
+					if (!small.add(id)) {
+						return false;
+					}
+					if (small.size() > PROMOTION_THRESHOLD) {
+						promote();
+					}
+					return true;
+				}
+			}
+		}
+		IntHashSet stripe = s[stripeOf(id)];
+		synchronized (stripe) {
+			if (!stripe.add(id)) {
+				return false;
+			}
+		}
+		count.increment();
+		return true;
+	}
+
+	/*
+	 * Répartit les éléments de small entre les stripes. Appelée sous le verrou de
+	 * small.
+	 */
+	private void promote() {
+		IntHashSet[] s = new IntHashSet[1 << STRIPE_BITS];
+		for (int i = 0; i < s.length; i++) {
+			s[i] = new IntHashSet();
+		}
+		for (int id : small.toArray()) {
+			s[stripeOf(id)].add(id);
+		}
+		LongAdder c = new LongAdder();
+		c.add(small.size());
+		count = c;
+		// Publie les stripes (et le compteur) aux autres threads
+		stripes = s;
+	}
+
+	/**
+	 * Renvoie true si l'identifiant spécifié appartient à cet ensemble.
+	 *
+	 * @param id l'identifiant cherché
+	 *
+	 * @return true si l'identifiant spécifié appartient à cet ensemble; false
+	 *         sinon
+	 *
+	 * @pure
+	 */
+	boolean contains(int id) {
+		IntHashSet[] s = stripes;
+		if (s == null) {
+			synchronized (small) {
+				s = stripes;
+				if (s == null) {
+					return small.contains(id);
+				}
+			}
+		}
+		IntHashSet stripe = s[stripeOf(id)];
+		synchronized (stripe) {
+			return stripe.contains(id);
+		}
+	}
+
+	/**
+	 * Renvoie le nombre d'éléments de cet ensemble.
+	 *
+	 * @return le nombre d'éléments de cet ensemble
+	 *
+	 * @pure
+	 */
+	int size() {
+		if (stripes != null) {
+			return (int) count.sum();
+		}
+		synchronized (small) {
+			return stripes != null ? (int) count.sum() : small.size();
+		}
+	}
+
+	/**
+	 * Renvoie un nouveau curseur, positionné avant le premier élément de cet
+	 * ensemble. Le curseur parcourt directement les tableaux de cet ensemble,
+	 * sans les recopier.
+	 *
+	 * @return un nouveau curseur sur les éléments de cet ensemble
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	Cursor cursor() {
+		IntHashSet[] s = stripes;
+		if (s == null) {
+			synchronized (small) {
+				s = stripes;
+				if (s == null) {
+					return new Cursor(null, small.cursor());
+				}
+			}
+		}
+		return new Cursor(s, open(s[0]));
+	}
+
+	private static IntHashSet.Cursor open(IntHashSet set) {
+		synchronized (set) {
+			return set.cursor();
+		}
+	}
+
+	/**
+	 * Un curseur bidirectionnel sur les éléments d'un LikerSet. Un curseur énumère
+	 * tous les éléments présents lors de sa création; les éléments ajoutés
+	 * ensuite peuvent ou non être énumérés.
+	 */
+	static final class Cursor {
+		private final IntHashSet[] parts;
+		private final IntHashSet.Cursor[] cursors;
+		private IntHashSet.Cursor current;
+		private int part;
+		private int index;
+
+		private Cursor(IntHashSet[] parts, IntHashSet.Cursor first) {
+			this.parts = parts;
+			this.cursors = parts == null ? null : new IntHashSet.Cursor[parts.length];
+			this.current = first;
+			if (cursors != null) {
+				cursors[0] = first;
+			}
+		}
+
+		/**
+		 * Renvoie true s'il reste un élément à énumérer.
+		 *
+		 * @return true s'il reste un élément à énumérer
+		 */
+		boolean hasNext() {
+			while (!current.hasNext()) {
+				if (parts == null || part == parts.length - 1) {
+					return false;
+				}
+				part++;
+				if (cursors[part] == null) {
+					cursors[part] = open(parts[part]);
+				}
+				current = cursors[part];
+			}
+			return true;
+		}
+
+		/**
+		 * Renvoie l'élément suivant et avance d'un élément.
+		 *
+		 * @return l'élément suivant
+		 *
+		 * @throws NoSuchElementException si hasNext() est false
+		 */
+		int next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			index++;
+			return current.next();
+		}
+
+		/**
+		 * Renvoie true s'il existe un élément précédent.
+		 *
+		 * @return true s'il existe un élément précédent
+		 *
+		 * @pure
+		 */
+		boolean hasPrevious() {
+			return index > 0;
+		}
+
+		/**
+		 * Renvoie l'élément précédent et recule d'un élément.
+		 *
+		 * @return l'élément précédent
+		 *
+		 * @throws NoSuchElementException si hasPrevious() est false
+		 */
+		int previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			while (!current.hasPrevious()) {
+				current = cursors[--part];
+			}
+			index--;
+			return current.previous();
+		}
+
+		/**
+		 * Renvoie le nombre d'éléments précédant la position de ce curseur.
+		 *
+		 * @return le nombre d'éléments précédant la position de ce curseur
+		 *
+		 * @pure
+		 */
+		int nextIndex() {
+			return index;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.Comparator;
+
+/**
+ * Un Comparator qui ordonne les éléments selon une clé primitive de type long:
+ * compare(a, b) a le signe de Long.compare(key(a), key(b)).
+ *
+ * Un FusionSortedIterator utilisant un tel comparateur lit la clé de chaque
+ * élément une seule fois et effectue ensuite toutes ses comparaisons sur les
+ * clés, sans appeler compare.
+ *
+ * @param <T> le type des éléments comparés
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@FunctionalInterface
+public interface LongKeyComparator<T> extends Comparator<T> {
+
+	/**
+	 * Renvoie la clé de l'élément spécifié.
+	 *
+	 * @param e l'élément dont on cherche la clé
+	 *
+	 * @return la clé de l'élément spécifié
+	 *
+	 * @requires e != null;
+	 *
+	 * @pure
+	 */
+	long key(T e);
+
+	/**
+	 * Compare les éléments spécifiés selon leurs clés.
+	 *
+	 * @param a le premier élément à comparer
+	 * @param b le second élément à comparer
+	 *
+	 * @return Long.compare(key(a), key(b))
+	 *
+	 * @requires a != null && b != null;
+	 *
+	 * @pure
+	 */
+	@Override
+	default int compare(T a, T b) {
+		return Long.compare(key(a), key(b));
+	}
+
+	/**
+	 * Renvoie un LongKeyComparator imposant l'ordre inverse de celui de ce
+	 * comparateur. La clé d'un élément pour le comparateur renvoyé est le
+	 * complément bit à bit (~) de sa clé pour ce comparateur, ce qui inverse
+	 * l'ordre sans risque de dépassement de capacité.
+	 *
+	 * @return un LongKeyComparator imposant l'ordre inverse
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	@Override
+	default LongKeyComparator<T> reversed() {
+		LongKeyComparator<T> self = this;
+		return e -> ~self.key(e);
+	}
+}
@@ -0,0 +1,285 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Un Spliterator énumérant, dans l'ordre de leur fusion, les éléments de
+ * plusieurs listes triées: pour chaque liste, les éléments d'index compris
+ * entre from (inclus) et to (exclus). Comme pour FusionSortedIterator, les
+ * éléments égaux sont départagés par le rang de leur liste dans le tableau des
+ * listes fusionnées.
+ *
+ * Les listes doivent permettre l'accès direct à leurs éléments
+ * (RandomAccess) et ne plus être modifiées: trySplit() choisit pour pivot
+ * l'élément médian de la plus longue des listes, et partage chaque liste par
+ * recherche dichotomique de ce pivot, en O(k log n) pour k listes d'au plus n
+ * éléments. Le Spliterator renvoyé énumère tous les éléments précédant le pivot
+ * dans l'ordre de la fusion; sa taille est exacte.
+ *
+ * @param <E> le type des éléments énumérés
+ *
+ * @invariant estimateSize() >= 0;
+ * @invariant hasCharacteristics(ORDERED | SORTED | SIZED | SUBSIZED | NONNULL
+ *            | IMMUTABLE);
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class MergeSpliterator<E> implements Spliterator<E> {
+	private static final int CHARACTERISTICS = ORDERED | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+	private final List<? extends E>[] lists;
+	private int[] from;
+	private final int[] to;
+	private final Comparator<? super E> comparator;
+	private long size;
+	// Tas des listes non épuisées selon leur élément suivant (heads), construit à
+	// la première lecture
+	private int[] heap;
+	private Object[] heads;
+	private int heapSize;
+
+	/**
+	 * Initialise un Spliterator fusionnant, pour chaque liste du tableau spécifié,
+	 * ses éléments d'index compris entre from[i] (inclus) et to[i] (exclus), ces
+	 * listes étant triées selon le comparateur spécifié.
+	 *
+	 * @param lists      les listes fusionnées
+	 * @param from       l'index du premier élément énuméré de chaque liste
+	 * @param to         l'index suivant le dernier élément énuméré de chaque liste
+	 * @param comparator l'ordre des éléments des listes
+	 *
+	 * @requires lists != null && from != null && to != null;
+	 * @requires lists.length == from.length && lists.length == to.length;
+	 * @requires (\forall int i; i >= 0 && i < lists.length; 0 <= from[i] &&
+	 *           from[i] <= to[i] && to[i] <= lists[i].size());
+	 * @requires comparator != null;
+	 * @ensures estimateSize() == (\sum int i; i >= 0 && i < lists.length; to[i] -
+	 *          from[i]);
+	 */
+	MergeSpliterator(List<? extends E>[] lists, int[] from, int[] to, Comparator<? super E> comparator) {
+		this.lists = lists;
+		this.from = from;
+		this.to = to;
+		this.comparator = comparator;
+		for (int i = 0; i < lists.length; i++) {
+			size += to[i] - from[i];
+		}
+	}
+
+	/**
+	 * Renvoie un Spliterator énumérant tous les éléments de la liste spécifiée,
+	 * triée selon le comparateur spécifié.
+	 *
+	 * @param <E>        le type des éléments énumérés
+	 * @param list       la liste dont les éléments sont énumérés
+	 * @param comparator l'ordre des éléments de la liste
+	 *
+	 * @return un Spliterator sur les éléments de la liste spécifiée
+	 *
+	 * @requires list != null && comparator != null;
+	 * @ensures \result.estimateSize() == list.size();
+	 */
+	static <E> MergeSpliterator<E> of(List<? extends E> list, Comparator<? super E> comparator) {
+		List<? extends E>[] lists = newLists(1);
+		lists[0] = list;
+		return new MergeSpliterator<E>(lists, new int[] { 0 }, new int[] { list.size() }, comparator);
+	}
+
+	/**
+	 * Renvoie un nouveau tableau de listes de la longueur spécifiée, dont tous les
+	 * éléments sont null. Un tableau de type générique ne pouvant être créé
+	 * directement, le tableau est créé avec le type brut List.
+	 *
+	 * @param <E>    le type des éléments des listes
+	 * @param length la longueur du tableau
+	 *
+	 * @return un nouveau tableau de length listes
+	 *
+	 * @requires length >= 0;
+	 * @ensures \result.length == length;
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static <E> List<? extends E>[] newLists(int length) {
+		return new List[length];
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}
+		if (size == 0) {
+			return false;
+		}
+		action.accept(poll());
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}
+		if (lists.length == 1) {
+			// Une seule liste: ses éléments sont énumérés sans tas
+			List<? extends E> list = lists[0];
+			int end = to[0];
+			int i = from[0];
+			from[0] = end;
+			size = 0;
+			for (; i < end; i++) {
+				action.accept(list.get(i));
+			}
+			return;
+		}
+		while (size > 0) {
+			action.accept(poll());
+		}
+	}
+
+	@Override
+	public Spliterator<E> trySplit() {
+		if (size < 2) {
+			return null;
+		}
+		int pivotList = 0;
+		int longest = 0;
+		for (int i = 0; i < lists.length; i++) {
+			if (to[i] - from[i] > longest) {
+				longest = to[i] - from[i];
+				pivotList = i;
+			}
+		}
+		int pivotIndex = (from[pivotList] + to[pivotList]) >>> 1;
+		E pivot = lists[pivotList].get(pivotIndex);
+		int[] mid = new int[lists.length];
+		long prefixSize = 0;
+		for (int i = 0; i < lists.length; i++) {
+			mid[i] = i == pivotList ? pivotIndex : firstNotBefore(i, pivot, pivotList);
+			prefixSize += mid[i] - from[i];
+		}
+		if (prefixSize == 0) {
+			return null;
+		}
+		MergeSpliterator<E> prefix = new MergeSpliterator<E>(lists, from, mid.clone(), comparator);
+		from = mid;
+		size -= prefixSize;
+		heap = null;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return size;
+	}
+
+	@Override
+	public int characteristics() {
+		return CHARACTERISTICS;
+	}
+
+	/**
+	 * Renvoie l'ordre des éléments énumérés, ou null s'il s'agit de leur ordre
+	 * naturel.
+	 *
+	 * @return l'ordre des éléments énumérés, ou null pour l'ordre naturel
+	 *
+	 * @pure
+	 */
+	@Override
+	public Comparator<? super E> getComparator() {
+		return comparator == Comparator.naturalOrder() ? null : comparator;
+	}
+
+	/*
+	 * Renvoie l'index du premier élément de la liste spécifiée qui ne précède pas,
+	 * dans l'ordre de la fusion, le pivot spécifié de la liste pivotList.
+	 */
+	private int firstNotBefore(int list, E pivot, int pivotList) {
+		List<? extends E> l = lists[list];
+		int low = from[list];
+		int high = to[list];
+		while (low < high) {
+			int m = (low + high) >>> 1;
+			int cmp = comparator.compare(l.get(m), pivot);
+			if (cmp < 0 || (cmp == 0 && list < pivotList)) {
+				low = m + 1;
+			} else {
+				high = m;
+			}
+		}
+		return low;
+	}
+
+	/*
+	 * Retire et renvoie l'élément suivant de la fusion.
+	 */
+	private E poll() {
+		if (heap == null) {
+			buildHeap();
+		}
+		int list = heap[0];
+		E e = head(list);
+		from[list]++;
+		size--;
+		if (from[list] < to[list]) {
+			heads[list] = lists[list].get(from[list]);
+		} else {
+			heap[0] = heap[--heapSize];
+		}
+		siftDown(0);
+		return e;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E head(int list) {
+		return (E) heads[list];
+	}
+
+	private void buildHeap() {
+		heap = new int[lists.length];
+		heads = new Object[lists.length];
+		heapSize = 0;
+		for (int i = 0; i < lists.length; i++) {
+			if (from[i] < to[i]) {
+				heads[i] = lists[i].get(from[i]);
+				heap[heapSize++] = i;
+			}
+		}
+		for (int pos = heapSize / 2 - 1; pos >= 0; pos--) {
+			siftDown(pos);
+		}
+	}
+
+	private boolean less(int list1, int list2) {
+		int cmp = comparator.compare(head(list1), head(list2));
+		return cmp < 0 || (cmp == 0 && list1 < list2);
+	}
+
+	private void siftDown(int pos) {
+		if (pos >= heapSize) {
+			return;
+		}
+		int list = heap[pos];
+		int child = 2 * pos + 1;
+		while (child < heapSize) {
+			if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!less(heap[child], list)) {
+				break;
+			}
+			heap[pos] = heap[child];
+			pos = child;
+			child = 2 * pos + 1;
+		}
+		heap[pos] = list;
+	}
+}
@@ -32,6 +32,57 @@ public interface Post extends Comparable<Post>, Iterable<User> {
 	 */
 	Instant getDate();
 
+	/**
+	 * Renvoie la date de création de ce Post sous la forme d'un nombre de
+	 * nanosecondes écoulées depuis Instant.EPOCH. Comparer les horodatages de deux
+	 * Post équivaut à comparer leurs dates, sans créer d'Instant.
+	 * 
+	 * @return l'horodatage de ce Post
+	 * 
+	 * @ensures \result == getDate().getEpochSecond() * 1_000_000_000L +
+	 *          getDate().getNano();
+	 * 
+	 * @pure
+	 */
+	default long getTimestamp() {
+		Instant date = getDate();
+		return date.getEpochSecond() * 1_000_000_000L + date.getNano();
+	}
+
+	/**
+	 * Renvoie un comparateur ordonnant les Post du plus ancien au plus récent,
+	 * selon leurs horodatages.
+	 * 
+	 * @return un comparateur ordonnant les Post par dates croissantes
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result == chronologicalOrder();
+	 * @ensures (\forall Post p1, p2; Integer.signum(\result.compare(p1, p2)) ==
+	 *          Integer.signum(p1.compareTo(p2)));
+	 * 
+	 * @pure
+	 */
+	static LongKeyComparator<Post> chronologicalOrder() {
+		return PostOrder.CHRONOLOGICAL;
+	}
+
+	/**
+	 * Renvoie un comparateur ordonnant les Post du plus récent au plus ancien,
+	 * selon leurs horodatages.
+	 * 
+	 * @return un comparateur ordonnant les Post par dates décroissantes
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result == reverseChronologicalOrder();
+	 * @ensures (\forall Post p1, p2; Integer.signum(\result.compare(p1, p2)) ==
+	 *          Integer.signum(p2.compareTo(p1)));
+	 * 
+	 * @pure
+	 */
+	static LongKeyComparator<Post> reverseChronologicalOrder() {
+		return PostOrder.REVERSE_CHRONOLOGICAL;
+	}
+
 	/**
 	 * Renvoie le texte de ce Post.
 	 * 
@@ -0,0 +1,189 @@
+/**
+ *
+ */
+package social.model;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Un curseur sur un tableau de Post triés par dates décroissantes (du plus
+ * récent au plus ancien), permettant de fusionner ces Post par un
+ * FusionSortedIterator avec les Post de User ou de PostCursor. Le tableau n'est
+ * pas copié et ne doit plus être modifié.
+ *
+ * Un PostArrayCursor interdit toute modification (i.e. add, remove, set).
+ *
+ * @invariant previousIndex() >= -1 && previousIndex() < size();
+ * @invariant nextIndex() >= 0 && nextIndex() <= size();
+ * @invariant nextIndex() == previousIndex() + 1;
+ * @invariant lastIndex() == -1 || lastIndex() == nextIndex() || lastIndex() ==
+ *            previousIndex();
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class PostArrayCursor implements PostListIterator {
+	private final Post[] posts;
+	private final int size;
+	private int nextIndex;
+	private int lastIndex;
+
+	/**
+	 * Initialise un curseur sur les size premiers Post du tableau spécifié,
+	 * positionné avant le premier d'entre eux.
+	 *
+	 * @param posts les Post énumérés, du plus récent au plus ancien
+	 * @param size  le nombre de Post énumérés
+	 *
+	 * @requires posts != null && size >= 0 && size <= posts.length;
+	 * @ensures nextIndex() == 0 && lastIndex() == -1;
+	 */
+	PostArrayCursor(Post[] posts, int size) {
+		this.posts = posts;
+		this.size = size;
+		startIteration();
+	}
+
+	int size() {
+		return size;
+	}
+
+	/*
+	 * Renvoie une vue non modifiable des Post énumérés par ce curseur, dans l'ordre
+	 * de l'itération.
+	 */
+	List<Post> asList() {
+		return Collections.unmodifiableList(Arrays.asList(posts).subList(0, size));
+	}
+
+	@Override
+	public void startIteration() {
+		nextIndex = 0;
+		lastIndex = -1;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return nextIndex < size;
+	}
+
+	@Override
+	public Post next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		lastIndex = nextIndex;
+		return posts[nextIndex++];
+	}
+
+	@Override
+	public Post getNext() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return posts[nextIndex];
+	}
+
+	@Override
+	public boolean hasPrevious() {
+		return nextIndex > 0;
+	}
+
+	@Override
+	public Post previous() {
+		if (!hasPrevious()) {
+			throw new NoSuchElementException();
+		}
+		nextIndex--;
+		lastIndex = nextIndex;
+		return posts[nextIndex];
+	}
+
+	@Override
+	public Post getPrevious() {
+		if (!hasPrevious()) {
+			throw new NoSuchElementException();
+		}
+		return posts[nextIndex - 1];
+	}
+
+	@Override
+	public int nextIndex() {
+		return nextIndex;
+	}
+
+	@Override
+	public int previousIndex() {
+		return nextIndex - 1;
+	}
+
+	@Override
+	public int lastIndex() {
+		return lastIndex;
+	}
+
+	/**
+	 * Positionne ce curseur avant le plus récent Post dont la date n'est pas
+	 * postérieure à la date spécifiée, par recherche dichotomique.
+	 *
+	 * @param date la date à laquelle positionner ce curseur
+	 *
+	 * @throws NullPointerException si la date spécifiée est null
+	 */
+	@Override
+	public void seekTo(Instant date) {
+		if (date == null) {
+			throw new NullPointerException();
+		}
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (posts[mid].getDate().isAfter(date)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		if (low == 0) {
+			startIteration();
+		} else {
+			nextIndex = low;
+			lastIndex = low < size ? low : low - 1;
+		}
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void set(Post e) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void add(Post e) {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,34 @@
+/**
+ *
+ */
+package social.model;
+
+/**
+ * Source des dates de création des Post. Une PostClock renvoie des horodatages
+ * strictement croissants: deux Post créés successivement avec la même horloge
+ * ont donc des dates distinctes, dans l'ordre de leur création, et le second
+ * peut toujours être ajouté après le premier aux posts d'un User.
+ *
+ * Un horodatage est un nombre de nanosecondes écoulées depuis le 1er janvier
+ * 1970 à 00:00:00 UTC (cf. Instant.EPOCH).
+ *
+ * Pour rester strictement croissants, les horodatages peuvent devancer l'heure
+ * du système (cf. HybridPostClock): la date d'un Post n'est pas toujours
+ * antérieure ou égale à Instant.now().
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@FunctionalInterface
+public interface PostClock {
+
+	/**
+	 * Renvoie un nouvel horodatage, strictement supérieur à tous ceux renvoyés
+	 * précédemment par cette horloge, y compris par d'autres threads.
+	 *
+	 * @return un nouvel horodatage, en nanosecondes depuis Instant.EPOCH
+	 *
+	 * @ensures \result > \old(nextTimestamp());
+	 */
+	long nextTimestamp();
+}
@@ -0,0 +1,349 @@
+/**
+ *
+ */
+package social.model;
+
+import java.time.Instant;
+import java.util.NoSuchElementException;
+
+/**
+ * Un curseur permettant d'itérer sur les Post d'un User, du plus récent au plus
+ * ancien, indépendamment de tout autre curseur sur le même User. Un curseur
+ * s'obtient à l'aide de la méthode User.cursor() et ne mémorise que sa propre
+ * position: plusieurs lecteurs (par exemple plusieurs NewsFeed) peuvent donc
+ * parcourir simultanément les Post d'un même User sans interférer.
+ *
+ * La position d'un curseur est mémorisée par rapport au plus ancien Post de
+ * l'User, de sorte que l'ajout d'un nouveau Post (en tête de liste) ne déplace
+ * pas le curseur par rapport aux Post déjà énumérés: conformément à la
+ * spécification de User.addPost(Post), les index observés sont alors décalés
+ * de un si l'itération a commencé, et inchangés sinon.
+ *
+ * Un curseur interdit toute modification (i.e. add, remove, set).
+ *
+ * @invariant getUser() != null;
+ * @invariant previousIndex() >= -1 && previousIndex() < getUser().getPostNb();
+ * @invariant nextIndex() >= 0 && nextIndex() <= getUser().getPostNb();
+ * @invariant lastIndex() >= -1 && lastIndex() < getUser().getPostNb();
+ * @invariant !hasPrevious() <==> previousIndex() == -1;
+ * @invariant !hasNext() <==> nextIndex() == getUser().getPostNb();
+ * @invariant nextIndex() == previousIndex() + 1;
+ * @invariant lastIndex() == nextIndex() || lastIndex() == previousIndex();
+ *
+ * @invariant ListIterObserver<Post> \model = new
+ *            ListIterObserverAdapter<Post>(this);
+ * @invariant \model.toList().equals(getUser().getPosts());
+ * @invariant \model.isSorted(Comparator.reverseOrder());
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public class PostCursor implements PostListIterator {
+
+	private final User user;
+	// Rang, compté à partir du plus ancien Post de l'User, du Post suivant
+	// (-1 si l'itération est arrivée à la fin); non significatif tant que
+	// l'itération n'a pas commencé.
+	private int nextRank;
+	private boolean started, lastWasNext;
+
+	/**
+	 * Initialise un curseur sur les Post de l'User spécifié, positionné avant le
+	 * plus récent de ses Post.
+	 *
+	 * @param user l'User dont les Post sont énumérés
+	 *
+	 * @requires user != null;
+	 * @ensures getUser() == user;
+	 * @ensures !hasPrevious();
+	 * @ensures lastIndex() == -1;
+	 */
+	PostCursor(User user) {
+		this.user = user;
+		startIteration();
+	}
+
+	/**
+	 * Renvoie l'User dont ce curseur énumère les Post.
+	 *
+	 * @return l'User dont ce curseur énumère les Post
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	public User getUser() {
+		return this.user;
+	}
+
+	/**
+	 * Initialise ce curseur pour le démarrage d'une nouvelle itération à partir du
+	 * Post le plus récent de l'User.
+	 *
+	 * @ensures !hasPrevious();
+	 * @ensures previousIndex() == -1;
+	 * @ensures nextIndex() == 0;
+	 * @ensures lastIndex() == -1;
+	 */
+	@Override
+	public void startIteration() {
+		started = false;
+		lastWasNext = false;
+		nextRank = -1;
+	}
+
+	/*
+	 * Fixe la position du curseur au premier déplacement: tant que l'itération n'a
+	 * pas commencé, le curseur reste positionné avant le plus récent Post.
+	 */
+	private void start() {
+		if (!started) {
+			started = true;
+			nextRank = user.getPostNb() - 1;
+		}
+	}
+
+	/**
+	 * Renvoie true s'il reste un Post plus ancien dans l'itération en cours.
+	 *
+	 * @return true s'il reste un Post plus ancien dans l'itération en cours
+	 *
+	 * @ensures \result <==> nextIndex() < getUser().getPostNb();
+	 *
+	 * @pure
+	 */
+	@Override
+	public boolean hasNext() {
+		if (!started) {
+			return user.getPostNb() > 0;
+		}
+		return nextRank >= 0;
+	}
+
+	/**
+	 * Renvoie le Post suivant (plus ancien) dans l'itération en cours et avance
+	 * d'un élément dans l'itération.
+	 *
+	 * @return le Post suivant (plus ancien) dans l'itération en cours
+	 *
+	 * @throws NoSuchElementException si hasNext() est false
+	 *
+	 * @requires hasNext();
+	 * @ensures \result.equals(\old(getNext()));
+	 * @ensures nextIndex() == \old(nextIndex()) + 1;
+	 * @ensures previousIndex() == \old(nextIndex());
+	 * @ensures lastIndex() == previousIndex();
+	 */
+	@Override
+	public Post next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		start();
+		Post p = user.getPostByRank(nextRank);
+		nextRank--;
+		lastWasNext = true;
+		return p;
+	}
+
+	/**
+	 * Renvoie le Post suivant (plus ancien) dans l'itération en cours sans
+	 * modifier l'état de ce curseur.
+	 *
+	 * @return le Post suivant (plus ancien) dans l'itération en cours
+	 *
+	 * @throws NoSuchElementException si hasNext() est false
+	 *
+	 * @requires hasNext();
+	 * @ensures \result != null;
+	 * @ensures \result.equals(getUser().getPost(nextIndex()));
+	 *
+	 * @pure
+	 */
+	@Override
+	public Post getNext() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		if (!started) {
+			return user.getPost(0);
+		}
+		return user.getPostByRank(nextRank);
+	}
+
+	/**
+	 * Renvoie true s'il existe un Post plus récent dans l'itération en cours.
+	 *
+	 * @return true s'il existe un Post plus récent dans l'itération en cours
+	 *
+	 * @ensures \result <==> previousIndex() >= 0;
+	 *
+	 * @pure
+	 */
+	@Override
+	public boolean hasPrevious() {
+		return started && nextRank + 1 < user.getPostNb();
+	}
+
+	/**
+	 * Renvoie le Post précédent (plus récent) dans l'itération en cours et recule
+	 * d'un élément dans l'itération.
+	 *
+	 * @return le Post précédent (plus récent) dans l'itération en cours
+	 *
+	 * @throws NoSuchElementException si hasPrevious() est false
+	 *
+	 * @requires hasPrevious();
+	 * @ensures \result.equals(\old(getPrevious()));
+	 * @ensures nextIndex() == \old(previousIndex());
+	 * @ensures previousIndex() == \old(previousIndex()) - 1;
+	 * @ensures lastIndex() == nextIndex();
+	 */
+	@Override
+	public Post previous() {
+		if (!hasPrevious()) {
+			throw new NoSuchElementException();
+		}
+		nextRank++;
+		lastWasNext = false;
+		return user.getPostByRank(nextRank);
+	}
+
+	/**
+	 * Renvoie le Post précédent (plus récent) dans l'itération en cours sans
+	 * modifier l'état de ce curseur.
+	 *
+	 * @return le Post précédent (plus récent) dans l'itération en cours
+	 *
+	 * @throws NoSuchElementException si hasPrevious() est false
+	 *
+	 * @requires hasPrevious();
+	 * @ensures \result != null;
+	 * @ensures \result.equals(getUser().getPost(previousIndex()));
+	 *
+	 * @pure
+	 */
+	@Override
+	public Post getPrevious() {
+		if (!hasPrevious()) {
+			throw new NoSuchElementException();
+		}
+		return user.getPostByRank(nextRank + 1);
+	}
+
+	/**
+	 * Renvoie l'index du Post qui sera renvoyé par le prochain appel à next(), ou
+	 * getUser().getPostNb() si l'itération est arrivée à la fin.
+	 *
+	 * @return l'index du Post qui sera renvoyé par le prochain appel à next()
+	 *
+	 * @ensures \result == getUser().getPostNb() <==> !hasNext();
+	 *
+	 * @pure
+	 */
+	@Override
+	public int nextIndex() {
+		if (!started) {
+			return 0;
+		}
+		return user.getPostNb() - 1 - nextRank;
+	}
+
+	/**
+	 * Renvoie l'index du Post qui sera renvoyé par le prochain appel à
+	 * previous(), ou -1 si l'itération est arrivée au début.
+	 *
+	 * @return l'index du Post qui sera renvoyé par le prochain appel à previous()
+	 *
+	 * @ensures \result == -1 <==> !hasPrevious();
+	 *
+	 * @pure
+	 */
+	@Override
+	public int previousIndex() {
+		return nextIndex() - 1;
+	}
+
+	/**
+	 * Renvoie l'index du Post renvoyé par le dernier appel à next() ou previous(),
+	 * ou -1 si aucun de ces appels n'a été effectué depuis le dernier appel à
+	 * startIteration().
+	 *
+	 * @return l'index du Post renvoyé par le dernier appel à next() ou previous()
+	 *
+	 * @ensures \result == nextIndex() || \result == previousIndex();
+	 *
+	 * @pure
+	 */
+	@Override
+	public int lastIndex() {
+		if (!started) {
+			return -1;
+		}
+		return lastWasNext ? previousIndex() : nextIndex();
+	}
+
+	/**
+	 * Positionne ce curseur avant le plus récent Post de l'User dont la date n'est
+	 * pas postérieure à la date spécifiée, par recherche dichotomique en O(log
+	 * getUser().getPostNb()): les Post précédents sont alors exactement les Post
+	 * postérieurs à cette date.
+	 *
+	 * @param date la date à laquelle positionner ce curseur
+	 *
+	 * @throws NullPointerException si la date spécifiée est null
+	 *
+	 * @requires date != null;
+	 * @ensures (\forall int i; i >= 0 && i < nextIndex();
+	 *          getUser().getPost(i).getDate().isAfter(date));
+	 * @ensures hasNext() ==> !getNext().getDate().isAfter(date);
+	 * @ensures nextIndex() == 0 ==> lastIndex() == -1;
+	 * @ensures nextIndex() > 0 && hasNext() ==> lastIndex() == nextIndex();
+	 * @ensures nextIndex() > 0 && !hasNext() ==> lastIndex() == previousIndex();
+	 */
+	@Override
+	public void seekTo(Instant date) {
+		if (date == null) {
+			throw new NullPointerException();
+		}
+		int rank = user.getRankAfter(date);
+		if (rank == user.getPostNb()) {
+			startIteration();
+			return;
+		}
+		started = true;
+		nextRank = rank - 1;
+		lastWasNext = nextRank < 0;
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void set(Post e) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void add(Post e) {
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -0,0 +1,41 @@
+/**
+ *
+ */
+package social.model;
+
+import java.time.Instant;
+
+/**
+ * Un ExtendedListIterator énumérant des Post du plus récent au plus ancien, et
+ * pouvant être positionné directement à une date donnée.
+ *
+ * @invariant (\forall int i; i > 0 && i < iterModel.size();
+ *            !iterModel.get(i).isAfter(iterModel.get(i - 1)));
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public interface PostListIterator extends ExtendedListIterator<Post> {
+
+	/**
+	 * Positionne cet itérateur avant le plus récent Post dont la date n'est pas
+	 * postérieure à la date spécifiée: les Post précédents sont alors exactement
+	 * ceux dont la date est postérieure à la date spécifiée. Si aucun Post ne
+	 * précède la nouvelle position, l'itération est réinitialisée comme par
+	 * startIteration(); sinon lastIndex() désigne le Post suivant, ou le Post
+	 * précédent s'il n'y a pas de Post suivant.
+	 *
+	 * @param date la date à laquelle positionner cet itérateur
+	 *
+	 * @throws NullPointerException si la date spécifiée est null
+	 *
+	 * @requires date != null;
+	 * @ensures (\forall int i; i >= 0 && i < previousIndex();
+	 *          iterModel.get(i).getDate().isAfter(date));
+	 * @ensures hasNext() ==> !getNext().getDate().isAfter(date);
+	 * @ensures nextIndex() == 0 ==> lastIndex() == -1;
+	 * @ensures nextIndex() > 0 && hasNext() ==> lastIndex() == nextIndex();
+	 * @ensures nextIndex() > 0 && !hasNext() ==> lastIndex() == previousIndex();
+	 */
+	void seekTo(Instant date);
+}
@@ -0,0 +1,30 @@
+/**
+ *
+ */
+package social.model;
+
+/**
+ * Observateur des publications d'un User: un PostListener enregistré auprès
+ * d'un User par User.addPostListener est notifié de chaque Post ajouté ensuite
+ * aux posts de ce User par User.addPost.
+ *
+ * La notification est effectuée par le thread ayant appelé User.addPost, après
+ * l'ajout du Post: elle doit être brève et ne pas lever d'exception.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+@FunctionalInterface
+public interface PostListener {
+
+	/**
+	 * Notifie l'ajout du Post spécifié aux posts de l'User spécifié.
+	 *
+	 * @param author l'User ayant publié le Post
+	 * @param p      le Post ajouté
+	 *
+	 * @requires author != null && p != null;
+	 * @requires author.getPost(0) == p || author.getPosts().contains(p);
+	 */
+	void postAdded(User author, Post p);
+}
@@ -0,0 +1,326 @@
+/**
+ *
+ */
+package social.model;
+
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Journal des Post d'un User, dans lequel les Post sont uniquement ajoutés, le
+ * plus récent en dernier. Vu comme une List, un PostLog énumère ses Post du
+ * plus récent au plus ancien (get(0) est le Post le plus récent) et interdit
+ * toute modification par les méthodes de l'interface List: comme une vue
+ * Collections.unmodifiableList, ces méthodes lèvent
+ * UnsupportedOperationException même lorsqu'elles ne modifieraient rien.
+ *
+ * Les Post sont rangés dans des tableaux (les "blocs") dont la taille double
+ * d'un bloc au suivant: un ajout ne recopie jamais les Post déjà présents et
+ * coûte O(1), l'accès à un Post par son index coûte également O(1) et la place
+ * perdue ne dépasse pas la moitié de la place utilisée.
+ *
+ * Un seul thread peut ajouter des Post à un PostLog; les Post ajoutés sont
+ * visibles des autres threads dès que size() les prend en compte.
+ *
+ * @invariant size() >= 0;
+ * @invariant !contains(null);
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class PostLog extends AbstractList<Post> implements RandomAccess {
+	private static final int FIRST_CHUNK_BITS = 3;
+	private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+
+	private Post[][] chunks;
+	private volatile int size;
+
+	/**
+	 * Initialise un journal vide.
+	 *
+	 * @ensures isEmpty();
+	 */
+	PostLog() {
+		this.chunks = new Post[1][];
+	}
+
+	/**
+	 * Ajoute le Post spécifié à ce journal; ce Post devient le plus récent (i.e.
+	 * l'élément d'index 0).
+	 *
+	 * @param p le Post à ajouter
+	 *
+	 * @requires p != null;
+	 * @ensures get(0) == p;
+	 * @ensures size() == \old(size()) + 1;
+	 */
+	void append(Post p) {
+		int rank = size;
+		int x = rank + FIRST_CHUNK_SIZE;
+		int chunk = chunkOf(x);
+		if (chunk == chunks.length) {
+			Post[][] newChunks = new Post[chunks.length * 2][];
+			System.arraycopy(chunks, 0, newChunks, 0, chunks.length);
+			chunks = newChunks;
+		}
+		if (chunks[chunk] == null) {
+			chunks[chunk] = new Post[FIRST_CHUNK_SIZE << chunk];
+		}
+		chunks[chunk][x - (FIRST_CHUNK_SIZE << chunk)] = p;
+		size = rank + 1;
+	}
+
+	/**
+	 * Renvoie le Post de rang spécifié, les rangs étant comptés à partir du plus
+	 * ancien Post (de rang 0). Le rang d'un Post ne change pas lors de l'ajout de
+	 * nouveaux Post.
+	 *
+	 * @param rank le rang du Post cherché
+	 *
+	 * @return le Post de rang spécifié
+	 *
+	 * @requires rank >= 0 && rank < size();
+	 * @ensures \result == get(size() - 1 - rank);
+	 *
+	 * @pure
+	 */
+	Post getByRank(int rank) {
+		int x = rank + FIRST_CHUNK_SIZE;
+		int chunk = chunkOf(x);
+		return chunks[chunk][x - (FIRST_CHUNK_SIZE << chunk)];
+	}
+
+	/**
+	 * Renvoie le rang du plus ancien Post de ce journal dont la date est
+	 * postérieure à la date spécifiée, ou size() si aucun Post n'est postérieur à
+	 * cette date. Les Post étant ajoutés par dates croissantes, ce rang est obtenu
+	 * par recherche dichotomique en O(log size()).
+	 *
+	 * @param date la date cherchée
+	 *
+	 * @return le rang du plus ancien Post postérieur à la date spécifiée
+	 *
+	 * @requires date != null;
+	 * @ensures \result >= 0 && \result <= size();
+	 * @ensures (\forall int r; r >= 0 && r < \result;
+	 *          !getByRank(r).getDate().isAfter(date));
+	 * @ensures (\forall int r; r >= \result && r < size();
+	 *          getByRank(r).getDate().isAfter(date));
+	 *
+	 * @pure
+	 */
+	int rankAfter(Instant date) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getByRank(mid).getDate().isAfter(date)) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	private static int chunkOf(int x) {
+		return 31 - Integer.numberOfLeadingZeros(x) - FIRST_CHUNK_BITS;
+	}
+
+	/**
+	 * Renvoie le ième plus récent Post de ce journal.
+	 *
+	 * @param i index du Post cherché
+	 *
+	 * @return le ième plus récent Post de ce journal
+	 *
+	 * @throws IndexOutOfBoundsException si l'index spécifié est < 0 ou >= size()
+	 *
+	 * @pure
+	 */
+	@Override
+	public Post get(int i) {
+		int n = size;
+		if (i < 0 || i >= n) {
+			throw new IndexOutOfBoundsException();
+		}
+		return getByRank(n - 1 - i);
+	}
+
+	/**
+	 * Renvoie le nombre de Post de ce journal.
+	 *
+	 * @return le nombre de Post de ce journal
+	 *
+	 * @pure
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Renvoie une vue non modifiable des Post actuels de ce journal, du plus
+	 * récent au plus ancien, que les ajouts ultérieurs ne modifient pas: ses index
+	 * restent ceux de ce journal au moment de l'appel.
+	 *
+	 * @return une vue figée des Post de ce journal
+	 *
+	 * @ensures \result.equals(this);
+	 *
+	 * @pure
+	 */
+	List<Post> snapshot() {
+		return new Snapshot(size);
+	}
+
+	/**
+	 * Renvoie un Spliterator sur les Post actuels de ce journal, du plus récent au
+	 * plus ancien, dont trySplit() partage les Post restants en deux moitiés en
+	 * O(1). Les Post ajoutés après l'appel ne sont pas énumérés.
+	 *
+	 * @return un Spliterator sur les Post de ce journal
+	 *
+	 * @ensures \result.estimateSize() == size();
+	 * @ensures \result.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED
+	 *          | Spliterator.SIZED | Spliterator.SUBSIZED);
+	 *
+	 * @pure
+	 */
+	@Override
+	public Spliterator<Post> spliterator() {
+		return MergeSpliterator.of(snapshot(), Post.reverseChronologicalOrder());
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public boolean addAll(Collection<? extends Post> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public boolean addAll(int i, Collection<? extends Post> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée: une sous-liste d'AbstractList permettrait de
+	 * modifier ce journal par ses propres méthodes (subList(0, 0).clear()).
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public List<Post> subList(int from, int to) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super Post> filter) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void replaceAll(UnaryOperator<Post> operator) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Opération non supportée.
+	 *
+	 * @throws UnsupportedOperationException toujours
+	 */
+	@Override
+	public void sort(Comparator<? super Post> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Vue des n plus anciens Post du journal, le plus récent en tête.
+	 */
+	private final class Snapshot extends AbstractList<Post> implements RandomAccess {
+		private final int n;
+
+		Snapshot(int n) {
+			this.n = n;
+		}
+
+		@Override
+		public Post get(int i) {
+			if (i < 0 || i >= n) {
+				throw new IndexOutOfBoundsException();
+			}
+			return getByRank(n - 1 - i);
+		}
+
+		@Override
+		public int size() {
+			return n;
+		}
+	}
+}
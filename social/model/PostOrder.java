@@ -0,0 +1,20 @@
+/**
+ *
+ */
+package social.model;
+
+/**
+ * Instances uniques des comparateurs renvoyés par Post.chronologicalOrder() et
+ * Post.reverseChronologicalOrder(), ce qui permet à FusionSortedIterator de
+ * reconnaître un ordre par dates.
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class PostOrder {
+	static final LongKeyComparator<Post> CHRONOLOGICAL = Post::getTimestamp;
+	static final LongKeyComparator<Post> REVERSE_CHRONOLOGICAL = p -> ~p.getTimestamp();
+
+	private PostOrder() {
+	}
+}
@@ -4,9 +4,15 @@ public class RePost extends SimplePost {
 
     private User subPostAuthor;
     private Post subPost;
+    // Texte complet de ce RePost, calculé lors du premier appel à getText()
+    private String renderedText;
 
     public RePost(String text, User subPostAuthor, Post subPost) {
-        super(text);
+        this(text, subPostAuthor, subPost, getClock());
+    }
+
+    public RePost(String text, User subPostAuthor, Post subPost, PostClock clock) {
+        super(text, clock);
         if (subPostAuthor == null || subPost == null) {
             throw new NullPointerException();
         }
@@ -14,8 +20,69 @@ public class RePost extends SimplePost {
         this.subPost = subPost;
     }
 
+    public Post getSubPost() {
+        return this.subPost;
+    }
+
+    public User getSubPostAuthor() {
+        return this.subPostAuthor;
+    }
+
+    /**
+     * Renvoie le Post à l'origine de la chaîne de RePost dont ce RePost est le
+     * dernier maillon, i.e. le premier Post de la chaîne qui n'est pas un RePost.
+     * La chaîne est parcourue sans récursion, en O(longueur de la chaîne).
+     * 
+     * @return le Post republié à l'origine de ce RePost
+     * 
+     * @ensures \result != null && !(\result instanceof RePost);
+     * @ensures !(getSubPost() instanceof RePost) ==> \result == getSubPost();
+     * @ensures getSubPost() instanceof RePost ==>
+     *          \result == ((RePost) getSubPost()).getOriginalPost();
+     * 
+     * @pure
+     */
+    public Post getOriginalPost() {
+        Post p = this.subPost;
+        while (p instanceof RePost) {
+            p = ((RePost) p).subPost;
+        }
+        return p;
+    }
+
     @Override
     public String getText() {
-        return super.getText() + " (repost de " + this.subPostAuthor.getName() + " : " + this.subPost.getText() + ")";
+        String text = this.renderedText;
+        if (text == null) {
+            text = render();
+            this.renderedText = text;
+        }
+        return text;
+    }
+
+    /*
+     * Construit le texte de ce RePost en une seule passe sur la chaîne des Post
+     * republiés, sans récursion et sans recopier les textes intermédiaires. Le
+     * parcours s'arrête au premier RePost dont le texte a déjà été calculé.
+     */
+    private String render() {
+        StringBuilder sb = new StringBuilder();
+        int depth = 0;
+        Post p = this;
+        while (p instanceof RePost && (p == this || ((RePost) p).renderedText == null)) {
+            RePost r = (RePost) p;
+            sb.append(r.ownText()).append(" (repost de ").append(r.subPostAuthor.getName()).append(" : ");
+            depth++;
+            p = r.subPost;
+        }
+        sb.append(p.getText());
+        for (int i = 0; i < depth; i++) {
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    String ownText() {
+        return super.getText();
     }
 }
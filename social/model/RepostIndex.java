@@ -0,0 +1,122 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index inverse des RePost: associe à chaque Post la liste des User ayant
+ * publié (par User.addPost) un RePost de ce Post, dans l'ordre de publication.
+ * L'index est mis à jour à chaque publication d'un RePost; le nombre de RePost
+ * d'un Post s'obtient alors en O(1), et les User ayant republié un Post
+ * s'énumèrent sans parcourir les Post de tous les User.
+ *
+ * Cet index peut être modifié et consulté simultanément par plusieurs threads.
+ *
+ * @invariant (\forall Post p; repostNb(p) >= 0);
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class RepostIndex {
+	private final ConcurrentHashMap<Post, Reposters> repostersByPost;
+
+	/**
+	 * Initialise un index vide.
+	 */
+	RepostIndex() {
+		this.repostersByPost = new ConcurrentHashMap<Post, Reposters>();
+	}
+
+	/**
+	 * Enregistre la publication par l'User spécifié du RePost spécifié.
+	 *
+	 * @param reposter l'User ayant publié le RePost
+	 * @param r        le RePost publié
+	 *
+	 * @requires reposter != null && r != null;
+	 * @ensures repostNb(r.getSubPost()) == \old(repostNb(r.getSubPost())) + 1;
+	 */
+	void record(User reposter, RePost r) {
+		repostersByPost.computeIfAbsent(r.getSubPost(), p -> new Reposters()).add(reposter);
+	}
+
+	/**
+	 * Renvoie le nombre de RePost du Post spécifié publiés jusqu'à présent.
+	 *
+	 * @param p le Post republié
+	 *
+	 * @return le nombre de RePost du Post spécifié
+	 *
+	 * @ensures \result >= 0;
+	 *
+	 * @pure
+	 */
+	int repostNb(Post p) {
+		Reposters r = p == null ? null : repostersByPost.get(p);
+		return r == null ? 0 : r.size;
+	}
+
+	/**
+	 * Renvoie un itérateur non modifiable sur les User ayant publié un RePost du
+	 * Post spécifié, dans l'ordre de publication des RePost. Un User ayant publié
+	 * plusieurs RePost du même Post est énuméré une fois par RePost. L'itérateur
+	 * énumère les RePost publiés avant sa création.
+	 *
+	 * @param p le Post republié
+	 *
+	 * @return un itérateur sur les User ayant publié un RePost du Post spécifié
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	Iterator<User> reposters(Post p) {
+		Reposters r = p == null ? null : repostersByPost.get(p);
+		return r == null ? Collections.emptyIterator() : r.iterator();
+	}
+
+	/*
+	 * Liste, dans laquelle les User sont uniquement ajoutés, des User ayant publié
+	 * un RePost d'un même Post.
+	 */
+	private static final class Reposters {
+		private User[] users = new User[2];
+		private volatile int size;
+
+		synchronized void add(User u) {
+			if (size == users.length) {
+				users = Arrays.copyOf(users, size * 2);
+			}
+			users[size] = u;
+			size++;
+		}
+
+		Iterator<User> iterator() {
+			// Lire size avant users garantit users.length >= n
+			int n = size;
+			User[] elements = users;
+			return new Iterator<User>() {
+				private int i = 0;
+
+				@Override
+				public boolean hasNext() {
+					return i < n;
+				}
+
+				@Override
+				public User next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return elements[i++];
+				}
+			};
+		}
+	}
+}
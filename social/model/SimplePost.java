@@ -1,30 +1,57 @@
 package social.model;
 
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.AbstractSet;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.Set;
 
 public class SimplePost implements Post {
 
+    private static volatile PostClock clock = new HybridPostClock();
+
     private String text;
-    private Instant date;
-    private Set<User> likers;
+    // Date de création, en nanosecondes depuis Instant.EPOCH (cf. PostClock)
+    private long timestamp;
+    // Likers de ce Post, qui peuvent être ajoutés simultanément par plusieurs
+    // threads; null tant que ce Post n'a reçu aucun like
+    private volatile LikerSet likers;
 
     public SimplePost(String text) {
-        if (text == null) {
+        this(text, clock);
+    }
+
+    public SimplePost(String text, PostClock clock) {
+        if (text == null || clock == null) {
             throw new NullPointerException();
         }
         this.text = text;
-        this.date = Instant.now();
-        this.likers = new HashSet<User>();
+        this.timestamp = clock.nextTimestamp();
+    }
+
+    // Horloge utilisée par le constructeur SimplePost(String), et donc par
+    // RePost; par défaut, une HybridPostClock sur l'heure du système
+    public static PostClock getClock() {
+        return clock;
+    }
+
+    public static void setClock(PostClock c) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        clock = c;
     }
 
     @Override
     public Instant getDate() {
-        return this.date;
+        return Instant.ofEpochSecond(Math.floorDiv(this.timestamp, 1_000_000_000L),
+                Math.floorMod(this.timestamp, 1_000_000_000L));
+    }
+
+    @Override
+    public long getTimestamp() {
+        return this.timestamp;
     }
 
     @Override
@@ -34,12 +61,14 @@ public class SimplePost implements Post {
 
     @Override
     public int getLikeNumber() {
-        return this.likers.size();
+        LikerSet l = this.likers;
+        return l == null ? 0 : l.size();
     }
 
     @Override
     public boolean hasLikeFrom(User u) {
-        return this.likers.contains(u);
+        LikerSet l = this.likers;
+        return u != null && l != null && l.contains(u.graphId());
     }
 
     @Override
@@ -47,17 +76,109 @@ public class SimplePost implements Post {
         if (u == null) {
             throw new NullPointerException();
         }
-        return this.likers.add(u);
+        LikerSet l = this.likers;
+        if (l == null) {
+            synchronized (this) {
+                l = this.likers;
+                if (l == null) {
+                    l = new LikerSet();
+                    this.likers = l;
+                }
+            }
+        }
+        if (!l.add(u.graphId())) {
+            return false;
+        }
+        EngagementIndex index = User.getEngagementIndex();
+        if (index != null) {
+            index.liked(this);
+        }
+        return true;
     }
 
     @Override
     public Set<User> getLikers() {
-        return Collections.unmodifiableSet(this.likers);
+        return Collections.unmodifiableSet(new LikersView());
     }
 
     @Override
     public ListIterator<User> iterator() {
-        return Collections.unmodifiableList(new ArrayList<User>(this.likers)).listIterator();
+        LikerSet l = this.likers;
+        if (l == null) {
+            return Collections.emptyListIterator();
+        }
+        return new LikersIterator(l.cursor());
+    }
+
+    // Itérateur non modifiable parcourant directement l'ensemble des likers
+    private static final class LikersIterator implements ListIterator<User> {
+        private final LikerSet.Cursor cursor;
+
+        private LikersIterator(LikerSet.Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor.hasNext();
+        }
+
+        @Override
+        public User next() {
+            return User.getUserById(cursor.next());
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor.hasPrevious();
+        }
+
+        @Override
+        public User previous() {
+            return User.getUserById(cursor.previous());
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor.nextIndex();
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor.nextIndex() - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(User u) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(User u) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final class LikersView extends AbstractSet<User> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof User && hasLikeFrom((User) o);
+        }
+
+        @Override
+        public int size() {
+            return getLikeNumber();
+        }
+
+        @Override
+        public Iterator<User> iterator() {
+            return SimplePost.this.iterator();
+        }
     }
 
     @Override
@@ -65,7 +186,18 @@ public class SimplePost implements Post {
         if (p == null) {
             throw new NullPointerException();
         }
-        return this.date.compareTo(p.getDate());
+        if (p instanceof SimplePost) {
+            // Même résultat que getDate().compareTo(p.getDate()), sans créer
+            // d'Instant
+            long other = ((SimplePost) p).timestamp;
+            int cmp = Long.compare(Math.floorDiv(this.timestamp, 1_000_000_000L),
+                    Math.floorDiv(other, 1_000_000_000L));
+            if (cmp != 0) {
+                return cmp;
+            }
+            return (int) (Math.floorMod(this.timestamp, 1_000_000_000L) - Math.floorMod(other, 1_000_000_000L));
+        }
+        return getDate().compareTo(p.getDate());
     }
 
     @Override
@@ -73,7 +205,10 @@ public class SimplePost implements Post {
         if (p == null) {
             throw new NullPointerException();
         }
-        return this.date.isAfter(p.getDate());
+        if (p instanceof SimplePost) {
+            return this.timestamp > ((SimplePost) p).timestamp;
+        }
+        return getDate().isAfter(p.getDate());
     }
 
     @Override
@@ -81,6 +216,9 @@ public class SimplePost implements Post {
         if (p == null) {
             throw new NullPointerException();
         }
-        return this.date.isBefore(p.getDate());
+        if (p instanceof SimplePost) {
+            return this.timestamp < ((SimplePost) p).timestamp;
+        }
+        return getDate().isBefore(p.getDate());
     }
 }
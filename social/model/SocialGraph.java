@@ -0,0 +1,361 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Graphe des abonnements entre User: pour chaque User, l'ensemble des User
+ * auxquels il est abonné et l'ensemble de ses followers.
+ *
+ * Ce graphe peut être modifié et consulté simultanément par plusieurs threads.
+ * Chaque User est protégé par un verrou choisi parmi un nombre fixe
+ * de verrous (verrous "striés"). Un abonnement (ou désabonnement) modifie les
+ * deux User concernés sous leurs deux verrous, acquis dans un ordre fixe:
+ * les deux directions de l'arc sont donc mises à jour de manière atomique, sans
+ * risque d'interblocage, et les modifications portant sur des sommets
+ * différents ne se bloquent pas mutuellement.
+ *
+ * Chaque User reçoit un identifiant entier, attribué de manière dense (0, 1,
+ * 2, ...) lors de son ajout au graphe. Les abonnements et les followers d'un
+ * User sont mémorisés (par l'User lui-même) sous la forme d'ensembles de ces
+ * identifiants (IntHashSet) plutôt que d'ensembles de User, ce qui réduit
+ * l'espace occupé par un abonnement à quelques octets.
+ *
+ * @invariant (\forall User a, b; hasSubscription(a, b) <==> hasFollower(b,
+ *            a));
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class SocialGraph {
+	private static final int STRIPES = stripeCount();
+
+	private final Object[] locks;
+	// Table des User indexée par leur identifiant
+	private volatile User[] users;
+	private int userNb;
+	// Identifiants rendus par release, attribués en priorité par newId
+	private int[] freeIds;
+	private int freeNb;
+
+	/**
+	 * Initialise un graphe vide.
+	 */
+	SocialGraph() {
+		this.locks = new Object[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i] = new Object();
+		}
+		this.users = new User[16];
+		this.freeIds = new int[4];
+	}
+
+	private static int stripeCount() {
+		int n = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 16);
+		return Math.min(Math.max(n, 16), 1024);
+	}
+
+	/**
+	 * Attribue un identifiant à l'User spécifié, qui est ajouté à ce graphe sans
+	 * abonnement ni follower. L'identifiant attribué est un identifiant rendu par
+	 * release s'il y en a un, et sinon le plus petit entier positif ou nul non
+	 * encore attribué.
+	 *
+	 * @param user l'User à ajouter à ce graphe
+	 *
+	 * @return l'identifiant attribué à l'User spécifié
+	 *
+	 * @requires user != null;
+	 * @ensures \result >= 0;
+	 */
+	synchronized int newId(User user) {
+		if (freeNb > 0) {
+			int id = freeIds[--freeNb];
+			User[] table = users;
+			table[id] = user;
+			users = table;
+			return id;
+		}
+		User[] table = users;
+		if (userNb == table.length) {
+			table = Arrays.copyOf(table, table.length * 2);
+		}
+		table[userNb] = user;
+		users = table;
+		return userNb++;
+	}
+
+	/**
+	 * Retire de ce graphe l'User spécifié, dont la construction a échoué après
+	 * l'attribution de son identifiant: l'identifiant est rendu pour être attribué
+	 * à un autre User. L'User retiré ne doit avoir ni abonnement ni follower.
+	 *
+	 * @param id   l'identifiant à rendre
+	 * @param user l'User auquel cet identifiant a été attribué
+	 *
+	 * @requires user != null && id == user.graphId();
+	 * @requires userOf(id) == user;
+	 */
+	synchronized void release(int id, User user) {
+		User[] table = users;
+		if (table[id] != user) {
+			return;
+		}
+		table[id] = null;
+		users = table;
+		if (freeNb == freeIds.length) {
+			freeIds = Arrays.copyOf(freeIds, freeNb * 2);
+		}
+		freeIds[freeNb++] = id;
+	}
+
+	private Object lock(User u) {
+		return locks[u.graphId() & (STRIPES - 1)];
+	}
+
+	/**
+	 * Renvoie l'User auquel l'identifiant spécifié a été attribué.
+	 *
+	 * @param id l'identifiant de l'User cherché
+	 *
+	 * @return l'User auquel l'identifiant spécifié a été attribué
+	 *
+	 * @requires id >= 0 && id a été attribué par newId;
+	 * @ensures \result.graphId() == id;
+	 *
+	 * @pure
+	 */
+	User userOf(int id) {
+		return users[id];
+	}
+
+	/**
+	 * Ajoute un arc de follower vers followee: followee est ajouté aux abonnements
+	 * de follower, et follower aux followers de followee. Les deux ajouts sont
+	 * effectués de manière atomique.
+	 *
+	 * @param follower l'User qui s'abonne
+	 * @param followee l'User auquel follower s'abonne
+	 *
+	 * @return true si l'arc n'existait pas déjà; false sinon
+	 *
+	 * @requires follower != null && followee != null && follower != followee;
+	 * @ensures hasSubscription(follower, followee);
+	 * @ensures hasFollower(followee, follower);
+	 */
+	boolean follow(User follower, User followee) {
+		Object first = lock(follower);
+		Object second = lock(followee);
+		if ((follower.graphId() & (STRIPES - 1)) > (followee.graphId() & (STRIPES - 1))) {
+			first = second;
+			second = lock(follower);
+		}
+		synchronized (first) {
+			synchronized (second) {
+				if (!follower.subscriptionIds().add(followee.graphId())) {
+					return false;
+				}
+				followee.followerIds().add(follower.graphId());
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Retire l'arc de follower vers followee s'il existe. Les deux retraits sont
+	 * effectués de manière atomique.
+	 *
+	 * @param follower l'User qui se désabonne
+	 * @param followee l'User duquel follower se désabonne
+	 *
+	 * @return true si l'arc existait; false sinon
+	 *
+	 * @requires follower != null && followee != null;
+	 * @ensures !hasSubscription(follower, followee);
+	 * @ensures !hasFollower(followee, follower);
+	 */
+	boolean unfollow(User follower, User followee) {
+		Object first = lock(follower);
+		Object second = lock(followee);
+		if ((follower.graphId() & (STRIPES - 1)) > (followee.graphId() & (STRIPES - 1))) {
+			first = second;
+			second = lock(follower);
+		}
+		synchronized (first) {
+			synchronized (second) {
+				if (!follower.subscriptionIds().remove(followee.graphId())) {
+					return false;
+				}
+				followee.followerIds().remove(follower.graphId());
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Renvoie true si other fait partie des abonnements de u.
+	 *
+	 * @param u     l'User consulté
+	 * @param other l'User cherché
+	 *
+	 * @return true si other fait partie des abonnements de u; false sinon
+	 *
+	 * @requires u != null;
+	 *
+	 * @pure
+	 */
+	boolean hasSubscription(User u, User other) {
+		if (other == null) {
+			return false;
+		}
+		synchronized (lock(u)) {
+			return u.subscriptionIds().contains(other.graphId());
+		}
+	}
+
+	/**
+	 * Renvoie true si other fait partie des followers de u.
+	 *
+	 * @param u     l'User consulté
+	 * @param other l'User cherché
+	 *
+	 * @return true si other fait partie des followers de u; false sinon
+	 *
+	 * @requires u != null;
+	 *
+	 * @pure
+	 */
+	boolean hasFollower(User u, User other) {
+		if (other == null) {
+			return false;
+		}
+		synchronized (lock(u)) {
+			return u.followerIds().contains(other.graphId());
+		}
+	}
+
+	/**
+	 * Renvoie le nombre d'abonnements de l'User spécifié.
+	 *
+	 * @param u l'User consulté
+	 *
+	 * @return le nombre d'abonnements de l'User spécifié
+	 *
+	 * @requires u != null;
+	 *
+	 * @pure
+	 */
+	int subscriptionNb(User u) {
+		synchronized (lock(u)) {
+			return u.subscriptionIds().size();
+		}
+	}
+
+	/**
+	 * Renvoie le nombre de followers de l'User spécifié.
+	 *
+	 * @param u l'User consulté
+	 *
+	 * @return le nombre de followers de l'User spécifié
+	 *
+	 * @requires u != null;
+	 *
+	 * @pure
+	 */
+	int followerNb(User u) {
+		synchronized (lock(u)) {
+			return u.followerIds().size();
+		}
+	}
+
+	/**
+	 * Renvoie une vue de l'ensemble des abonnements de l'User spécifié. Chaque
+	 * itération sur cette vue énumère un instantané cohérent de l'ensemble.
+	 *
+	 * @param u l'User consulté
+	 *
+	 * @return une vue de l'ensemble des abonnements de l'User spécifié
+	 *
+	 * @requires u != null;
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	Set<User> subscriptions(User u) {
+		return new AdjacencyView(u, true);
+	}
+
+	/**
+	 * Renvoie une vue de l'ensemble des followers de l'User spécifié. Chaque
+	 * itération sur cette vue énumère un instantané cohérent de l'ensemble.
+	 *
+	 * @param u l'User consulté
+	 *
+	 * @return une vue de l'ensemble des followers de l'User spécifié
+	 *
+	 * @requires u != null;
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	Set<User> followers(User u) {
+		return new AdjacencyView(u, false);
+	}
+
+	private final class AdjacencyView extends AbstractSet<User> {
+		private final User user;
+		private final boolean subscriptions;
+
+		private AdjacencyView(User user, boolean subscriptions) {
+			this.user = user;
+			this.subscriptions = subscriptions;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof User)) {
+				return false;
+			}
+			User other = (User) o;
+			return subscriptions ? hasSubscription(user, other) : hasFollower(user, other);
+		}
+
+		@Override
+		public int size() {
+			return subscriptions ? subscriptionNb(user) : followerNb(user);
+		}
+
+		private int[] snapshot() {
+			synchronized (lock(user)) {
+				return (subscriptions ? user.subscriptionIds() : user.followerIds()).toArray();
+			}
+		}
+
+		@Override
+		public Iterator<User> iterator() {
+			int[] ids = snapshot();
+			return new Iterator<User>() {
+				private int i = 0;
+
+				@Override
+				public boolean hasNext() {
+					return i < ids.length;
+				}
+
+				@Override
+				public User next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return userOf(ids[i++]);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,699 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé des textes des Post: lorsqu'un TextIndex est installé par
+ * User.setTextIndex, chaque Post publié par User.addPost reçoit un numéro
+ * (dans l'ordre de publication) et ce numéro est ajouté à la liste des Post de
+ * chacun des mots de son texte. Les Post contenant tous les mots (searchAll) ou
+ * l'un des mots (searchAny) d'une requête sont alors obtenus sans lire le texte
+ * d'aucun Post.
+ *
+ * Les mots d'un texte sont ses suites maximales de lettres et de chiffres,
+ * mises en minuscules (cf. tokens(String)). Le texte indexé d'un RePost est son
+ * propre texte, sans celui des Post republiés, qui sont indexés avec leur
+ * auteur: l'index ne reconstruit pas le texte complet des RePost.
+ *
+ * Chaque liste de Post est compressée: les numéros y sont croissants, et seul
+ * l'écart entre deux numéros successifs est stocké, sur un nombre variable
+ * d'octets (7 bits par octet). Les listes sont découpées en blocs de BLOCK_SIZE
+ * numéros dont le premier numéro est stocké en clair, ce qui permet de
+ * parcourir une liste à partir de sa fin (du plus récent au plus ancien Post)
+ * et d'y sauter en O(log n) les blocs ne contenant pas le numéro cherché. Une
+ * requête de k résultats au plus parcourt donc ses listes à partir des Post les
+ * plus récents et s'arrête dès qu'elle a trouvé k Post: l'intersection de
+ * listes ne décompresse que les blocs pouvant contenir un Post commun.
+ *
+ * Les résultats sont renvoyés du plus récent au plus ancien Post. Des Post
+ * publiés simultanément par plusieurs threads peuvent recevoir leurs numéros
+ * dans un autre ordre que celui de leurs dates (cf. isDateOrdered()): l'index
+ * mémorise donc, pour chaque numéro, la plus grande date des Post de numéro
+ * inférieur ou égal. Une requête s'arrête dès que cette date ne dépasse pas
+ * celle du kième plus récent Post trouvé, aucun Post plus ancien ne pouvant
+ * alors figurer parmi les k premiers, puis trie les Post trouvés par date. Si
+ * les Post sont publiés dans l'ordre de leurs dates, elle s'arrête donc au
+ * kième Post trouvé; sinon, elle ne parcourt en plus que les Post publiés dans
+ * le désordre.
+ *
+ * Seuls les Post publiés après l'installation de l'index sont indexés. Un
+ * TextIndex peut être modifié et consulté simultanément par plusieurs threads:
+ * les requêtes s'exécutent en parallèle, et chaque publication les exclut le
+ * temps de son indexation.
+ *
+ * @invariant size() >= 0;
+ * @invariant getTermNb() >= 0;
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public final class TextIndex {
+	/**
+	 * Nombre de numéros de Post de chaque bloc d'une liste compressée.
+	 */
+	public static final int BLOCK_SIZE = 128;
+
+	private final ReentrantReadWriteLock lock;
+	// Liste compressée des Post de chaque mot
+	private final HashMap<String, PostingList> postings;
+	// Post indexés, dans l'ordre de leurs numéros
+	private Post[] posts;
+	// Plus grande date des Post de numéro inférieur ou égal à chaque numéro
+	private long[] maxTimestamps;
+	private int size;
+	private long lastTimestamp;
+	private boolean dateOrdered;
+
+	/**
+	 * Initialise un index vide.
+	 *
+	 * @ensures size() == 0;
+	 * @ensures getTermNb() == 0;
+	 * @ensures isDateOrdered();
+	 */
+	public TextIndex() {
+		this.lock = new ReentrantReadWriteLock();
+		this.postings = new HashMap<String, PostingList>();
+		this.posts = new Post[1024];
+		this.maxTimestamps = new long[1024];
+		this.lastTimestamp = Long.MIN_VALUE;
+		this.dateOrdered = true;
+	}
+
+	/**
+	 * Renvoie le nombre de Post indexés.
+	 *
+	 * @return le nombre de Post indexés
+	 *
+	 * @pure
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Renvoie le nombre de mots distincts des Post indexés.
+	 *
+	 * @return le nombre de mots distincts indexés
+	 *
+	 * @pure
+	 */
+	public int getTermNb() {
+		lock.readLock().lock();
+		try {
+			return postings.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Renvoie le nombre de Post indexés dont le texte contient le mot spécifié.
+	 *
+	 * @param term le mot cherché
+	 *
+	 * @return le nombre de Post contenant le mot spécifié
+	 *
+	 * @throws NullPointerException si le mot spécifié est null
+	 *
+	 * @requires term != null;
+	 * @ensures \result >= 0 && \result <= size();
+	 *
+	 * @pure
+	 */
+	public int getPostNb(String term) {
+		if (term == null) {
+			throw new NullPointerException();
+		}
+		List<String> words = tokens(term);
+		if (words.size() != 1) {
+			return 0;
+		}
+		lock.readLock().lock();
+		try {
+			PostingList list = postings.get(words.get(0));
+			return list == null ? 0 : list.size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Renvoie le nombre d'octets occupés par les listes compressées de cet index,
+	 * sans compter les premiers numéros des blocs.
+	 *
+	 * @return la taille des listes compressées, en octets
+	 *
+	 * @pure
+	 */
+	public long getCompressedSize() {
+		lock.readLock().lock();
+		try {
+			long total = 0;
+			for (PostingList list : postings.values()) {
+				total += list.length;
+			}
+			return total;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Renvoie true si les Post indexés l'ont été dans l'ordre de leurs dates, de
+	 * sorte que les requêtes s'arrêtent dès qu'elles ont trouvé k Post. Sinon,
+	 * elles parcourent en plus les Post publiés dans le désordre.
+	 *
+	 * @return true si les Post ont été indexés dans l'ordre de leurs dates
+	 *
+	 * @pure
+	 */
+	public boolean isDateOrdered() {
+		lock.readLock().lock();
+		try {
+			return dateOrdered;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Renvoie la liste des mots du texte spécifié, dans l'ordre de leur première
+	 * occurrence et sans doublons: ses suites maximales de lettres et de chiffres,
+	 * mises en minuscules.
+	 *
+	 * @param text le texte découpé
+	 *
+	 * @return une nouvelle liste des mots du texte spécifié
+	 *
+	 * @throws NullPointerException si le texte spécifié est null
+	 *
+	 * @requires text != null;
+	 * @ensures \result != null && !\result.contains(null);
+	 * @ensures !\result.contains("");
+	 *
+	 * @pure
+	 */
+	public static List<String> tokens(String text) {
+		if (text == null) {
+			throw new NullPointerException();
+		}
+		Set<String> words = new LinkedHashSet<String>();
+		StringBuilder sb = new StringBuilder();
+		int i = 0;
+		while (i <= text.length()) {
+			int c = i < text.length() ? text.codePointAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				sb.appendCodePoint(Character.toLowerCase(c));
+			} else if (sb.length() > 0) {
+				words.add(sb.toString());
+				sb.setLength(0);
+			}
+			i += Character.charCount(c);
+		}
+		return new ArrayList<String>(words);
+	}
+
+	/**
+	 * Indexe le texte du Post spécifié, que l'User spécifié vient de publier.
+	 *
+	 * @param author l'User ayant publié le Post
+	 * @param p      le Post publié
+	 *
+	 * @requires author != null && p != null;
+	 * @ensures size() == \old(size()) + 1;
+	 */
+	void published(User author, Post p) {
+		List<String> words = tokens(p instanceof RePost ? ((RePost) p).ownText() : p.getText());
+		lock.writeLock().lock();
+		try {
+			int id = size;
+			if (id == posts.length) {
+				posts = Arrays.copyOf(posts, posts.length * 2);
+				maxTimestamps = Arrays.copyOf(maxTimestamps, maxTimestamps.length * 2);
+			}
+			posts[id] = p;
+			size++;
+			long timestamp = p.getTimestamp();
+			if (timestamp < lastTimestamp) {
+				dateOrdered = false;
+			}
+			lastTimestamp = Math.max(lastTimestamp, timestamp);
+			maxTimestamps[id] = lastTimestamp;
+			for (String w : words) {
+				PostingList list = postings.get(w);
+				if (list == null) {
+					list = new PostingList();
+					postings.put(w, list);
+				}
+				list.add(id);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Renvoie les k plus récents Post indexés dont le texte contient tous les
+	 * mots spécifiés (tous ces Post s'il y en a moins de k), du plus récent au
+	 * plus ancien. Chaque chaîne spécifiée est découpée en mots comme le texte
+	 * des Post (cf. tokens(String)); une requête sans aucun mot ne renvoie aucun
+	 * Post.
+	 *
+	 * @param terms les mots cherchés
+	 * @param k     le nombre maximal de Post renvoyés
+	 *
+	 * @return une nouvelle liste des k plus récents Post contenant tous les mots
+	 *         spécifiés
+	 *
+	 * @throws NullPointerException     si la collection spécifiée est null ou
+	 *                                  contient null
+	 * @throws IllegalArgumentException si k < 0
+	 *
+	 * @requires terms != null && !terms.contains(null);
+	 * @requires k >= 0;
+	 * @ensures \result != null && \result.size() <= k;
+	 * @ensures (\forall Post p; \result.contains(p); (\forall String t;
+	 *          terms.contains(t); tokens(p.getText()).containsAll(tokens(t))));
+	 *
+	 * @pure
+	 */
+	public List<Post> searchAll(Collection<String> terms, int k) {
+		return search(terms, k, true);
+	}
+
+	/**
+	 * Renvoie les k plus récents Post indexés dont le texte contient au moins l'un
+	 * des mots spécifiés (tous ces Post s'il y en a moins de k), du plus récent au
+	 * plus ancien. Chaque chaîne spécifiée est découpée en mots comme le texte
+	 * des Post (cf. tokens(String)).
+	 *
+	 * @param terms les mots cherchés
+	 * @param k     le nombre maximal de Post renvoyés
+	 *
+	 * @return une nouvelle liste des k plus récents Post contenant l'un des mots
+	 *         spécifiés
+	 *
+	 * @throws NullPointerException     si la collection spécifiée est null ou
+	 *                                  contient null
+	 * @throws IllegalArgumentException si k < 0
+	 *
+	 * @requires terms != null && !terms.contains(null);
+	 * @requires k >= 0;
+	 * @ensures \result != null && \result.size() <= k;
+	 * @ensures (\forall Post p; \result.contains(p); (\exists String t;
+	 *          terms.contains(t); !Collections.disjoint(tokens(p.getText()),
+	 *          tokens(t))));
+	 *
+	 * @pure
+	 */
+	public List<Post> searchAny(Collection<String> terms, int k) {
+		return search(terms, k, false);
+	}
+
+	private List<Post> search(Collection<String> terms, int k, boolean all) {
+		if (terms == null || terms.contains(null)) {
+			throw new NullPointerException();
+		}
+		if (k < 0) {
+			throw new IllegalArgumentException("k doit être positif");
+		}
+		Set<String> words = new LinkedHashSet<String>();
+		for (String t : terms) {
+			words.addAll(tokens(t));
+		}
+		List<Post> result = new ArrayList<Post>(Math.min(k, 64));
+		if (k == 0 || words.isEmpty()) {
+			return result;
+		}
+		Bound bound = new Bound(k);
+		lock.readLock().lock();
+		try {
+			List<Cursor> cursors = new ArrayList<Cursor>(words.size());
+			for (String w : words) {
+				PostingList list = postings.get(w);
+				if (list != null) {
+					cursors.add(new Cursor(list));
+				} else if (all) {
+					return result;
+				}
+			}
+			if (cursors.isEmpty()) {
+				return result;
+			}
+			if (all) {
+				intersect(cursors, bound, result);
+			} else {
+				union(cursors, bound, result);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (!bound.sorted) {
+			// Tri stable: à date égale, le Post de plus grand numéro reste en premier
+			result.sort(Post.reverseChronologicalOrder());
+		}
+		if (result.size() > k) {
+			result.subList(k, result.size()).clear();
+		}
+		return result;
+	}
+
+	/*
+	 * Renvoie true si aucun Post de numéro inférieur ou égal au numéro spécifié
+	 * ne peut figurer parmi les k plus récents Post trouvés.
+	 */
+	private boolean done(Bound bound, int id) {
+		return bound.isFull() && maxTimestamps[id] <= bound.min();
+	}
+
+	/*
+	 * Ajoute le Post de numéro spécifié au résultat.
+	 */
+	private void add(Bound bound, int id, List<Post> result) {
+		Post p = posts[id];
+		bound.add(p.getTimestamp());
+		result.add(p);
+	}
+
+	/*
+	 * Ajoute au résultat, du plus grand au plus petit numéro, les Post présents
+	 * dans toutes les listes spécifiées, jusqu'à ce que les suivants ne puissent
+	 * plus figurer parmi les k plus récents (cf. done(Bound, int)). Les listes sont parcourues de la plus
+	 * courte à la plus longue: chaque numéro de la plus courte est cherché dans
+	 * les suivantes, et un numéro absent d'une liste fait sauter directement
+	 * toutes les listes au numéro qui le précède dans celle-ci.
+	 */
+	private void intersect(List<Cursor> cursors, Bound bound, List<Post> result) {
+		cursors.sort((c1, c2) -> Integer.compare(c1.list.size, c2.list.size));
+		Cursor first = cursors.get(0);
+		int n = cursors.size();
+		while (first.current >= 0 && !done(bound, first.current)) {
+			int candidate = first.current;
+			int i = 1;
+			while (i < n) {
+				Cursor c = cursors.get(i);
+				c.seek(candidate);
+				if (c.current == candidate) {
+					i++;
+					continue;
+				}
+				if (c.current < 0) {
+					return;
+				}
+				first.seek(c.current);
+				if (first.current < 0) {
+					return;
+				}
+				candidate = first.current;
+				i = 1;
+			}
+			add(bound, candidate, result);
+			first.previous();
+		}
+	}
+
+	/*
+	 * Ajoute au résultat, du plus grand au plus petit numéro, les Post présents
+	 * dans l'une des listes spécifiées, par un tas des listes selon leur numéro
+	 * courant, jusqu'à ce que les suivants ne puissent plus figurer parmi les k
+	 * plus récents (cf. done(Bound, int)).
+	 */
+	private void union(List<Cursor> cursors, Bound bound, List<Post> result) {
+		Cursor[] heap = cursors.toArray(new Cursor[0]);
+		int heapSize = heap.length;
+		for (int pos = heapSize / 2 - 1; pos >= 0; pos--) {
+			siftDown(heap, heapSize, pos);
+		}
+		int last = -1;
+		while (heapSize > 0 && !done(bound, heap[0].current)) {
+			Cursor c = heap[0];
+			if (c.current != last) {
+				last = c.current;
+				add(bound, last, result);
+			}
+			c.previous();
+			if (c.current < 0) {
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, heapSize, 0);
+		}
+	}
+
+	private static void siftDown(Cursor[] heap, int heapSize, int pos) {
+		if (pos >= heapSize) {
+			return;
+		}
+		Cursor c = heap[pos];
+		int child = 2 * pos + 1;
+		while (child < heapSize) {
+			if (child + 1 < heapSize && heap[child + 1].current > heap[child].current) {
+				child++;
+			}
+			if (heap[child].current <= c.current) {
+				break;
+			}
+			heap[pos] = heap[child];
+			pos = child;
+			child = 2 * pos + 1;
+		}
+		heap[pos] = c;
+	}
+
+	/*
+	 * Les k plus grandes dates des Post trouvés par une requête, dans un tas dont
+	 * la racine est la plus petite d'entre elles. sorted indique si les dates
+	 * ont été ajoutées de la plus récente à la plus ancienne.
+	 */
+	private static final class Bound {
+		private final int k;
+		private long[] heap = new long[8];
+		private int size;
+		private long last = Long.MAX_VALUE;
+		boolean sorted = true;
+
+		Bound(int k) {
+			this.k = k;
+		}
+
+		boolean isFull() {
+			return size == k;
+		}
+
+		long min() {
+			return heap[0];
+		}
+
+		void add(long timestamp) {
+			if (timestamp > last) {
+				sorted = false;
+			}
+			last = timestamp;
+			if (size < k) {
+				if (size == heap.length) {
+					heap = Arrays.copyOf(heap, size * 2);
+				}
+				// Remontée de la nouvelle date
+				int pos = size++;
+				while (pos > 0 && heap[(pos - 1) / 2] > timestamp) {
+					heap[pos] = heap[(pos - 1) / 2];
+					pos = (pos - 1) / 2;
+				}
+				heap[pos] = timestamp;
+			} else if (timestamp > heap[0]) {
+				// Descente de la nouvelle date à la place de la plus petite
+				int pos = 0;
+				int child = 1;
+				while (child < size) {
+					if (child + 1 < size && heap[child + 1] < heap[child]) {
+						child++;
+					}
+					if (heap[child] >= timestamp) {
+						break;
+					}
+					heap[pos] = heap[child];
+					pos = child;
+					child = 2 * pos + 1;
+				}
+				heap[pos] = timestamp;
+			}
+		}
+	}
+
+	/*
+	 * Liste compressée des numéros croissants des Post contenant un mot. Le
+	 * premier numéro de chaque bloc est stocké dans blockFirst, les suivants par
+	 * leur écart au précédent, en octets de 7 bits dont le bit de poids fort
+	 * indique qu'un octet suit; blockOffset donne la position dans bytes du
+	 * deuxième numéro de chaque bloc.
+	 */
+	private static final class PostingList {
+		private byte[] bytes = new byte[8];
+		private int length;
+		private int size;
+		private int last = -1;
+		private int[] blockFirst = new int[1];
+		private int[] blockOffset = new int[1];
+
+		/*
+		 * Ajoute le numéro spécifié, supérieur ou égal au dernier numéro de la
+		 * liste; un numéro déjà présent n'est pas ajouté une seconde fois.
+		 */
+		void add(int id) {
+			if (id == last) {
+				return;
+			}
+			if (size % BLOCK_SIZE == 0) {
+				int block = size / BLOCK_SIZE;
+				if (block == blockFirst.length) {
+					blockFirst = Arrays.copyOf(blockFirst, block * 2);
+					blockOffset = Arrays.copyOf(blockOffset, block * 2);
+				}
+				blockFirst[block] = id;
+				blockOffset[block] = length;
+			} else {
+				int delta = id - last;
+				if (length + 5 > bytes.length) {
+					bytes = Arrays.copyOf(bytes, Math.max(length + 5, bytes.length * 2));
+				}
+				while (delta >= 0x80) {
+					bytes[length++] = (byte) (delta | 0x80);
+					delta >>>= 7;
+				}
+				bytes[length++] = (byte) delta;
+			}
+			last = id;
+			size++;
+		}
+
+		int blockNb() {
+			return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		}
+
+		/*
+		 * Décompresse dans buffer les numéros du bloc spécifié et renvoie leur
+		 * nombre.
+		 */
+		int decode(int block, int[] buffer) {
+			int n = Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+			int id = blockFirst[block];
+			int offset = blockOffset[block];
+			buffer[0] = id;
+			for (int i = 1; i < n; i++) {
+				int delta = 0;
+				int shift = 0;
+				byte b;
+				do {
+					b = bytes[offset++];
+					delta |= (b & 0x7F) << shift;
+					shift += 7;
+				} while (b < 0);
+				id += delta;
+				buffer[i] = id;
+			}
+			return n;
+		}
+
+		/*
+		 * Renvoie le dernier bloc d'index inférieur à end dont le premier numéro
+		 * est inférieur ou égal au numéro spécifié, ou -1 s'il n'y en a pas.
+		 */
+		int lastBlockBefore(int end, int id) {
+			int low = 0;
+			int high = end;
+			while (low < high) {
+				int m = (low + high) >>> 1;
+				if (blockFirst[m] <= id) {
+					low = m + 1;
+				} else {
+					high = m;
+				}
+			}
+			return low - 1;
+		}
+	}
+
+	/*
+	 * Parcours d'une liste compressée du plus grand au plus petit numéro, un bloc
+	 * décompressé à la fois. current vaut -1 lorsque la liste est épuisée.
+	 */
+	private static final class Cursor {
+		final PostingList list;
+		private final int[] buffer = new int[BLOCK_SIZE];
+		private final int size;
+		private int block;
+		private int pos;
+		int current;
+
+		Cursor(PostingList list) {
+			this.list = list;
+			// Les Post publiés pendant la requête sont ignorés
+			this.size = list.size;
+			load((size - 1) / BLOCK_SIZE);
+		}
+
+		private void load(int b) {
+			block = b;
+			if (b < 0) {
+				current = -1;
+				return;
+			}
+			pos = list.decode(b, buffer) - 1;
+			if (b == (size - 1) / BLOCK_SIZE) {
+				pos = (size - 1) % BLOCK_SIZE;
+			}
+			current = buffer[pos];
+		}
+
+		void previous() {
+			if (pos > 0) {
+				current = buffer[--pos];
+			} else {
+				load(block - 1);
+			}
+		}
+
+		/*
+		 * Avance jusqu'au plus grand numéro inférieur ou égal au numéro spécifié.
+		 */
+		void seek(int id) {
+			if (current <= id) {
+				return;
+			}
+			if (buffer[0] > id) {
+				load(list.lastBlockBefore(block, id));
+				if (current <= id) {
+					return;
+				}
+			}
+			// Recherche dichotomique du numéro dans le bloc courant
+			int low = 0;
+			int high = pos;
+			while (low < high) {
+				int m = (low + high + 1) >>> 1;
+				if (buffer[m] <= id) {
+					low = m;
+				} else {
+					high = m - 1;
+				}
+			}
+			pos = low;
+			current = buffer[pos];
+		}
+	}
+}
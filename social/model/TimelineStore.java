@@ -0,0 +1,374 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fils d'actualité précalculés à l'écriture ("fan-out on write"): lorsqu'un
+ * TimelineStore est installé par User.setTimelineStore, chaque Post publié par
+ * User.addPost est ajouté au fil de son auteur et aux fils de tous ses
+ * followers. La lecture d'un fil (timeLine(User)) n'a alors plus à fusionner
+ * les Post de tous les abonnements du lecteur.
+ *
+ * Chaque fil est borné: il ne conserve que les getCapacity() Post les plus
+ * récents qui lui ont été ajoutés. La publication coûte O(f) pour un auteur
+ * ayant f followers; pour les auteurs ayant plus de getCelebrityThreshold()
+ * followers (les "célébrités"), ce coût serait prohibitif: leurs Post ne sont
+ * pas recopiés, et sont fusionnés à la lecture, par un FusionSortedIterator,
+ * avec le fil précalculé du lecteur. Un auteur devient célébrité lorsqu'il
+ * publie un Post en ayant plus de getCelebrityThreshold() followers, et le
+ * reste ensuite: tous ses Post sont alors lus dans sa propre liste de Post.
+ *
+ * Un fil précalculé ne contient que des Post publiés pendant que le lecteur
+ * était abonné à leur auteur: un nouvel abonnement ne fait apparaître que les
+ * Post publiés ensuite, et les Post d'un auteur sont retirés du fil d'un
+ * lecteur lorsqu'il se désabonne de cet auteur (User.removeSubscriptionTo).
+ * Les Post plus anciens déjà évincés du fil n'y reviennent pas: le fil peut
+ * alors compter moins de getCapacity() Post.
+ *
+ * Seul le fil précalculé est borné: timeLine(User) fusionne avec lui la liste
+ * complète des Post de chaque célébrité. Si le lecteur était abonné à chacun
+ * de ses abonnements depuis son premier Post et ne s'est désabonné d'aucun
+ * auteur, les getCapacity() premiers Post énumérés sont exactement ceux de
+ * User.timeLine(); au-delà, l'itération peut omettre les Post évincés du fil
+ * précalculé.
+ *
+ * Un TimelineStore peut être modifié et consulté simultanément par plusieurs
+ * threads.
+ *
+ * @invariant getCapacity() > 0;
+ * @invariant getCelebrityThreshold() >= 0;
+ * @invariant getPublishNb() >= 0 && getPushNb() >= getPublishNb();
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public final class TimelineStore {
+	/**
+	 * Nombre maximal de Post d'un fil précalculé par défaut.
+	 */
+	public static final int DEFAULT_CAPACITY = 800;
+	/**
+	 * Nombre de followers au-delà duquel un auteur est une célébrité par défaut.
+	 */
+	public static final int DEFAULT_CELEBRITY_THRESHOLD = 10_000;
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int capacity;
+	private final int celebrityThreshold;
+	// Fils précalculés indexés par l'identifiant des User (cf. User.graphId())
+	private volatile Timeline[] timelines;
+	private final LongAdder publishNb;
+	private final LongAdder pushNb;
+
+	/**
+	 * Initialise un ensemble de fils précalculés vides de DEFAULT_CAPACITY Post au
+	 * plus, les célébrités ayant plus de DEFAULT_CELEBRITY_THRESHOLD followers.
+	 *
+	 * @ensures getCapacity() == DEFAULT_CAPACITY;
+	 * @ensures getCelebrityThreshold() == DEFAULT_CELEBRITY_THRESHOLD;
+	 */
+	public TimelineStore() {
+		this(DEFAULT_CAPACITY, DEFAULT_CELEBRITY_THRESHOLD);
+	}
+
+	/**
+	 * Initialise un ensemble de fils précalculés vides de capacity Post au plus,
+	 * les célébrités ayant plus de celebrityThreshold followers.
+	 *
+	 * @param capacity           le nombre maximal de Post d'un fil
+	 * @param celebrityThreshold le nombre de followers au-delà duquel un auteur
+	 *                           est une célébrité
+	 *
+	 * @throws IllegalArgumentException si capacity <= 0 ou celebrityThreshold < 0
+	 *
+	 * @requires capacity > 0 && celebrityThreshold >= 0;
+	 * @ensures getCapacity() == capacity;
+	 * @ensures getCelebrityThreshold() == celebrityThreshold;
+	 */
+	public TimelineStore(int capacity, int celebrityThreshold) {
+		if (capacity <= 0 || celebrityThreshold < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+		this.celebrityThreshold = celebrityThreshold;
+		this.timelines = new Timeline[16];
+		this.publishNb = new LongAdder();
+		this.pushNb = new LongAdder();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public int getCelebrityThreshold() {
+		return celebrityThreshold;
+	}
+
+	/**
+	 * Renvoie le nombre de Post publiés depuis la création de ce TimelineStore.
+	 *
+	 * @return le nombre de Post publiés
+	 *
+	 * @pure
+	 */
+	public long getPublishNb() {
+		return publishNb.sum();
+	}
+
+	/**
+	 * Renvoie le nombre d'ajouts de Post aux fils précalculés depuis la création
+	 * de ce TimelineStore; getPushNb() / getPublishNb() mesure l'amplification des
+	 * écritures.
+	 *
+	 * @return le nombre d'ajouts de Post aux fils précalculés
+	 *
+	 * @pure
+	 */
+	public long getPushNb() {
+		return pushNb.sum();
+	}
+
+	/**
+	 * Renvoie true si l'User spécifié est une célébrité, dont les Post sont
+	 * fusionnés à la lecture au lieu d'être recopiés dans les fils de ses
+	 * followers.
+	 *
+	 * @param u l'User testé
+	 *
+	 * @return true si l'User spécifié est une célébrité
+	 *
+	 * @requires u != null;
+	 *
+	 * @pure
+	 */
+	public boolean isCelebrity(User u) {
+		Timeline t = existingTimeline(u);
+		return t != null && t.celebrity;
+	}
+
+	/**
+	 * Ajoute le Post spécifié, que l'User spécifié vient de publier, à son fil et,
+	 * si cet User n'est pas une célébrité, aux fils de ses followers.
+	 *
+	 * @param author l'User ayant publié le Post
+	 * @param p      le Post publié
+	 *
+	 * @requires author != null && p != null;
+	 * @ensures getPublishNb() == \old(getPublishNb()) + 1;
+	 */
+	void publish(User author, Post p) {
+		Timeline own = timeline(author);
+		own.push(author, p, capacity);
+		publishNb.increment();
+		pushNb.increment();
+		if (!own.celebrity && author.getFollowerNb() > celebrityThreshold) {
+			own.celebrity = true;
+		}
+		if (own.celebrity) {
+			return;
+		}
+		int n = 0;
+		for (User follower : author.getFollowers()) {
+			timeline(follower).push(author, p, capacity);
+			n++;
+		}
+		pushNb.add(n);
+	}
+
+	/**
+	 * Retire les Post de l'User spécifié du fil de l'User spécifié qui vient de se
+	 * désabonner de lui.
+	 *
+	 * @param reader l'User qui s'est désabonné
+	 * @param author l'User dont il s'est désabonné
+	 *
+	 * @requires reader != null && author != null;
+	 */
+	void unsubscribed(User reader, User author) {
+		Timeline t = existingTimeline(reader);
+		if (t != null) {
+			t.removeAuthor(author);
+		}
+	}
+
+	/**
+	 * Renvoie le fil d'actualité de l'User spécifié: un FusionSortedIterator, du
+	 * plus récent au plus ancien Post, fusionnant le fil précalculé de cet User et
+	 * les Post des célébrités auxquelles il est abonné. La lecture des premiers
+	 * Post coûte O(getCapacity() + c log c) pour c célébrités, quel que soit le
+	 * nombre d'abonnements du lecteur.
+	 *
+	 * Les Post des célébrités n'étant pas bornés, le fil d'actualité proprement
+	 * dit est formé des getCapacity() premiers Post énumérés (cf. limit(int)).
+	 *
+	 * @param reader le lecteur du fil
+	 *
+	 * @return le fil d'actualité de l'User spécifié
+	 *
+	 * @throws NullPointerException si l'User spécifié est null
+	 *
+	 * @requires reader != null;
+	 * @ensures \result != null;
+	 */
+	public FusionSortedIterator<Post, ExtendedListIterator<Post>> timeLine(User reader) {
+		if (reader == null) {
+			throw new NullPointerException();
+		}
+		Set<ExtendedListIterator<Post>> sources = new HashSet<ExtendedListIterator<Post>>();
+		sources.add(precomputed(reader));
+		for (User u : reader.getSubscriptions()) {
+			if (isCelebrity(u)) {
+				sources.add(u.cursor());
+			}
+		}
+		return new FusionSortedIterator<Post, ExtendedListIterator<Post>>(sources,
+				Post.reverseChronologicalOrder());
+	}
+
+	/*
+	 * Renvoie un curseur sur les Post du fil précalculé de l'User spécifié, en
+	 * ignorant ceux des célébrités, lus dans leur propre liste.
+	 */
+	private PostArrayCursor precomputed(User reader) {
+		Timeline t = existingTimeline(reader);
+		if (t == null) {
+			return new PostArrayCursor(new Post[0], 0);
+		}
+		Post[] posts;
+		User[] authors;
+		int n;
+		synchronized (t) {
+			n = t.size;
+			posts = new Post[n];
+			authors = new User[n];
+			t.copy(posts, authors);
+		}
+		int kept = 0;
+		boolean sorted = true;
+		for (int i = 0; i < n; i++) {
+			User a = authors[i];
+			if (a == reader || !isCelebrity(a)) {
+				posts[kept] = posts[i];
+				sorted &= kept == 0 || posts[kept - 1].getTimestamp() >= posts[kept].getTimestamp();
+				kept++;
+			}
+		}
+		// Des publications simultanées peuvent avoir été ajoutées dans le désordre
+		if (!sorted) {
+			Arrays.sort(posts, 0, kept, Post.reverseChronologicalOrder());
+		}
+		return new PostArrayCursor(posts, kept);
+	}
+
+	private Timeline existingTimeline(User u) {
+		Timeline[] table = timelines;
+		int id = u.graphId();
+		return id < table.length ? table[id] : null;
+	}
+
+	private Timeline timeline(User u) {
+		Timeline t = existingTimeline(u);
+		if (t != null) {
+			return t;
+		}
+		synchronized (this) {
+			Timeline[] table = timelines;
+			int id = u.graphId();
+			if (id >= table.length) {
+				table = Arrays.copyOf(table, Math.max(id + 1, table.length * 2));
+			}
+			if (table[id] == null) {
+				table[id] = new Timeline(capacity);
+			}
+			timelines = table;
+			return table[id];
+		}
+	}
+
+	/*
+	 * Fil précalculé d'un User: tampon circulaire des derniers Post ajoutés et de
+	 * leurs auteurs, agrandi au besoin jusqu'à la capacité du TimelineStore.
+	 */
+	private static final class Timeline {
+		private Post[] posts;
+		private User[] authors;
+		// Indice de la prochaine écriture, et nombre de Post du tampon
+		private int head, size;
+		volatile boolean celebrity;
+
+		Timeline(int capacity) {
+			int length = Math.min(INITIAL_CAPACITY, capacity);
+			posts = new Post[length];
+			authors = new User[length];
+		}
+
+		synchronized void push(User author, Post p, int capacity) {
+			int length = posts.length;
+			if (size == length && length < capacity) {
+				int newLength = Math.min(length * 2, capacity);
+				Post[] newPosts = new Post[newLength];
+				User[] newAuthors = new User[newLength];
+				for (int i = 0; i < size; i++) {
+					int j = (head - size + i + length) % length;
+					newPosts[i] = posts[j];
+					newAuthors[i] = authors[j];
+				}
+				posts = newPosts;
+				authors = newAuthors;
+				head = size;
+				length = newLength;
+			}
+			posts[head] = p;
+			authors[head] = author;
+			head = (head + 1) % length;
+			if (size < length) {
+				size++;
+			}
+		}
+
+		/*
+		 * Copie les Post du tampon, du plus récent au plus ancien, et leurs auteurs
+		 * dans les tableaux spécifiés, de taille au moins size.
+		 */
+		synchronized void copy(Post[] toPosts, User[] toAuthors) {
+			int length = posts.length;
+			for (int i = 0; i < size; i++) {
+				int j = (head - 1 - i + length) % length;
+				toPosts[i] = posts[j];
+				toAuthors[i] = authors[j];
+			}
+		}
+
+		/*
+		 * Retire du tampon les Post de l'auteur spécifié, en conservant l'ordre des
+		 * autres Post.
+		 */
+		synchronized void removeAuthor(User author) {
+			int length = posts.length;
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				int from = (head - size + i + length) % length;
+				if (authors[from] != author) {
+					int to = (head - size + kept + length) % length;
+					posts[to] = posts[from];
+					authors[to] = authors[from];
+					kept++;
+				}
+			}
+			// Les places libérées, à la fin du tampon, sont vidées
+			for (int i = kept; i < size; i++) {
+				int j = (head - size + i + length) % length;
+				posts[j] = null;
+				authors[j] = null;
+			}
+			head = (head - size + kept + length) % length;
+			size = kept;
+		}
+	}
+}
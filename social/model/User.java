@@ -4,14 +4,19 @@
 package social.model;
 
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Un utilisateur du réseau social Microdon. Chaque instance possède un nom
@@ -40,6 +45,11 @@ import java.util.Set;
  * }
  * }</pre>
  * 
+ * L'itérateur natif d'un User ne permet qu'une seule itération à la fois. Pour
+ * des itérations simultanées sur les Post d'un même User (par exemple plusieurs
+ * fils d'actualité ouverts), chaque lecteur obtient son propre PostCursor à
+ * l'aide de la méthode cursor().
+ * 
  * @invariant User.getAllUser() != null;
  * @invariant User.getAllUser().contains(this);
  * @invariant User.getUser(this.getName()) == this;
@@ -73,15 +83,30 @@ import java.util.Set;
  * @version 07/12/2023
  * 
  */
-public class User implements Iterable<Post>, ExtendedListIterator<Post> {
+public class User implements Iterable<Post>, PostListIterator {
 
 	private String username, password;
 	private Instant registrationDate;
-	private Set<User> subscriptions, followers;
-	private List<Post> posts;
-	private int nextIndex, previousIndex, lastIndex;
+	// Identifiant de ce User dans le graphe des abonnements, et ensembles des
+	// identifiants de ses abonnements et de ses followers (cf. SocialGraph)
+	private final int graphId;
+	private final IntHashSet subscriptionIds, followerIds;
+	private PostLog posts;
+	// Itérateur natif de ce User: la position de l'itération est mémorisée par
+	// un PostCursor, comme pour tout autre lecteur des Post de ce User.
+	private final PostCursor iteration;
+	// Observateurs notifiés de chaque nouveau Post (tableau remplacé à chaque
+	// modification, partagé tant qu'aucun observateur n'est enregistré)
+	private volatile PostListener[] postListeners = NO_LISTENER;
+
+	private static final PostListener[] NO_LISTENER = new PostListener[0];
 
-	private static final Collection<User> allUser = new HashSet<User>();
+	private static final UserRegistry allUser = new UserRegistry();
+	private static final SocialGraph graph = new SocialGraph();
+	private static final RepostIndex reposts = new RepostIndex();
+	private static volatile TimelineStore timelineStore;
+	private static volatile EngagementIndex engagementIndex;
+	private static volatile TextIndex textIndex;
 
 	/**
 	 * Renvoie une Collection non modifiable contenant toutes les instances créées
@@ -94,7 +119,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public static Collection<User> getAllUser() {
-		return Collections.unmodifiableCollection(allUser);
+		return Collections.unmodifiableCollection(allUser.users());
 	}
 
 	/**
@@ -115,15 +140,126 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public static User getUser(String userName) {
-		if (userName == null) {
-			return null;
-		}
-		for (User u : allUser) {
-			if (u.getName().equals(userName)) {
-				return u;
-			}
-		}
-		return null;
+		return allUser.get(userName);
+	}
+
+	/**
+	 * Renvoie le nombre de RePost du Post spécifié ajoutés jusqu'à présent (par
+	 * addPost) aux posts d'un User. Ce nombre est maintenu à chaque ajout d'un
+	 * RePost et s'obtient en O(1).
+	 * 
+	 * @param p le Post dont on cherche le nombre de RePost
+	 * 
+	 * @return le nombre de RePost du Post spécifié
+	 * 
+	 * @ensures \result >= 0;
+	 * @ensures p == null ==> \result == 0;
+	 * @ensures \result == (\sum User u; getAllUser().contains(u); (\num_of Post
+	 *          q; u.getPosts().contains(q); q instanceof RePost && ((RePost)
+	 *          q).getSubPost() == p));
+	 * 
+	 * @pure
+	 */
+	public static int getRepostNb(Post p) {
+		return reposts.repostNb(p);
+	}
+
+	/**
+	 * Renvoie un itérateur non modifiable sur les User auxquels un RePost du Post
+	 * spécifié a été ajouté (par addPost), dans l'ordre de ces ajouts. Un User
+	 * ayant ajouté plusieurs RePost du même Post est énuméré une fois par RePost.
+	 * Les User sont énumérés au fur et à mesure, sans parcourir les posts de tous
+	 * les User.
+	 * 
+	 * @param p le Post dont on cherche les auteurs des RePost
+	 * 
+	 * @return un itérateur sur les auteurs des RePost du Post spécifié
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result énumère getRepostNb(p) User;
+	 * @ensures (\forall User u; getAllUser().contains(u); u est énuméré par
+	 *          \result autant de fois que u.getPosts() contient de RePost de p);
+	 * @ensures le ième User énuméré par \result est l'auteur du ième RePost de p
+	 *          ajouté par addPost;
+	 * @ensures \result.remove() lève UnsupportedOperationException;
+	 * 
+	 * @pure
+	 */
+	public static Iterator<User> getReposters(Post p) {
+		return reposts.reposters(p);
+	}
+
+	/**
+	 * Renvoie le TimelineStore auquel sont ajoutés les Post publiés par addPost,
+	 * ou null si les fils d'actualité ne sont pas précalculés.
+	 * 
+	 * @return le TimelineStore des fils d'actualité précalculés, ou null
+	 * 
+	 * @pure
+	 */
+	public static TimelineStore getTimelineStore() {
+		return timelineStore;
+	}
+
+	/**
+	 * Installe le TimelineStore auquel seront ajoutés les Post publiés ensuite par
+	 * addPost; null désactive le précalcul des fils d'actualité.
+	 * 
+	 * @param store le TimelineStore des fils d'actualité précalculés, ou null
+	 * 
+	 * @ensures getTimelineStore() == store;
+	 */
+	public static void setTimelineStore(TimelineStore store) {
+		timelineStore = store;
+	}
+
+	/**
+	 * Renvoie l'EngagementIndex dans lequel sont classés les Post publiés par
+	 * addPost, ou null si les Post ne sont pas classés par engagement.
+	 * 
+	 * @return l'EngagementIndex des Post publiés, ou null
+	 * 
+	 * @pure
+	 */
+	public static EngagementIndex getEngagementIndex() {
+		return engagementIndex;
+	}
+
+	/**
+	 * Installe l'EngagementIndex dans lequel seront classés les Post publiés
+	 * ensuite par addPost, et mis à jour à chaque like de ces Post; null
+	 * désactive le classement par engagement.
+	 * 
+	 * @param index l'EngagementIndex des Post publiés, ou null
+	 * 
+	 * @ensures getEngagementIndex() == index;
+	 */
+	public static void setEngagementIndex(EngagementIndex index) {
+		engagementIndex = index;
+	}
+
+	/**
+	 * Renvoie le TextIndex dans lequel sont indexés les textes des Post publiés
+	 * par addPost, ou null si les Post ne sont pas indexés.
+	 * 
+	 * @return le TextIndex des Post publiés, ou null
+	 * 
+	 * @pure
+	 */
+	public static TextIndex getTextIndex() {
+		return textIndex;
+	}
+
+	/**
+	 * Installe le TextIndex dans lequel seront indexés les textes des Post
+	 * publiés ensuite par addPost; null désactive l'indexation des textes.
+	 * 
+	 * @param index le TextIndex des Post publiés, ou null
+	 * 
+	 * @ensures getTextIndex() == index;
+	 */
+	public static void setTextIndex(TextIndex index) {
+		textIndex = index;
 	}
 
 	/**
@@ -141,15 +277,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public static boolean hasUser(String userName) {
-		if (userName == null) {
-			return false;
-		}
-		for (User u : allUser) {
-			if (u.getName().equals(userName)) {
-				return true;
-			}
-		}
-		return false;
+		return allUser.contains(userName);
 	}
 
 	/**
@@ -230,11 +358,19 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 		this.username = userName;
 		this.password = password;
 		this.registrationDate = Instant.now();
-		this.subscriptions = new HashSet<User>();
-		this.followers = new HashSet<User>();
-		this.posts = new ArrayList<Post>();
-		allUser.add(this);
-		startIteration();
+		this.subscriptionIds = new IntHashSet();
+		this.followerIds = new IntHashSet();
+		this.posts = new PostLog();
+		this.iteration = new PostCursor(this);
+		// L'identifiant n'est connu d'aucun autre objet tant que cet User n'est pas
+		// enregistré; il est rendu au graphe si le nom a été pris entre-temps par un
+		// autre thread
+		this.graphId = graph.newId(this);
+		// La vérification de l'unicité du nom et l'enregistrement sont atomiques
+		if (!allUser.register(this)) {
+			graph.release(graphId, this);
+			throw new IllegalArgumentException();
+		}
 	}
 
 	/**
@@ -285,7 +421,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public Set<User> getSubscriptions() {
-		return Collections.unmodifiableSet(this.subscriptions);
+		return Collections.unmodifiableSet(graph.subscriptions(this));
 	}
 
 	/**
@@ -302,7 +438,38 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public Set<User> getFollowers() {
-		return Collections.unmodifiableSet(this.followers);
+		return Collections.unmodifiableSet(graph.followers(this));
+	}
+
+	/*
+	 * Renvoie l'identifiant de cet utilisateur dans le graphe des abonnements.
+	 */
+	int graphId() {
+		return this.graphId;
+	}
+
+	/*
+	 * Renvoie l'utilisateur dont l'identifiant dans le graphe des abonnements est
+	 * l'entier spécifié.
+	 */
+	static User getUserById(int graphId) {
+		return graph.userOf(graphId);
+	}
+
+	/*
+	 * Renvoie l'ensemble des identifiants des abonnements de cet utilisateur; cet
+	 * ensemble n'est consulté et modifié que par SocialGraph.
+	 */
+	IntHashSet subscriptionIds() {
+		return this.subscriptionIds;
+	}
+
+	/*
+	 * Renvoie l'ensemble des identifiants des followers de cet utilisateur; cet
+	 * ensemble n'est consulté et modifié que par SocialGraph.
+	 */
+	IntHashSet followerIds() {
+		return this.followerIds;
 	}
 
 	/**
@@ -339,7 +506,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 		if (this.equals(u)) {
 			throw new IllegalArgumentException();
 		}
-		return subscriptions.add(u) && u.followers.add(this);
+		return graph.follow(this, u);
 	}
 
 	/**
@@ -369,7 +536,14 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 *          (u.getFollowers().equals(\old(u.getFollowers()));
 	 */
 	public boolean removeSubscriptionTo(User u) {
-		return subscriptions.remove(u) && u.followers.remove(this);
+		if (u == null || !graph.unfollow(this, u)) {
+			return false;
+		}
+		TimelineStore store = timelineStore;
+		if (store != null) {
+			store.unsubscribed(this, u);
+		}
+		return true;
 	}
 
 	/**
@@ -388,7 +562,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public boolean hasSubscriptionTo(User u) {
-		return this.subscriptions.contains(u);
+		return graph.hasSubscription(this, u);
 	}
 
 	/**
@@ -407,7 +581,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public boolean hasFollower(User u) {
-		return this.followers.contains(u);
+		return graph.hasFollower(this, u);
 	}
 
 	/**
@@ -420,7 +594,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public int getSubscriptionNb() {
-		return this.subscriptions.size();
+		return graph.subscriptionNb(this);
 	}
 
 	/**
@@ -433,7 +607,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public int getFollowerNb() {
-		return this.followers.size();
+		return graph.followerNb(this);
 	}
 
 	/**
@@ -458,6 +632,31 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 		return this.posts.get(i);
 	}
 
+	/*
+	 * Renvoie le rang du plus ancien Post de ce User postérieur à la date
+	 * spécifiée, ou getPostNb() s'il n'y en a pas.
+	 */
+	int getRankAfter(Instant date) {
+		return this.posts.rankAfter(date);
+	}
+
+	/*
+	 * Renvoie le Post de rang spécifié, les rangs étant comptés à partir du plus
+	 * ancien Post de ce User; le rang d'un Post ne change pas lors de la
+	 * publication de nouveaux Post.
+	 */
+	Post getPostByRank(int rank) {
+		return this.posts.getByRank(rank);
+	}
+
+	/*
+	 * Renvoie une vue figée des Post actuels de ce User, dont les index ne sont
+	 * pas décalés par la publication de nouveaux Post.
+	 */
+	List<Post> getPostsSnapshot() {
+		return this.posts.snapshot();
+	}
+
 	/**
 	 * Renvoie une vue non modifiable de la liste des posts de cet utilisateur. La
 	 * liste renvoyée est triée selon leurs dates, les messages les plus récents
@@ -472,7 +671,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public List<Post> getPosts() {
-		return Collections.unmodifiableList(this.posts);
+		return this.posts;
 	}
 
 	/**
@@ -495,6 +694,10 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @ensures \old(lastIndex()) == -1 ==> lastIndex() == -1;
 	 * @ensures \old(lastIndex()) > -1 ==> nextIndex() == \old(nextIndex()) + 1;
 	 * @ensures \old(lastIndex()) > -1 ==> lastIndex() == \old(lastIndex()) + 1;
+	 * @ensures p instanceof RePost ==> getRepostNb(((RePost) p).getSubPost()) ==
+	 *          \old(getRepostNb(((RePost) p).getSubPost())) + 1;
+	 * @ensures (\forall PostListener l; \old(hasPostListener(l)); l a été
+	 *          notifié par l.postAdded(this, p));
 	 */
 	public Post addPost(Post p) {
 		if (p == null) {
@@ -503,14 +706,101 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 		if (getPostNb() > 0 && !p.isAfter(getPost(0))) {
 			throw new IllegalArgumentException();
 		}
-		this.posts.add(0, p);
-		nextIndex++;
-		previousIndex++;
-		lastIndex++;
+		this.posts.append(p);
+		if (p instanceof RePost) {
+			reposts.record(this, (RePost) p);
+		}
+		TimelineStore store = timelineStore;
+		if (store != null) {
+			store.publish(this, p);
+		}
+		EngagementIndex index = engagementIndex;
+		if (index != null) {
+			index.published(this, p);
+		}
+		TextIndex text = textIndex;
+		if (text != null) {
+			text.published(this, p);
+		}
+		for (PostListener l : postListeners) {
+			l.postAdded(this, p);
+		}
 		return p;
 
 	}
 
+	/**
+	 * Enregistre l'observateur spécifié, qui sera notifié de chaque Post ajouté
+	 * ensuite aux posts de cet utilisateur. Un observateur déjà enregistré n'est
+	 * pas enregistré une seconde fois.
+	 * 
+	 * @param l l'observateur à enregistrer
+	 * 
+	 * @return true si l'observateur n'était pas déjà enregistré; false sinon
+	 * 
+	 * @throws NullPointerException si l'observateur spécifié est null
+	 * 
+	 * @requires l != null;
+	 * @ensures hasPostListener(l);
+	 * @ensures \result <==> !\old(hasPostListener(l));
+	 */
+	public synchronized boolean addPostListener(PostListener l) {
+		if (l == null) {
+			throw new NullPointerException();
+		}
+		if (hasPostListener(l)) {
+			return false;
+		}
+		PostListener[] current = postListeners;
+		PostListener[] updated = Arrays.copyOf(current, current.length + 1);
+		updated[current.length] = l;
+		postListeners = updated;
+		return true;
+	}
+
+	/**
+	 * Retire l'observateur spécifié des observateurs de cet utilisateur.
+	 * 
+	 * @param l l'observateur à retirer
+	 * 
+	 * @return true si l'observateur était enregistré; false sinon
+	 * 
+	 * @ensures !hasPostListener(l);
+	 * @ensures \result <==> \old(hasPostListener(l));
+	 */
+	public synchronized boolean removePostListener(PostListener l) {
+		PostListener[] current = postListeners;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == l) {
+				PostListener[] updated = current.length == 1 ? NO_LISTENER : new PostListener[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, i);
+				System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+				postListeners = updated;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Renvoie true si l'observateur spécifié est enregistré auprès de cet
+	 * utilisateur.
+	 * 
+	 * @param l l'observateur cherché
+	 * 
+	 * @return true si l'observateur spécifié est enregistré; false sinon
+	 * 
+	 * @pure
+	 */
+	public boolean hasPostListener(PostListener l) {
+		for (PostListener other : postListeners) {
+			if (other == l) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Renvoie le nombre de Post de cet utilisateur.
 	 * 
@@ -548,7 +838,185 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * 
 	 */
 	public FusionSortedIterator<Post, User> newsFeed() {
-		return null;
+		return newsFeed(true);
+	}
+
+	/**
+	 * Renvoie un NewsFeed fusionnant les listes de Post des utilisateurs auxquels
+	 * cet utilisateur est abonné et, si l'argument spécifié est true, la liste des
+	 * Post de cet utilisateur. Comme pour newsFeed(), le NewsFeed renvoyé utilise
+	 * les itérateurs natifs des User fusionnés et les réinitialise. La
+	 * construction du NewsFeed a un coût proportionnel au nombre de User fusionnés,
+	 * les Post n'étant lus qu'au fur et à mesure de l'itération.
+	 * 
+	 * @param includeOwnPosts true si les Post de cet utilisateur doivent figurer
+	 *                        dans le NewsFeed
+	 * 
+	 * @return un NewsFeed pour cet utilisateur
+	 * 
+	 * @ensures \result != null;
+	 * @ensures (\forall User u; hasSubscriptionTo(u); u.lastIndex() == -1 &&
+	 *          u.nextIndex() == 0 && u.previousIndex() == -1);
+	 * @ensures \resmodel = new ListIterObserverAdapter(\result);
+	 * @ensures !\resmodel.contains(null);
+	 * @ensures \resmodel.isSorted(Comparator.reverseOrder());
+	 * @ensures includeOwnPosts ==> \resmodel.containsAll(getPosts());
+	 * @ensures (\forall User u; hasSubscriptionTo(u);
+	 *          \resmodel.containsAll(u.getPosts()));
+	 */
+	public FusionSortedIterator<Post, User> newsFeed(boolean includeOwnPosts) {
+		Set<User> authors = new HashSet<User>(getSubscriptions());
+		if (includeOwnPosts) {
+			authors.add(this);
+		}
+		return new FusionSortedIterator<Post, User>(authors, Post.reverseChronologicalOrder());
+	}
+
+	/**
+	 * Renvoie un fil d'actualité de cet utilisateur indépendant de tout autre
+	 * lecteur. Comme newsFeed(), il fusionne les listes de Post de cet utilisateur
+	 * et des utilisateurs auxquels il est abonné et les énumère du plus récent au
+	 * plus ancien, mais il utilise un PostCursor propre à chaque User fusionné au
+	 * lieu des itérateurs natifs: plusieurs fils d'actualité peuvent donc être
+	 * parcourus simultanément sans interférer, et l'état des itérateurs natifs des
+	 * User n'est pas modifié. L'auteur du dernier Post énuméré est obtenu par
+	 * lastIterator().getUser().
+	 * 
+	 * @return un fil d'actualité indépendant pour cet utilisateur
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \resmodel = new ListIterObserverAdapter(\result);
+	 * @ensures !\resmodel.contains(null);
+	 * @ensures \resmodel.isSorted(Comparator.reverseOrder());
+	 * @ensures \resmodel.containsAll(getPosts());
+	 * @ensures (\forall User u; hasSubscriptionTo(u);
+	 *          \resmodel.containsAll(u.getPosts()));
+	 * 
+	 * @pure
+	 */
+	public FusionSortedIterator<Post, PostCursor> timeLine() {
+		return new FusionSortedIterator<Post, PostCursor>(feedCursors(), Post.reverseChronologicalOrder());
+	}
+
+	/**
+	 * Renvoie un fil d'actualité de cet utilisateur identique à celui de
+	 * timeLine(), dont les size premiers Post sont fusionnés en parallèle dans le
+	 * ForkJoinPool spécifié (cf. FusionSortedIterator(Set, Comparator,
+	 * ForkJoinPool, int)): pour un utilisateur abonné à des milliers d'autres, la
+	 * lecture des premières pages est ainsi répartie entre plusieurs threads.
+	 * Seuls les size premiers Post sont fusionnés en parallèle: les suivants le
+	 * sont séquentiellement, à la demande, comme pour timeLine().
+	 * 
+	 * @param pool le ForkJoinPool exécutant la fusion parallèle
+	 * @param size le nombre de Post, au début du fil, fusionnés en parallèle
+	 * 
+	 * @return un fil d'actualité indépendant pour cet utilisateur
+	 * 
+	 * @throws NullPointerException     si le ForkJoinPool spécifié est null
+	 * @throws IllegalArgumentException si size < 0
+	 * 
+	 * @requires pool != null && size >= 0;
+	 * @ensures \result != null;
+	 * @ensures \resmodel = new ListIterObserverAdapter(\result);
+	 * @ensures \resmodel.equals(new ListIterObserverAdapter(timeLine()));
+	 * 
+	 * @pure
+	 */
+	public FusionSortedIterator<Post, PostCursor> timeLine(ForkJoinPool pool, int size) {
+		return new FusionSortedIterator<Post, PostCursor>(feedCursors(), Post.reverseChronologicalOrder(), pool,
+				size);
+	}
+
+	/**
+	 * Renvoie les k premiers Post, selon le classement spécifié, des Post de cet
+	 * utilisateur et des utilisateurs auxquels il est abonné (cf.
+	 * FeedRanking.top(Collection, int)): une seule fusion pour le classement
+	 * FeedRanking.recency(), une sélection bornée à k Post, sans tri de
+	 * l'ensemble des Post, pour les autres classements.
+	 * 
+	 * @param ranking le classement des Post
+	 * @param k       le nombre maximal de Post renvoyés
+	 * 
+	 * @return une nouvelle liste des k premiers Post du fil d'actualité de cet
+	 *         utilisateur selon le classement spécifié
+	 * 
+	 * @throws NullPointerException     si le classement spécifié est null
+	 * @throws IllegalArgumentException si k < 0
+	 * 
+	 * @requires ranking != null && k >= 0;
+	 * @ensures \result != null;
+	 * @ensures ranking.isSourceOrdered() ==> \result.equals(timeLine().limit(k));
+	 * 
+	 * @pure
+	 */
+	public List<Post> rankedFeed(FeedRanking ranking, int k) {
+		if (ranking == null) {
+			throw new NullPointerException();
+		}
+		return ranking.top(feedAuthors(), k);
+	}
+
+	/*
+	 * Renvoie un nouvel ensemble contenant cet utilisateur et les utilisateurs
+	 * auxquels il est abonné: les auteurs des Post de son fil d'actualité.
+	 */
+	private Set<User> feedAuthors() {
+		Set<User> authors = new HashSet<User>(getSubscriptions());
+		authors.add(this);
+		return authors;
+	}
+
+	/*
+	 * Renvoie un nouvel ensemble de curseurs sur les Post des auteurs du fil
+	 * d'actualité de cet utilisateur (cf. feedAuthors()), sans construire
+	 * l'ensemble de ces auteurs.
+	 */
+	private Set<PostCursor> feedCursors() {
+		Set<PostCursor> cursors = cursors(getSubscriptions());
+		cursors.add(cursor());
+		return cursors;
+	}
+
+	/**
+	 * Renvoie un nouvel ensemble contenant un nouveau curseur sur les Post de
+	 * chacun des utilisateurs spécifiés, dimensionné pour en accueillir un de
+	 * plus.
+	 * 
+	 * @param authors les utilisateurs dont on veut des curseurs
+	 * 
+	 * @return un nouvel ensemble de curseurs sur les Post des utilisateurs
+	 *         spécifiés
+	 * 
+	 * @requires authors != null && !authors.contains(null);
+	 * @ensures \result.size() == authors.size();
+	 * @ensures (\forall PostCursor c; \result.contains(c);
+	 *          authors.contains(c.getUser()) && c.lastIndex() == -1);
+	 */
+	static Set<PostCursor> cursors(Collection<User> authors) {
+		Set<PostCursor> cursors = new HashSet<PostCursor>(authors.size() + 1);
+		for (User u : authors) {
+			cursors.add(u.cursor());
+		}
+		return cursors;
+	}
+
+	/**
+	 * Renvoie un nouveau curseur sur les Post de cet utilisateur, positionné avant
+	 * le plus récent de ses Post. Chaque curseur mémorise sa propre position: son
+	 * usage ne modifie ni l'état de cette instance en tant qu'itérateur, ni celui
+	 * des autres curseurs.
+	 * 
+	 * @return un nouveau curseur sur les Post de cet utilisateur
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result.getUser() == this;
+	 * @ensures !\result.hasPrevious();
+	 * @ensures \result.lastIndex() == -1;
+	 * 
+	 * @pure
+	 */
+	public PostCursor cursor() {
+		return new PostCursor(this);
 	}
 
 	/**
@@ -574,6 +1042,44 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 		return posts.listIterator();
 	}
 
+	/**
+	 * Renvoie un Spliterator sur les Post actuels de cet utilisateur, du plus
+	 * récent au plus ancien, indépendant de l'itération en cours. Ses
+	 * caractéristiques sont ORDERED, SORTED (selon les dates décroissantes),
+	 * SIZED, SUBSIZED, NONNULL et IMMUTABLE: les Post publiés après l'appel ne sont
+	 * pas énumérés, et trySplit() partage les Post restants en deux moitiés en
+	 * O(1), sans copie.
+	 * 
+	 * @return un Spliterator sur les Post de cet utilisateur
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result.estimateSize() == getPostNb();
+	 * @ensures \result.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED
+	 *          | Spliterator.SIZED | Spliterator.SUBSIZED);
+	 * 
+	 * @pure
+	 */
+	@Override
+	public Spliterator<Post> spliterator() {
+		return posts.spliterator();
+	}
+
+	/**
+	 * Renvoie un Stream séquentiel sur les Post actuels de cet utilisateur, du plus
+	 * récent au plus ancien (cf. spliterator()). Le Stream renvoyé peut être
+	 * rendu parallèle par parallel().
+	 * 
+	 * @return un Stream sur les Post de cet utilisateur
+	 * 
+	 * @ensures \result != null;
+	 * @ensures \result.collect(Collectors.toList()).equals(getPosts());
+	 * 
+	 * @pure
+	 */
+	public Stream<Post> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
 	/**
 	 * Initialise ce User pour le démarrage d'une nouvelle itération sur les Post de
 	 * ce User. Cette itération s'effectue à partir du Post le plus récent, de sorte
@@ -586,9 +1092,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public void startIteration() {
-		nextIndex = 0;
-		previousIndex = -1;
-		lastIndex = -1;
+		iteration.startIteration();
 	}
 
 	/**
@@ -603,7 +1107,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public boolean hasNext() {
-		return nextIndex < getPostNb();
+		return iteration.hasNext();
 	}
 
 	/**
@@ -624,14 +1128,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public Post next() {
-		if (!hasNext()) {
-			throw new NoSuchElementException();
-		}
-		Post p = getPost(nextIndex);
-		nextIndex++;
-		previousIndex++;
-		lastIndex++;
-		return p;
+		return iteration.next();
 	}
 
 	/**
@@ -651,10 +1148,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public Post getNext() {
-		if (!hasNext()) {
-			throw new NoSuchElementException();
-		}
-		return getPost(nextIndex);
+		return iteration.getNext();
 	}
 
 	/**
@@ -670,7 +1164,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public boolean hasPrevious() {
-		return previousIndex >= 0;
+		return iteration.hasPrevious();
 	}
 
 	/**
@@ -691,14 +1185,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public Post previous() {
-		if (!hasPrevious()) {
-			throw new NoSuchElementException();
-		}
-		Post p = getPost(previousIndex);
-		nextIndex--;
-		previousIndex--;
-		lastIndex--;
-		return p;
+		return iteration.previous();
 	}
 
 	/**
@@ -718,10 +1205,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public Post getPrevious() {
-		if (!hasPrevious()) {
-			throw new NoSuchElementException();
-		}
-		return getPost(previousIndex);
+		return iteration.getPrevious();
 	}
 
 	/**
@@ -738,10 +1222,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public int nextIndex() {
-		if (hasNext()) {
-			return nextIndex;
-		}
-		return getPostNb();
+		return iteration.nextIndex();
 	}
 
 	/**
@@ -758,10 +1239,7 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 */
 	@Override
 	public int previousIndex() {
-		if (hasPrevious()) {
-			return previousIndex;
-		}
-		return -1;
+		return iteration.previousIndex();
 	}
 
 	/**
@@ -776,7 +1254,30 @@ public class User implements Iterable<Post>, ExtendedListIterator<Post> {
 	 * @pure
 	 */
 	public int lastIndex() {
-		return lastIndex;
+		return iteration.lastIndex();
+	}
+
+	/**
+	 * Positionne l'itération en cours avant le plus récent Post de ce User dont la
+	 * date n'est pas postérieure à la date spécifiée, par recherche dichotomique
+	 * en O(log getPostNb()): les Post précédents sont alors exactement les Post
+	 * postérieurs à cette date.
+	 *
+	 * @param date la date à laquelle positionner l'itération
+	 *
+	 * @throws NullPointerException si la date spécifiée est null
+	 *
+	 * @requires date != null;
+	 * @ensures (\forall int i; i >= 0 && i < nextIndex();
+	 *          getPost(i).getDate().isAfter(date));
+	 * @ensures hasNext() ==> !getNext().getDate().isAfter(date);
+	 * @ensures nextIndex() == 0 ==> lastIndex() == -1;
+	 * @ensures nextIndex() > 0 && hasNext() ==> lastIndex() == nextIndex();
+	 * @ensures nextIndex() > 0 && !hasNext() ==> lastIndex() == previousIndex();
+	 */
+	@Override
+	public void seekTo(Instant date) {
+		iteration.seekTo(date);
 	}
 
 	/**
@@ -0,0 +1,135 @@
+/**
+ *
+ */
+package social.model;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre des instances de User, indexées par leur nom. La recherche d'un User
+ * par son nom et l'enregistrement d'un nouvel User coûtent O(1), et
+ * l'enregistrement est atomique: deux User de même nom ne peuvent être
+ * enregistrés, même par des threads différents.
+ *
+ * @invariant users() != null && !users().contains(null);
+ * @invariant (\forall User u; users().contains(u); get(u.getName()) == u);
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class UserRegistry {
+	private final ConcurrentHashMap<String, User> usersByName;
+	private final Collection<User> users;
+
+	/**
+	 * Initialise un registre vide.
+	 *
+	 * @ensures users().isEmpty();
+	 */
+	UserRegistry() {
+		this.usersByName = new ConcurrentHashMap<String, User>();
+		this.users = new UserView();
+	}
+
+	/**
+	 * Renvoie l'User enregistré sous le nom spécifié, ou null si aucun User de ce
+	 * nom n'a été enregistré.
+	 *
+	 * @param userName le nom de l'User cherché
+	 *
+	 * @return l'User enregistré sous le nom spécifié ou null
+	 *
+	 * @ensures userName == null ==> \result == null;
+	 * @ensures \result != null ==> \result.getName().equals(userName);
+	 *
+	 * @pure
+	 */
+	User get(String userName) {
+		if (userName == null) {
+			return null;
+		}
+		return usersByName.get(userName);
+	}
+
+	/**
+	 * Renvoie true si un User a été enregistré sous le nom spécifié.
+	 *
+	 * @param userName le nom cherché
+	 *
+	 * @return true si un User a été enregistré sous le nom spécifié; false sinon
+	 *
+	 * @ensures \result <==> get(userName) != null;
+	 *
+	 * @pure
+	 */
+	boolean contains(String userName) {
+		return userName != null && usersByName.containsKey(userName);
+	}
+
+	/**
+	 * Enregistre l'User spécifié sous son nom si aucun User de ce nom n'a déjà été
+	 * enregistré. Renvoie false, sans modifier ce registre, si le nom de l'User
+	 * spécifié est déjà pris.
+	 *
+	 * @param u l'User à enregistrer
+	 *
+	 * @return true si l'User spécifié a été enregistré; false si son nom était
+	 *         déjà pris
+	 *
+	 * @requires u != null && u.getName() != null;
+	 * @ensures \result <==> !\old(contains(u.getName()));
+	 * @ensures \result ==> get(u.getName()) == u;
+	 */
+	boolean register(User u) {
+		return usersByName.putIfAbsent(u.getName(), u) == null;
+	}
+
+	/**
+	 * Renvoie une vue non modifiable de l'ensemble des User enregistrés. Le test
+	 * d'appartenance d'un User à cette vue coûte O(1).
+	 *
+	 * @return une vue non modifiable de l'ensemble des User enregistrés
+	 *
+	 * @ensures \result != null;
+	 *
+	 * @pure
+	 */
+	Collection<User> users() {
+		return this.users;
+	}
+
+	private final class UserView extends AbstractCollection<User> {
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof User)) {
+				return false;
+			}
+			User u = (User) o;
+			return u.getName() != null && usersByName.get(u.getName()) == u;
+		}
+
+		@Override
+		public Iterator<User> iterator() {
+			Iterator<User> iter = usersByName.values().iterator();
+			return new Iterator<User>() {
+				@Override
+				public boolean hasNext() {
+					return iter.hasNext();
+				}
+
+				@Override
+				public User next() {
+					return iter.next();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return usersByName.size();
+		}
+	}
+}
@@ -3,8 +3,10 @@
  */
 package social.model.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -15,6 +17,7 @@ import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -35,7 +38,12 @@ import social.model.User;
  *
  */
 public class DataProvider {
-	private static Random randGen = new Random();
+	/**
+	 * Nom de la propriété système permettant de fixer la graine du générateur
+	 * pseudo-aléatoire, et donc de reproduire les données générées.
+	 */
+	public static final String SEED_PROPERTY = "social.model.test.seed";
+	private static Random randGen = newRandGen();
 	static final int LG_STREAM = 500;
 	private static List<String> goodUserNames = Arrays.asList("Marcel", "Adam", "Sonia", "Idir", "Mohamed", "Marc",
 			"Ali", "Ziad", "Lyes", "Ayman", "Mounir", "Pierre", "Chanez", "Lamia", "Yanis", "Faycal", "Boris", "Imam",
@@ -132,6 +140,17 @@ public class DataProvider {
 		return getRandomElt(otherGoodNames);
 	}
 
+	public static Instant dateSupplier() {
+		if (randBool(50)) {
+			return null;
+		}
+		if (randBool(20)) {
+			return randBool() ? Instant.MIN : Instant.MAX;
+		}
+		// La date d'un Post existant, ou une date immédiatement voisine
+		return getRandomElt(allPosts).getDate().plusNanos(randInt(-1, 2));
+	}
+
 	public static Set<User> setOfListIterSupplier() {
 		return randomSet(10, () -> userSupplier());
 	}
@@ -145,6 +164,21 @@ public class DataProvider {
 
 	}
 	
+	private static Random newRandGen() {
+		Long seed = Long.getLong(SEED_PROPERTY);
+		return seed == null ? new Random() : new Random(seed);
+	}
+
+	/**
+	 * Réinitialise le générateur pseudo-aléatoire avec la graine spécifiée: les
+	 * valeurs générées ensuite sont identiques d'une exécution à l'autre.
+	 *
+	 * @param seed la graine du générateur pseudo-aléatoire
+	 */
+	public static void setSeed(long seed) {
+		randGen.setSeed(seed);
+	}
+
 	// int and boolean supplier helpers:
 	/**
 	 * Renvoie un int obtenue par un générateur pseudo-aléatoire.
@@ -326,4 +360,29 @@ public class DataProvider {
 			assertThrows(UnsupportedOperationException.class, () -> listIter.add(null));
 		}
 	}
+
+	/**
+	 * Renvoie la liste des éléments du Spliterator spécifié, obtenue en le
+	 * partageant au hasard par trySplit() et en énumérant les parties par
+	 * tryAdvance() ou forEachRemaining(). La taille des parties est vérifiée si le
+	 * Spliterator est SUBSIZED.
+	 */
+	public static <T> List<T> splitToList(Spliterator<T> s) {
+		List<T> result = new ArrayList<T>();
+		long size = s.estimateSize();
+		Spliterator<T> prefix = randBool(4) ? null : s.trySplit();
+		if (prefix != null) {
+			if (s.hasCharacteristics(Spliterator.SUBSIZED)) {
+				assertEquals(size, prefix.estimateSize() + s.estimateSize());
+			}
+			result.addAll(splitToList(prefix));
+			result.addAll(splitToList(s));
+		} else if (randBool()) {
+			while (s.tryAdvance(result::add)) {
+			}
+		} else {
+			s.forEachRemaining(result::add);
+		}
+		return result;
+	}
 }
@@ -10,14 +10,20 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.ParameterizedTest;
@@ -27,6 +33,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 import social.model.FusionSortedIterator;
 import social.model.ExtendedListIterator;
 import social.model.Post;
+import social.model.PostCursor;
+import social.model.SimplePost;
 import social.model.User;
 
 /**
@@ -61,6 +69,21 @@ public class TestFusionSortedIterator {
 				.limit(DataProvider.LG_STREAM);
 	}
 
+	public static Stream<Arguments> iterAndPageProvider() {
+		return Stream.generate(() -> Arguments.of(DataProvider.fusSortedIterSupplier(), DataProvider.randInt(-2, 60),
+				DataProvider.randInt(-2, 20))).limit(DataProvider.LG_STREAM);
+	}
+
+	public static Stream<Arguments> setOfListIterAndIntProvider() {
+		return Stream.generate(() -> Arguments.of(DataProvider.setOfListIterSupplier(),
+				DataProvider.randBool() ? 0 : DataProvider.randInt(1, 30))).limit(DataProvider.LG_STREAM);
+	}
+
+	public static Stream<Arguments> iterAndDateProvider() {
+		return Stream.generate(() -> Arguments.of(DataProvider.fusSortedIterSupplier(), DataProvider.dateSupplier()))
+				.limit(DataProvider.LG_STREAM);
+	}
+
 	private int prevIndex;
 	private int nextIndex;
 	private int lastIndex;
@@ -709,4 +732,366 @@ public class TestFusionSortedIterator {
 		// Invariant:
 		assertInvariant(self);
 	}
+
+	/**
+	 * Test method for method page
+	 *
+	 * Renvoie une nouvelle liste contenant, dans l'ordre de l'itération, les size
+	 * éléments de cet itérateur à partir de l'index offset.
+	 *
+	 * @throws IllegalArgumentException si offset < 0 ou size < 0
+	 */
+	@ParameterizedTest
+	@MethodSource("iterAndPageProvider")
+	public void testpage(FusionSortedIterator<Post, User> self, int offset, int size) {
+		assumeTrue(self != null);
+		setModel(self);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires offset >= 0 && size >= 0;
+		if (offset < 0 || size < 0) {
+			assertThrows(IllegalArgumentException.class, () -> self.page(offset, size));
+			return;
+		}
+
+		// Oldies:
+		List<Post> oldContent = iterModel.toList();
+		int from = Math.min(offset, oldContent.size());
+		int to = Math.min(offset + size, oldContent.size());
+
+		// Exécution:
+		List<Post> result = self.page(offset, size);
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.equals(iterModel.subList(Math.min(offset,
+		// iterModel.size()), Math.min(offset + size, iterModel.size())));
+		assertEquals(oldContent.subList(from, to), result);
+		assertEquals(oldContent, iterModel.toList());
+		// @ensures nextIndex() == Math.min(offset + \result.size(),
+		// iterModel.size());
+		assertEquals(Math.min(offset + result.size(), oldContent.size()), self.nextIndex());
+		// @ensures !\result.isEmpty() ==> lastIndex() == previousIndex();
+		if (!result.isEmpty()) {
+			assertEquals(self.previousIndex(), self.lastIndex());
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method seekTo
+	 *
+	 * Positionne cet itérateur avant le plus récent élément dont la date n'est pas
+	 * postérieure à la date spécifiée.
+	 *
+	 * @throws NullPointerException si la date spécifiée est null
+	 */
+	@ParameterizedTest
+	@MethodSource("iterAndDateProvider")
+	public void testseekTo(FusionSortedIterator<Post, User> self, Instant date) {
+		assumeTrue(self != null);
+		setModel(self);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires date != null;
+		if (date == null) {
+			assertThrows(NullPointerException.class, () -> self.seekTo(date));
+			return;
+		}
+
+		// Oldies:
+		List<Post> oldContent = iterModel.toList();
+
+		// Exécution:
+		self.seekTo(date);
+
+		// Post-conditions:
+		// Les éléments précédents sont exactement ceux postérieurs à date
+		int expectedIndex = 0;
+		while (expectedIndex < oldContent.size() && oldContent.get(expectedIndex).getDate().isAfter(date)) {
+			expectedIndex++;
+		}
+		assertEquals(expectedIndex, self.nextIndex());
+		// @ensures nextIndex() == 0 ==> lastIndex() == -1;
+		if (self.nextIndex() == 0) {
+			assertEquals(-1, self.lastIndex());
+		} else if (self.hasNext()) {
+			// @ensures nextIndex() > 0 && hasNext() ==> lastIndex() == nextIndex();
+			assertEquals(self.nextIndex(), self.lastIndex());
+			assertEquals(oldContent.get(self.nextIndex()), self.lastIterator().getNext());
+		} else {
+			// @ensures nextIndex() > 0 && !hasNext() ==> lastIndex() ==
+			// previousIndex();
+			assertEquals(self.previousIndex(), self.lastIndex());
+		}
+		// L'itération, dans les deux sens, est inchangée
+		assertEquals(oldContent, iterModel.toList());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test de seekTo pour des comparateurs autres qu'un ordre du plus récent au
+	 * plus ancien: le positionnement par date est refusé et l'itérateur est
+	 * inchangé.
+	 *
+	 * @throws UnsupportedOperationException si comparator() n'est pas un ordre du
+	 *                                       plus récent au plus ancien
+	 */
+	@ParameterizedTest
+	@MethodSource("setOfListIterAndIntProvider")
+	public void testseekToOtherOrder(Set<User> users, int nbNext) {
+		assumeTrue(users != null && !users.contains(null));
+		Set<PostCursor> cursors = new HashSet<PostCursor>();
+		for (User u : users) {
+			cursors.add(u.cursor());
+		}
+		List<Comparator<Post>> refused = Arrays.asList(Comparator.naturalOrder(), Post.chronologicalOrder(),
+				Post.chronologicalOrder().reversed(), Comparator.comparing(Post::getLikeNumber));
+		Instant date = Instant.now();
+		for (Comparator<Post> comparator : refused) {
+			FusionSortedIterator<Post, PostCursor> self = new FusionSortedIterator<Post, PostCursor>(cursors,
+					comparator);
+			for (int i = 0; i < nbNext && self.hasNext(); i++) {
+				self.next();
+			}
+			int oldNextIndex = self.nextIndex();
+			int oldLastIndex = self.lastIndex();
+
+			// Pré-conditions:
+			// @requires comparator().equals(Comparator.reverseOrder()) ||
+			// comparator() == Post.reverseChronologicalOrder();
+			assertThrows(UnsupportedOperationException.class, () -> self.seekTo(date));
+			assertEquals(oldNextIndex, self.nextIndex());
+			assertEquals(oldLastIndex, self.lastIndex());
+		}
+
+		// Post.reverseChronologicalOrder() renvoie toujours la même instance,
+		// acceptée par seekTo
+		assertSame(Post.reverseChronologicalOrder(), Post.reverseChronologicalOrder());
+		FusionSortedIterator<Post, PostCursor> self = new FusionSortedIterator<Post, PostCursor>(cursors,
+				Post.reverseChronologicalOrder());
+		self.seekTo(date);
+		if (self.hasPrevious()) {
+			assertTrue(self.previous().getDate().isAfter(date));
+			self.next();
+		}
+		if (self.hasNext()) {
+			assertFalse(self.next().getDate().isAfter(date));
+		}
+	}
+
+	/**
+	 * Test method for method setLive
+	 *
+	 * Active ou désactive le mode direct de cet itérateur. En mode direct, les Post
+	 * ajoutés par User.addPost aux User dont les Post sont fusionnés sont intégrés
+	 * à l'itération sans la recommencer.
+	 */
+	@ParameterizedTest
+	@MethodSource("setOfListIterAndIntProvider")
+	public void testsetLive(Set<User> users, int nbNext) {
+		assumeTrue(users != null && !users.isEmpty());
+		FusionSortedIterator<Post, User> self = new FusionSortedIterator<Post, User>(users,
+				Comparator.reverseOrder());
+		setModel(self);
+		for (int i = 0; i < nbNext && self.hasNext(); i++) {
+			self.next();
+		}
+
+		// Exécution:
+		self.setLive(true);
+
+		// Post-conditions:
+		// @ensures isLive() == live;
+		assertTrue(self.isLive());
+		assertInvariant(self);
+
+		// Oldies:
+		List<Post> oldContent = iterModel.toList();
+		int oldNextIndex = self.nextIndex();
+		int oldLastIndex = self.lastIndex();
+		User oldLastIterator = self.lastIterator();
+
+		// Un nouveau Post d'un des User fusionnés est intégré à l'itération
+		User author = DataProvider.getRandomElt(users);
+		Post p = author.addPost(new SimplePost("Live test SimplePost"));
+		List<Post> expected = new ArrayList<Post>(oldContent.size() + 1);
+		expected.add(p);
+		expected.addAll(oldContent);
+		if (oldLastIndex == -1) {
+			assertEquals(0, self.nextIndex());
+			assertEquals(-1, self.lastIndex());
+			assertSame(p, self.next());
+			self.previous();
+		} else {
+			assertEquals(oldNextIndex + 1, self.nextIndex());
+			assertEquals(oldLastIndex + 1, self.lastIndex());
+			assertSame(oldLastIterator, self.lastIterator());
+		}
+		assertEquals(expected, iterModel.toList());
+		assertInvariant(self);
+
+		// Exécution:
+		self.setLive(false);
+
+		// Post-conditions:
+		// @ensures isLive() == live;
+		assertFalse(self.isLive());
+	}
+
+	/**
+	 * Test method for
+	 * {@link social.model.FusionSortedIterator#FusionSortedIterator(java.util.Set, java.util.Comparator, java.util.concurrent.ForkJoinPool, int)}.
+	 */
+	@ParameterizedTest
+	@MethodSource("setOfListIterAndIntProvider")
+	public void testFusionSortedIteratorParallel(Set<User> postIterators, int size) {
+		assumeTrue(postIterators != null);
+		// Oldies: l'itération de la fusion séquentielle
+		FusionSortedIterator<Post, User> sequential = new FusionSortedIterator<Post, User>(postIterators,
+				Comparator.reverseOrder());
+		List<Post> oldContent = new ArrayList<Post>();
+		List<User> oldSources = new ArrayList<User>();
+		while (sequential.hasNext()) {
+			oldContent.add(sequential.next());
+			oldSources.add(sequential.lastIterator());
+		}
+
+		// Exécution:
+		FusionSortedIterator<Post, User> self = new FusionSortedIterator<Post, User>(postIterators,
+				Comparator.reverseOrder(), ForkJoinPool.commonPool(), size);
+
+		// Post-conditions:
+		// @ensures (\forall I iter; iters.contains(iter); !iter.hasPrevious() &&
+		// iter.lastIndex() == -1);
+		for (User u : postIterators) {
+			assertFalse(u.hasPrevious());
+			assertEquals(-1, u.lastIndex());
+		}
+		setModel(self);
+		assertInvariant(self);
+		// @ensures !hasPrevious();
+		assertFalse(self.hasPrevious());
+		// @ensures lastIndex() == -1;
+		assertEquals(-1, self.lastIndex());
+		// @ensures lastIterator() == null;
+		assertNull(self.lastIterator());
+		// Itération identique à celle de la fusion séquentielle, dans les deux sens
+		for (int i = 0; i < oldContent.size(); i++) {
+			assertTrue(self.hasNext());
+			assertEquals(i, self.nextIndex());
+			assertSame(oldContent.get(i), self.next());
+			assertSame(oldSources.get(i), self.lastIterator());
+			assertEquals(i, self.lastIndex());
+		}
+		assertFalse(self.hasNext());
+		for (int i = oldContent.size() - 1; i >= 0; i--) {
+			assertTrue(self.hasPrevious());
+			assertSame(oldContent.get(i), self.previous());
+			assertSame(oldSources.get(i), self.lastIterator());
+			assertEquals(i, self.nextIndex());
+		}
+		assertFalse(self.hasPrevious());
+		// La page suivant les éléments fusionnés en parallèle est celle de la fusion
+		// séquentielle
+		int offset = Math.min(size, oldContent.size());
+		assertEquals(oldContent.subList(offset, Math.min(offset + 5, oldContent.size())), self.page(offset, 5));
+		self.startIteration();
+		assertEquals(oldContent.subList(0, Math.min(5, oldContent.size())), self.limit(5));
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method spliterator
+	 *
+	 * Renvoie un Spliterator sur les éléments restants de cet itérateur (d'index
+	 * nextIndex() et suivants), dans l'ordre de l'itération, sans déplacer cet
+	 * itérateur ni les itérateurs fusionnés.
+	 */
+	@ParameterizedTest
+	@MethodSource("fusSortedIterProvider")
+	public void testspliterator(FusionSortedIterator<Post, User> self) {
+		assumeTrue(self != null);
+		setModel(self);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+		List<Post> oldRest = iterModel.toList().subList(self.nextIndex(), iterModel.size());
+
+		// Exécution:
+		Spliterator<Post> result = self.spliterator();
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.estimateSize() == iterModel.size() - nextIndex();
+		assertEquals(oldRest.size(), result.estimateSize());
+		// @ensures \result.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED
+		// | Spliterator.SIZED | Spliterator.SUBSIZED);
+		assertTrue(result.hasCharacteristics(
+				Spliterator.ORDERED | Spliterator.SORTED | Spliterator.SIZED | Spliterator.SUBSIZED));
+		assertEquals(self.comparator(), result.getComparator());
+		assertEquals(oldRest, DataProvider.splitToList(result));
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method stream
+	 *
+	 * Renvoie un Stream séquentiel sur les éléments restants de cet itérateur, dans
+	 * l'ordre de l'itération, sans déplacer cet itérateur.
+	 */
+	@ParameterizedTest
+	@MethodSource("fusSortedIterProvider")
+	public void teststream(FusionSortedIterator<Post, User> self) {
+		assumeTrue(self != null);
+		setModel(self);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+		List<Post> oldRest = iterModel.toList().subList(self.nextIndex(), iterModel.size());
+
+		// Exécution:
+		Stream<Post> result = self.stream();
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.collect(Collectors.toList()).equals(iterModel.subList(
+		// nextIndex(), iterModel.size()));
+		assertEquals(oldRest, result.collect(Collectors.toList()));
+		assertEquals(oldRest, self.stream().parallel().collect(Collectors.toList()));
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
 }
@@ -0,0 +1,200 @@
+package social.model.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import social.model.HybridPostClock;
+import social.model.Post;
+import social.model.PostClock;
+import social.model.SimplePost;
+import social.model.User;
+
+/**
+ * Test class for HybridPostClock.
+ *
+ * Horloge logique hybride: chaque horodatage est le maximum entre l'heure
+ * physique courante et le dernier horodatage renvoyé augmenté d'une
+ * nanoseconde. L'heure physique est fournie au constructeur par une séquence
+ * de valeurs qui avancent, stagnent ou reculent.
+ */
+public class TestHybridPostClock {
+	private static int clockUserCounter = 0;
+
+	/*
+	 * Séquences d'heures physiques: marche avant par pas aléatoires, longues
+	 * périodes sans avancer (horloge grossière) et reculs.
+	 */
+	public static Stream<long[]> physicalTimeProvider() {
+		Stream<long[]> exStream = Stream.of(new long[] { 5, 5, 5, 5 }, new long[] { 10, 9, 8, 7, 20 },
+				new long[] { Long.MIN_VALUE + 1, 0, -1, 0 });
+		return Stream.concat(exStream, Stream.generate(() -> {
+			long[] times = new long[DataProvider.randInt(1, 200)];
+			long t = 1_700_000_000_000_000_000L + DataProvider.randInt(1_000_000);
+			for (int i = 0; i < times.length; i++) {
+				int step = DataProvider.randInt(4);
+				if (step == 0) {
+					t -= DataProvider.randInt(1, 1_000); // recul
+				} else if (step == 1) {
+					t += DataProvider.randInt(1, 1_000_000); // avance
+				} // sinon l'horloge stagne
+				times[i] = t;
+			}
+			return times;
+		})).limit(DataProvider.LG_STREAM);
+	}
+
+	/*
+	 * Source d'heure physique renvoyant successivement les valeurs du tableau
+	 * spécifié, puis la dernière d'entre elles.
+	 */
+	private static final class ScriptedTime {
+		private final long[] times;
+		private int i;
+
+		ScriptedTime(long[] times) {
+			this.times = times;
+		}
+
+		synchronized long next() {
+			return times[Math.min(i++, times.length - 1)];
+		}
+	}
+
+	/**
+	 * Test method for constructor HybridPostClock
+	 *
+	 * @throws NullPointerException si l'argument spécifié est null
+	 */
+	@ParameterizedTest
+	@MethodSource("physicalTimeProvider")
+	public void testHybridPostClock(long[] times) {
+		// Pré-conditions:
+		// @requires physicalClock != null;
+		assertThrows(NullPointerException.class, () -> new HybridPostClock(null));
+
+		// Exécution:
+		ScriptedTime physical = new ScriptedTime(times);
+		PostClock result = new HybridPostClock(physical::next);
+
+		// Post-conditions:
+		// Le premier horodatage est l'heure physique
+		assertEquals(times[0], result.nextTimestamp());
+	}
+
+	/**
+	 * Test method for method nextTimestamp
+	 *
+	 * Renvoie un nouvel horodatage, égal à l'heure physique courante si elle est
+	 * postérieure au dernier horodatage renvoyé, et au dernier horodatage
+	 * augmenté d'une nanoseconde sinon.
+	 */
+	@ParameterizedTest
+	@MethodSource("physicalTimeProvider")
+	public void testnextTimestamp(long[] times) {
+		HybridPostClock self = new HybridPostClock(new ScriptedTime(times)::next);
+		long prev = Long.MIN_VALUE;
+		for (int i = 0; i < times.length; i++) {
+			// Exécution:
+			long result = self.nextTimestamp();
+
+			// Post-conditions:
+			// @ensures \result > \old(nextTimestamp());
+			assertTrue(i == 0 || result > prev);
+			// @ensures \result == Math.max(heure physique lue par cet appel, dernier
+			// horodatage renvoyé + 1);
+			assertEquals(i == 0 ? times[0] : Math.max(times[i], prev + 1), result);
+			prev = result;
+		}
+	}
+
+	/**
+	 * Test de nextTimestamp appelée simultanément par plusieurs threads alors que
+	 * l'heure physique ne change pas: les horodatages renvoyés sont distincts et
+	 * consécutifs à partir de l'heure physique.
+	 */
+	@ParameterizedTest
+	@MethodSource("physicalTimeProvider")
+	public void testnextTimestampConcurrent(long[] times) throws InterruptedException {
+		long stalled = times[0];
+		HybridPostClock self = new HybridPostClock(() -> stalled);
+		int threadNb = DataProvider.randInt(2, 9);
+		int callNb = DataProvider.randInt(1, 200);
+		List<long[]> results = new ArrayList<long[]>();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[threadNb];
+
+		// Exécution:
+		for (int i = 0; i < threadNb; i++) {
+			long[] result = new long[callNb];
+			results.add(result);
+			threads[i] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int j = 0; j < callNb; j++) {
+					result[j] = self.nextTimestamp();
+				}
+			});
+			threads[i].start();
+		}
+		start.countDown();
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		// Post-conditions:
+		Set<Long> all = new HashSet<Long>();
+		for (long[] result : results) {
+			for (int j = 0; j < callNb; j++) {
+				// Chaque thread observe des horodatages strictement croissants
+				assertTrue(j == 0 || result[j] > result[j - 1]);
+				all.add(result[j]);
+			}
+		}
+		assertEquals(threadNb * callNb, all.size());
+		for (long t = stalled; t < stalled + threadNb * callNb; t++) {
+			assertTrue(all.contains(t));
+		}
+	}
+
+	/**
+	 * Test des Post datés par une HybridPostClock dont l'heure physique stagne ou
+	 * recule: leurs dates sont strictement croissantes dans l'ordre de création,
+	 * si bien qu'ils peuvent être ajoutés successivement aux posts d'un User.
+	 */
+	@ParameterizedTest
+	@MethodSource("physicalTimeProvider")
+	public void testSimplePostWithClock(long[] times) {
+		// Auteur sans Post ni abonné, pour que les dates arbitraires des Post du
+		// test ne se mêlent pas à celles des autres User
+		User author = new User("Clock test user " + clockUserCounter++, "password");
+		HybridPostClock clock = new HybridPostClock(new ScriptedTime(times)::next);
+		Post[] posts = new Post[times.length];
+
+		// Exécution:
+		for (int i = 0; i < posts.length; i++) {
+			posts[i] = new SimplePost("Clock test SimplePost " + i, clock);
+			author.addPost(posts[i]);
+		}
+
+		// Post-conditions:
+		for (int i = 1; i < posts.length; i++) {
+			assertTrue(posts[i].isAfter(posts[i - 1]));
+			assertTrue(posts[i].getTimestamp() > posts[i - 1].getTimestamp());
+		}
+		assertEquals(posts.length, author.getPostNb());
+	}
+}
@@ -11,13 +11,18 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.ParameterizedTest;
@@ -25,6 +30,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import social.model.Post;
+import social.model.PostClock;
 import social.model.RePost;
 import social.model.SimplePost;
 import social.model.User;
@@ -60,6 +66,36 @@ public class TestPost {
 				.limit(DataProvider.LG_STREAM);
 	}
 
+	/*
+	 * Couples de Post quelconques, le même Post deux fois, et des Post distincts
+	 * de même date (SimplePost et RePost datés par une horloge arrêtée).
+	 */
+	public static Stream<Arguments> postAndSameOrOtherPostProvider() {
+		return Stream.generate(() -> {
+			Post p = DataProvider.postSupplier();
+			if (p == null || DataProvider.randBool()) {
+				return Arguments.of(p, DataProvider.postSupplier());
+			}
+			if (DataProvider.randBool()) {
+				return Arguments.of(p, p);
+			}
+			long timestamp = p.getTimestamp();
+			PostClock stopped = () -> timestamp;
+			Post other = DataProvider.randBool() ? new SimplePost("Test same date", stopped)
+					: new RePost("Test same date", DataProvider.userSupplier(), p, stopped);
+			return DataProvider.randBool() ? Arguments.of(p, other) : Arguments.of(other, p);
+		}).limit(DataProvider.LG_STREAM);
+	}
+
+	/*
+	 * Profondeurs des chaînes de RePost, jusqu'à des dizaines de milliers de
+	 * niveaux.
+	 */
+	public static Stream<Integer> depthProvider() {
+		return Stream.concat(Stream.of(1, 2, 1_000, 5_000, 20_000),
+				Stream.generate(() -> DataProvider.randInt(1, 5_000))).limit(20);
+	}
+
 	public static Stream<Arguments> stringAndUserProvider() {
 		return Stream
 				.concat(Stream.of(Arguments.of(DataProvider.stringSupplier(), null), Arguments.of(null, null)),
@@ -68,7 +104,7 @@ public class TestPost {
 	}
 
 	public static Stream<Arguments> stringAndUserAndPostProvider() {
-		Stream<Arguments> mainStream = Stream.generate(() -> DataProvider.userSupplier())
+		Stream<Arguments> mainStream = Stream.generate(() -> DataProvider.userSupplier()).filter(u -> u.getPostNb() > 0)
 			.map(u -> Arguments.of(DataProvider.stringSupplier(), u, DataProvider.randBool(50) ?DataProvider.postSupplier() : DataProvider.getRandomElt(u.getPosts())));
 		return Stream.concat(
 				Stream.of(Arguments.of(DataProvider.stringSupplier(), null, DataProvider.postSupplier()),
@@ -81,6 +117,32 @@ public class TestPost {
 		return Stream.generate(() -> DataProvider.stringSupplier()).limit(DataProvider.LG_STREAM);
 	}
 
+	/*
+	 * Nombres de likers des tests de likes concurrents, de part et d'autre du
+	 * seuil de répartition des likers d'un Post entre plusieurs ensembles.
+	 */
+	public static Stream<Integer> likerNbProvider() {
+		return Stream.generate(() -> DataProvider.randInt(1, LIKER_POOL_SIZE + 1)).limit(CONCURRENT_RUN_NB);
+	}
+
+	private static final int LIKER_POOL_SIZE = 200;
+	private static final int CONCURRENT_RUN_NB = 20;
+	private static List<User> likerPool;
+
+	/*
+	 * Renvoie des User créés pour les tests de likes concurrents, sans Post ni
+	 * abonnement, partagés par tous ces tests.
+	 */
+	private static synchronized List<User> likerPool() {
+		if (likerPool == null) {
+			likerPool = new ArrayList<User>(LIKER_POOL_SIZE);
+			for (int i = 0; i < LIKER_POOL_SIZE; i++) {
+				likerPool.add(new User("Concurrent liker " + i, "password"));
+			}
+		}
+		return likerPool;
+	}
+
 	private String text;
 	private Instant creationDate;
 	private Set<User> likers;
@@ -230,6 +292,51 @@ public class TestPost {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method getOriginalPost
+	 *
+	 * Renvoie le Post à l'origine de la chaîne de RePost dont un RePost est le
+	 * dernier maillon, i.e. le premier Post de la chaîne qui n'est pas un RePost.
+	 */
+	@ParameterizedTest
+	@MethodSource("PostProvider")
+	public void testgetOriginalPost(Post self) {
+		assumeTrue(self != null);
+
+		// Oldies:
+		// Le Post d'origine de self, s'il s'agit déjà d'un RePost
+		Post expected = self;
+		while (expected instanceof RePost) {
+			expected = ((RePost) expected).getSubPost();
+		}
+		User author = DataProvider.getRandomElt(User.getAllUser());
+
+		// Exécution:
+		// Une chaîne de RePost de profondeur aléatoire au-dessus de self
+		RePost result = new RePost("Original post test RePost", author, self);
+		int depth = DataProvider.randInt(1, 50);
+		for (int i = 1; i < depth; i++) {
+			result = new RePost("Original post test RePost " + i, author, result);
+		}
+
+		// Post-conditions:
+		// @ensures \result != null && !(\result instanceof RePost);
+		assertNotNull(result.getOriginalPost());
+		assertFalse(result.getOriginalPost() instanceof RePost);
+		// @ensures !(getSubPost() instanceof RePost) ==> \result == getSubPost();
+		// @ensures getSubPost() instanceof RePost ==>
+		// \result == ((RePost) getSubPost()).getOriginalPost();
+		for (RePost r = result; r != null; r = r.getSubPost() instanceof RePost ? (RePost) r.getSubPost() : null) {
+			assertSame(expected, r.getOriginalPost());
+			if (!(r.getSubPost() instanceof RePost)) {
+				assertSame(r.getSubPost(), r.getOriginalPost());
+			}
+		}
+
+		// Invariant:
+		assertInvariant(result);
+	}
+
 	/**
 	 * Test method for method getText
 	 *
@@ -262,6 +369,94 @@ public class TestPost {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method getText sur une chaîne de RePost de profondeur
+	 * spécifiée: le texte d'un RePost est son propre texte suivi de
+	 * " (repost de " + nom de l'auteur du Post republié + " : " + texte du Post
+	 * republié + ")". Le texte est construit sans récursion, que le premier appel
+	 * porte sur le dernier RePost de la chaîne ou sur un RePost intermédiaire.
+	 */
+	@ParameterizedTest
+	@MethodSource("depthProvider")
+	public void testgetTextDeepChain(int depth) {
+		List<User> authors = Stream.generate(DataProvider::userSupplier).limit(8).collect(Collectors.toList());
+		Post original = new SimplePost("Test original");
+		List<RePost> chain = new ArrayList<RePost>(depth);
+		Post p = original;
+		for (int i = 0; i < depth; i++) {
+			p = new RePost("Test RePost " + i, DataProvider.getRandomElt(authors), p);
+			chain.add((RePost) p);
+		}
+		// Texte attendu de chaque RePost: les débuts de texte, du dernier RePost au
+		// premier, suivis du texte d'origine et des parenthèses fermantes
+		StringBuilder prefix = new StringBuilder();
+		int[] start = new int[depth];
+		for (int i = depth - 1; i >= 0; i--) {
+			RePost r = chain.get(i);
+			start[i] = prefix.length();
+			prefix.append("Test RePost ").append(i).append(" (repost de ").append(r.getSubPostAuthor().getName())
+					.append(" : ");
+		}
+		String expected = prefix + original.getText() + ")".repeat(depth);
+		int firstLevel = DataProvider.randBool() ? depth - 1 : DataProvider.randInt(depth);
+
+		// Exécution:
+		String firstText = chain.get(firstLevel).getText();
+		String result = chain.get(depth - 1).getText();
+
+		// Post-conditions:
+		assertEquals(expected, result);
+		assertEquals(prefix.substring(start[firstLevel]) + original.getText() + ")".repeat(firstLevel + 1),
+				firstText);
+		assertSame(result, chain.get(depth - 1).getText());
+	}
+
+	/**
+	 * Test method for method getText sur des RePost dont les chaînes partagent
+	 * des Post: chaque RePost republie un Post tiré parmi les Post déjà créés, si
+	 * bien qu'un même Post (SimplePost ou RePost) figure dans plusieurs chaînes,
+	 * et les textes sont demandés dans un ordre quelconque. Chaque texte est
+	 * comparé à celui défini récursivement.
+	 */
+	@ParameterizedTest
+	@MethodSource("depthProvider")
+	public void testgetTextSharedChain(int depth) {
+		List<User> authors = Stream.generate(DataProvider::userSupplier).limit(8).collect(Collectors.toList());
+		int postNb = Math.min(depth, 300);
+		List<Post> posts = new ArrayList<Post>();
+		List<String> expected = new ArrayList<String>();
+		posts.add(new SimplePost("Test original 0"));
+		expected.add("Test original 0");
+		for (int i = 1; i < postNb; i++) {
+			if (DataProvider.randBool(10)) {
+				posts.add(new SimplePost("Test original " + i));
+				expected.add("Test original " + i);
+			} else {
+				int sub = DataProvider.randInt(posts.size());
+				// Le même Post est republié une seconde fois
+				if (i > 1 && DataProvider.randBool(4)) {
+					sub = posts.size() - 1;
+				}
+				User author = DataProvider.getRandomElt(authors);
+				posts.add(new RePost("Test RePost " + i, author, posts.get(sub)));
+				expected.add("Test RePost " + i + " (repost de " + author.getName() + " : " + expected.get(sub) + ")");
+			}
+		}
+		List<Integer> order = new ArrayList<Integer>();
+		for (int i = 0; i < posts.size(); i++) {
+			order.add(i);
+		}
+		Collections.shuffle(order, new Random(DataProvider.randInt(Integer.MAX_VALUE)));
+
+		// Exécution et Post-conditions:
+		for (int i : order) {
+			assertEquals(expected.get(i), posts.get(i).getText());
+		}
+		for (int i = 0; i < posts.size(); i++) {
+			assertEquals(expected.get(i), posts.get(i).getText());
+		}
+	}
+
 	/**
 	 * Test method for method getLikeNumber
 	 *
@@ -381,6 +576,70 @@ public class TestPost {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test de addLikeFrom appelée simultanément par plusieurs threads sur un même
+	 * SimplePost: chaque thread like tous les likers dans un ordre qui lui est
+	 * propre, de sorte que la plupart des likes sont concurrents et que l'ensemble
+	 * des likers change de représentation pendant les likes dès qu'il dépasse
+	 * quelques dizaines de likers. Chaque liker n'est compté qu'une fois: un seul
+	 * appel à addLikeFrom renvoie true pour chacun d'eux.
+	 */
+	@ParameterizedTest
+	@MethodSource("likerNbProvider")
+	public void testaddLikeFromConcurrent(int likerNb) throws InterruptedException {
+		SimplePost self = new SimplePost("Concurrent likes test SimplePost");
+		List<User> likers = new ArrayList<User>(likerPool().subList(0, likerNb));
+		int threadNb = DataProvider.randInt(2, 9);
+		AtomicInteger accepted = new AtomicInteger();
+		List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[threadNb];
+
+		// Exécution:
+		for (int i = 0; i < threadNb; i++) {
+			List<User> order = new ArrayList<User>(likers);
+			Collections.shuffle(order, new Random(DataProvider.randInt(Integer.MAX_VALUE)));
+			threads[i] = new Thread(() -> {
+				try {
+					start.await();
+					for (User u : order) {
+						if (self.addLikeFrom(u)) {
+							accepted.incrementAndGet();
+						}
+						// Les lectures concurrentes voient un like déjà ajouté
+						assertTrue(self.hasLikeFrom(u));
+					}
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			});
+			threads[i].start();
+		}
+		start.countDown();
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		// Post-conditions:
+		assertEquals(Collections.emptyList(), errors);
+		assertEquals(likerNb, accepted.get());
+		assertEquals(likerNb, self.getLikeNumber());
+		for (User u : likers) {
+			assertTrue(self.hasLikeFrom(u));
+		}
+		for (User u : likerPool().subList(likerNb, LIKER_POOL_SIZE)) {
+			assertFalse(self.hasLikeFrom(u));
+		}
+		assertEquals(new HashSet<User>(likers), self.getLikers());
+		List<User> iterated = new ArrayList<User>();
+		self.iterator().forEachRemaining(iterated::add);
+		assertEquals(likerNb, iterated.size());
+		assertEquals(new HashSet<User>(likers), new HashSet<User>(iterated));
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method getLikers
 	 *
@@ -522,6 +781,44 @@ public class TestPost {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method reverseChronologicalOrder
+	 *
+	 * Renvoie le comparateur des Post du plus récent au plus ancien: son signe est
+	 * l'opposé de celui de compareTo, et il ne renvoie 0 que pour des Post de même
+	 * date, ni antérieurs ni postérieurs l'un à l'autre.
+	 */
+	@ParameterizedTest
+	@MethodSource("postAndSameOrOtherPostProvider")
+	public void testreverseChronologicalOrder(Post self, Post p) {
+		assumeTrue(self != null && p != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Exécution:
+		int result = Post.reverseChronologicalOrder().compare(self, p);
+
+		// Post-conditions:
+		// @ensures Integer.signum(\result) == Integer.signum(p.compareTo(this));
+		assertEquals(Integer.signum(p.compareTo(self)), Integer.signum(result));
+		assertEquals(-Integer.signum(self.compareTo(p)), Integer.signum(result));
+		assertEquals(self.isAfter(p), result < 0);
+		assertEquals(self.isBefore(p), result > 0);
+		assertEquals(!self.isAfter(p) && !self.isBefore(p), result == 0);
+		assertEquals(self.getDate().equals(p.getDate()), result == 0);
+		assertEquals(-Integer.signum(result), Integer.signum(Post.reverseChronologicalOrder().compare(p, self)));
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method before
 	 *
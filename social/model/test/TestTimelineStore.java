@@ -0,0 +1,222 @@
+package social.model.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import social.model.ExtendedListIterator;
+import social.model.FusionSortedIterator;
+import social.model.Post;
+import social.model.SimplePost;
+import social.model.TimelineStore;
+import social.model.User;
+
+/**
+ * Test class for TimelineStore.
+ *
+ * Fils d'actualité précalculés à l'écriture: chaque Post publié est ajouté au
+ * fil de son auteur et aux fils de ses followers, sauf pour les célébrités dont
+ * les Post sont fusionnés à la lecture. Chaque fil ne conserve que les
+ * getCapacity() Post les plus récents.
+ *
+ * Les tests installent le TimelineStore par User.setTimelineStore le temps de
+ * leur exécution, et n'utilisent que des User qu'ils créent.
+ */
+public class TestTimelineStore {
+	private static final int RUN_NB = 50;
+	private static int timelineUserCounter = 0;
+
+	public static Stream<Arguments> capacityAndThresholdProvider() {
+		Stream<Arguments> exStream = Stream.of(Arguments.of(1, 0), Arguments.of(3, 1), Arguments.of(16, 2),
+				Arguments.of(17, 100));
+		return Stream.concat(exStream,
+				Stream.generate(() -> Arguments.of(DataProvider.randInt(1, 40), DataProvider.randInt(0, 5))))
+				.limit(RUN_NB);
+	}
+
+	private static User newUser() {
+		return new User("Timeline test user " + timelineUserCounter++, "password");
+	}
+
+	/**
+	 * Test method for constructor TimelineStore
+	 *
+	 * @throws IllegalArgumentException si capacity <= 0 ou celebrityThreshold < 0
+	 */
+	@ParameterizedTest
+	@MethodSource("capacityAndThresholdProvider")
+	public void testTimelineStore(int capacity, int celebrityThreshold) {
+		// Pré-conditions:
+		// @requires capacity > 0 && celebrityThreshold >= 0;
+		assertThrows(IllegalArgumentException.class, () -> new TimelineStore(1 - capacity, celebrityThreshold));
+		assertThrows(IllegalArgumentException.class, () -> new TimelineStore(capacity, -1 - celebrityThreshold));
+
+		// Exécution:
+		TimelineStore result = new TimelineStore(capacity, celebrityThreshold);
+
+		// Post-conditions:
+		// @ensures getCapacity() == capacity;
+		// @ensures getCelebrityThreshold() == celebrityThreshold;
+		assertEquals(capacity, result.getCapacity());
+		assertEquals(celebrityThreshold, result.getCelebrityThreshold());
+		assertEquals(0, result.getPublishNb());
+		assertEquals(0, result.getPushNb());
+		User reader = DataProvider.getRandomElt(User.getAllUser());
+		assertFalse(result.isCelebrity(reader));
+		assertFalse(result.timeLine(reader).hasNext());
+		assertThrows(NullPointerException.class, () -> result.timeLine(null));
+	}
+
+	/**
+	 * Test method for method timeLine
+	 *
+	 * Une suite aléatoire de publications, d'abonnements, de désabonnements et de
+	 * nouveaux followers (qui font franchir le seuil des célébrités) est
+	 * appliquée à des User neufs. Après chaque opération, le fil renvoyé par
+	 * timeLine(User) est comparé à un modèle du fil précalculé du lecteur (un
+	 * tampon des capacity derniers Post qui lui ont été ajoutés) et, tant que le
+	 * lecteur ne s'est désabonné d'aucun auteur, ses capacity premiers Post sont
+	 * comparés à ceux de User.timeLine().
+	 */
+	@ParameterizedTest
+	@MethodSource("capacityAndThresholdProvider")
+	public void testtimeLine(int capacity, int celebrityThreshold) {
+		TimelineStore self = new TimelineStore(capacity, celebrityThreshold);
+		User reader = newUser();
+		List<User> authors = new ArrayList<User>();
+		for (int i = DataProvider.randInt(2, 6); i > 0; i--) {
+			User author = newUser();
+			authors.add(author);
+			if (DataProvider.randBool()) {
+				reader.addSubscriptionTo(author);
+			}
+		}
+		// Modèle du fil précalculé du lecteur, du plus récent au plus ancien
+		List<Post> model = new ArrayList<Post>();
+		Map<Post, User> authorOf = new HashMap<Post, User>();
+		Set<User> celebrities = new HashSet<User>();
+		boolean unsubscribed = false;
+		int fanNb = 0;
+		long publishNb = 0;
+		long pushNb = 0;
+
+		User.setTimelineStore(self);
+		try {
+			int stepNb = DataProvider.randInt(1, 4 * capacity + 20);
+			for (int step = 0; step < stepNb; step++) {
+				int action = DataProvider.randInt(10);
+				if (action < 6) {
+					// Publication par le lecteur ou l'un des auteurs
+					User author = DataProvider.randBool(5) ? reader : DataProvider.getRandomElt(authors);
+					boolean celebrity = celebrities.contains(author)
+							|| author.getFollowerNb() > celebrityThreshold;
+					Post p = author.addPost(new SimplePost("Timeline test SimplePost " + step));
+					publishNb++;
+					pushNb += celebrity ? 1 : 1 + author.getFollowerNb();
+					if (celebrity) {
+						celebrities.add(author);
+					}
+					authorOf.put(p, author);
+					if (author == reader || (!celebrity && reader.hasSubscriptionTo(author))) {
+						model.add(0, p);
+						if (model.size() > capacity) {
+							model.remove(capacity);
+						}
+					}
+				} else if (action < 7) {
+					// Abonnement à un auteur n'ayant encore rien publié
+					List<User> candidates = new ArrayList<User>();
+					for (User u : authors) {
+						if (!reader.hasSubscriptionTo(u) && u.getPostNb() == 0) {
+							candidates.add(u);
+						}
+					}
+					if (!candidates.isEmpty()) {
+						reader.addSubscriptionTo(DataProvider.getRandomElt(candidates));
+					}
+				} else if (action < 8) {
+					// Désabonnement: les Post de l'auteur quittent le fil
+					User author = DataProvider.getRandomElt(authors);
+					if (reader.removeSubscriptionTo(author)) {
+						model.removeIf(p -> authorOf.get(p) == author);
+						unsubscribed = true;
+					}
+				} else if (fanNb <= celebrityThreshold + 2) {
+					// Nouveau follower d'un auteur
+					newUser().addSubscriptionTo(DataProvider.getRandomElt(authors));
+					fanNb++;
+				}
+
+				assertTimeLine(self, reader, model, authorOf, unsubscribed);
+				for (User u : authors) {
+					assertEquals(celebrities.contains(u), self.isCelebrity(u));
+				}
+				assertEquals(publishNb, self.getPublishNb());
+				assertEquals(pushNb, self.getPushNb());
+			}
+		} finally {
+			User.setTimelineStore(null);
+		}
+	}
+
+	/*
+	 * Vérifie que le fil renvoyé par timeLine(reader), parcouru dans les deux
+	 * sens, est la fusion des Post du modèle du fil précalculé (hors célébrités
+	 * autres que le lecteur) et de tous les Post des célébrités auxquelles le
+	 * lecteur est abonné.
+	 */
+	private static void assertTimeLine(TimelineStore self, User reader, List<Post> model,
+			Map<Post, User> authorOf, boolean unsubscribed) {
+		int capacity = self.getCapacity();
+		List<Post> expected = new ArrayList<Post>();
+		for (Post p : model) {
+			User author = authorOf.get(p);
+			if (author == reader || !self.isCelebrity(author)) {
+				expected.add(p);
+			}
+		}
+		// Le fil précalculé ne conserve que capacity Post au plus
+		assertTrue(expected.size() <= capacity);
+		for (User u : reader.getSubscriptions()) {
+			if (self.isCelebrity(u)) {
+				expected.addAll(u.getPosts());
+			}
+		}
+		expected.sort(Post.reverseChronologicalOrder());
+
+		// Exécution:
+		FusionSortedIterator<Post, ExtendedListIterator<Post>> result = self.timeLine(reader);
+		List<Post> forward = new ArrayList<Post>();
+		while (result.hasNext()) {
+			forward.add(result.next());
+		}
+		List<Post> backward = new ArrayList<Post>();
+		while (result.hasPrevious()) {
+			backward.add(result.previous());
+		}
+		Collections.reverse(backward);
+
+		// Post-conditions:
+		assertEquals(expected, forward);
+		assertEquals(expected, backward);
+		// Tant que le lecteur était abonné à ses auteurs depuis leur premier Post,
+		// les capacity premiers Post sont ceux de User.timeLine()
+		if (!unsubscribed) {
+			assertEquals(reader.timeLine().limit(capacity), forward.subList(0, Math.min(capacity, forward.size())));
+		}
+	}
+}
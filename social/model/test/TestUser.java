@@ -10,7 +10,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -22,15 +24,24 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import social.model.EngagementIndex;
+import social.model.FeedRanking;
 import social.model.FusionSortedIterator;
 import social.model.Post;
+import social.model.PostCursor;
+import social.model.PostListener;
+import social.model.RePost;
 import social.model.SimplePost;
+import social.model.TextIndex;
 import social.model.User;
 import static social.model.test.DataProvider.getRandomElt;
 
@@ -105,6 +116,22 @@ public class TestUser {
 		return userProvider().map(u -> Arguments.of(u, DataProvider.randInt(-1, u.getPostNb() + 2)));
 	}
 
+	/*
+	 * Nombre de threads et nombre de User pour les abonnements simultanés: peu de
+	 * User, afin que les threads se disputent les mêmes couples.
+	 */
+	public static Stream<Arguments> threadAndUserNbProvider() {
+		Stream<Arguments> exStream = Stream.of(Arguments.of(2, 2), Arguments.of(8, 2), Arguments.of(4, 3));
+		return Stream.concat(exStream,
+				Stream.generate(() -> Arguments.of(DataProvider.randInt(2, 9), DataProvider.randInt(2, 8))))
+				.limit(DataProvider.LG_STREAM / 5);
+	}
+
+	public static Stream<Arguments> userAndDateProvider() {
+		return Stream.generate(() -> Arguments.of(DataProvider.userSupplier(), DataProvider.dateSupplier()))
+				.limit(DataProvider.LG_STREAM);
+	}
+
 	public static Stream<Arguments> userAndUserProvider() {
 		User u = DataProvider.userSupplier();
 		Stream<Arguments> exStream = Stream.of(Arguments.of(u, null), Arguments.of(u, u));
@@ -114,6 +141,8 @@ public class TestUser {
 				.limit(DataProvider.LG_STREAM);
 	}
 
+	private static int concurrentUserCounter = 0;
+
 	private String name;
 	private String password;
 	private Instant subscriptionDate;
@@ -291,6 +320,132 @@ public class TestUser {
 		assertInvariant(result);
 	}
 
+	/**
+	 * Test du constructeur User lorsque plusieurs threads créent simultanément un
+	 * User de même nom: un seul User est enregistré, les autres constructions
+	 * lèvent IllegalArgumentException, et l'User enregistré peut ensuite
+	 * s'abonner et être suivi normalement.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testUserConcurrent(User other) throws InterruptedException {
+		assumeTrue(other != null);
+		String userName = "Concurrent user " + concurrentUserCounter++;
+		int threadNb = DataProvider.randInt(2, 8);
+		List<User> created = Collections.synchronizedList(new ArrayList<User>());
+		List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		Thread[] threads = new Thread[threadNb];
+
+		// Exécution:
+		for (int i = 0; i < threadNb; i++) {
+			threads[i] = new Thread(() -> {
+				try {
+					created.add(new User(userName, "password"));
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			});
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		// Post-conditions:
+		assertEquals(1, created.size());
+		assertEquals(threadNb - 1, errors.size());
+		for (Throwable e : errors) {
+			assertTrue(e instanceof IllegalArgumentException);
+		}
+		User result = created.get(0);
+		assertSame(result, User.getUser(userName));
+		assertTrue(result.addSubscriptionTo(other));
+		assertTrue(other.getFollowers().contains(result));
+		assertTrue(other.addSubscriptionTo(result));
+		assertTrue(result.getFollowers().contains(other));
+		assertEquals(Collections.singleton(other), result.getFollowers());
+
+		// Invariant:
+		assertInvariant(result);
+	}
+
+	/**
+	 * Test method for methods getReposters and getRepostNb
+	 *
+	 * Renvoie un itérateur non modifiable sur les User auxquels un RePost du Post
+	 * spécifié a été ajouté (par addPost), dans l'ordre de ces ajouts. Un User
+	 * ayant ajouté plusieurs RePost du même Post est énuméré une fois par RePost.
+	 * Les RePost d'un RePost ne comptent que pour ce RePost, et
+	 * RePost.getOriginalPost() remonte la chaîne jusqu'au Post d'origine.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testgetReposters(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// Un Post qui n'a jamais été republié
+		Post original = self.addPost(new SimplePost("Reposters test SimplePost " + self.getPostNb()));
+		assertEquals(0, User.getRepostNb(original));
+		assertFalse(User.getReposters(original).hasNext());
+		assertEquals(0, User.getRepostNb(null));
+		assertFalse(User.getReposters(null).hasNext());
+
+		// Exécution:
+		// Des User choisis au hasard (certains plusieurs fois) republient le Post
+		// d'origine ou l'un de ses RePost
+		List<User> users = new ArrayList<User>(User.getAllUser());
+		List<Post> chain = new ArrayList<Post>();
+		List<User> chainAuthors = new ArrayList<User>();
+		chain.add(original);
+		chainAuthors.add(self);
+		List<List<User>> expectedReposters = new ArrayList<List<User>>();
+		expectedReposters.add(new ArrayList<User>());
+		for (int i = DataProvider.randInt(1, 20); i > 0; i--) {
+			User reposter = getRandomElt(users);
+			int sub = DataProvider.randBool() ? 0 : DataProvider.randInt(chain.size());
+			RePost r = new RePost("Reposters test RePost " + i, chainAuthors.get(sub), chain.get(sub));
+			reposter.addPost(r);
+			expectedReposters.get(sub).add(reposter);
+			chain.add(r);
+			chainAuthors.add(reposter);
+			expectedReposters.add(new ArrayList<User>());
+		}
+
+		// Post-conditions:
+		for (int i = 0; i < chain.size(); i++) {
+			Post p = chain.get(i);
+			List<User> expected = expectedReposters.get(i);
+			// @ensures \result énumère getRepostNb(p) User, dans l'ordre des ajouts
+			// des RePost de p, un même User étant énuméré une fois par RePost
+			assertEquals(expected.size(), User.getRepostNb(p));
+			List<User> reposters = new ArrayList<User>();
+			Iterator<User> iter = User.getReposters(p);
+			while (iter.hasNext()) {
+				reposters.add(iter.next());
+			}
+			assertEquals(expected, reposters);
+			assertThrows(NoSuchElementException.class, () -> iter.next());
+			Iterator<User> other = User.getReposters(p);
+			if (other.hasNext()) {
+				other.next();
+				assertThrows(UnsupportedOperationException.class, () -> other.remove());
+			}
+			// Chaque RePost remonte jusqu'au Post d'origine
+			if (p instanceof RePost) {
+				assertSame(original, ((RePost) p).getOriginalPost());
+			}
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method getName
 	 *
@@ -642,6 +797,105 @@ public class TestUser {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test des méthodes addSubscriptionTo et removeSubscriptionTo lorsque
+	 * plusieurs threads abonnent et désabonnent simultanément les mêmes User, dans
+	 * les deux sens (u à v et v à u): aucune opération ne bloque, et à la fin les
+	 * abonnements et les followers sont symétriques, leurs nombres sont ceux des
+	 * ensembles, et chaque couple modifié par un seul thread est dans l'état
+	 * fixé par la dernière opération de ce thread.
+	 */
+	@ParameterizedTest
+	@MethodSource("threadAndUserNbProvider")
+	public void testSubscriptionConcurrent(int threadNb, int userNb) throws InterruptedException {
+		List<User> users = new ArrayList<User>();
+		for (int i = 0; i < userNb; i++) {
+			users.add(new User("Concurrent user " + concurrentUserCounter++, "password"));
+		}
+		int opNb = DataProvider.randInt(1, 2000);
+		// Opérations de chaque thread: abonné, compte suivi, abonnement ou non
+		int[][] followers = new int[threadNb][opNb];
+		int[][] followed = new int[threadNb][opNb];
+		boolean[][] follow = new boolean[threadNb][opNb];
+		// Threads ayant modifié chaque couple, et dernière opération sur ce couple
+		int[][] writer = new int[userNb][userNb];
+		boolean[][] lastFollow = new boolean[userNb][userNb];
+		for (int[] row : writer) {
+			Arrays.fill(row, -1);
+		}
+		for (int t = 0; t < threadNb; t++) {
+			for (int j = 0; j < opNb; j++) {
+				int u = DataProvider.randInt(userNb);
+				int v = (u + DataProvider.randInt(1, userNb)) % userNb;
+				followers[t][j] = u;
+				followed[t][j] = v;
+				follow[t][j] = DataProvider.randBool();
+				writer[u][v] = writer[u][v] == -1 || writer[u][v] == t ? t : -2;
+				lastFollow[u][v] = follow[t][j];
+			}
+		}
+		List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[threadNb];
+
+		// Exécution:
+		for (int i = 0; i < threadNb; i++) {
+			int t = i;
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+					for (int j = 0; j < opNb; j++) {
+						User u = users.get(followers[t][j]);
+						User v = users.get(followed[t][j]);
+						if (follow[t][j]) {
+							u.addSubscriptionTo(v);
+						} else {
+							u.removeSubscriptionTo(v);
+						}
+					}
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread t : threads) {
+			// Un interblocage laisserait le thread en vie
+			t.join(10_000);
+			assertFalse(t.isAlive());
+		}
+
+		// Post-conditions:
+		assertEquals(Collections.emptyList(), errors);
+		int subscriptionNb = 0;
+		int followerNb = 0;
+		for (int u = 0; u < userNb; u++) {
+			User self = users.get(u);
+			Set<User> subscriptions = self.getSubscriptions();
+			Set<User> followerSet = self.getFollowers();
+			assertEquals(subscriptions.size(), self.getSubscriptionNb());
+			assertEquals(followerSet.size(), self.getFollowerNb());
+			for (User v : subscriptions) {
+				assertTrue(v.getFollowers().contains(self));
+				assertTrue(v.hasFollower(self));
+			}
+			for (User v : followerSet) {
+				assertTrue(v.getSubscriptions().contains(self));
+				assertTrue(v.hasSubscriptionTo(self));
+			}
+			for (int v = 0; v < userNb; v++) {
+				if (writer[u][v] >= 0) {
+					assertEquals(lastFollow[u][v], self.hasSubscriptionTo(users.get(v)));
+				}
+			}
+			subscriptionNb += self.getSubscriptionNb();
+			followerNb += self.getFollowerNb();
+			assertInvariant(self);
+		}
+		assertEquals(subscriptionNb, followerNb);
+	}
+
 	/**
 	 * Test method for method hasSubscriptionTo
 	 *
@@ -871,6 +1125,12 @@ public class TestUser {
 			p = getRandomElt(result);
 		}
 		DataProvider.assertIsUnmodifiable(result, () -> p);
+		// Les méthodes de modification lèvent UnsupportedOperationException même
+		// lorsqu'elles ne modifieraient rien
+		assertThrows(UnsupportedOperationException.class, () -> result.addAll(Collections.emptyList()));
+		assertThrows(UnsupportedOperationException.class, () -> result.addAll(0, Collections.emptyList()));
+		assertThrows(UnsupportedOperationException.class, () -> result.subList(0, 0).clear());
+		assertThrows(UnsupportedOperationException.class, () -> result.subList(0, result.size()));
 
 		// Assert purity:
 		assertPurity(self);
@@ -917,6 +1177,9 @@ public class TestUser {
 		// 1;
 		int oldNextIndex = self.nextIndex();
 		int oldLastIndex = self.lastIndex();
+		// old in:@ensures p instanceof RePost ==> getRepostNb(((RePost)
+		// p).getSubPost()) == \old(getRepostNb(((RePost) p).getSubPost())) + 1;
+		int oldRepostNb = p instanceof RePost ? User.getRepostNb(((RePost) p).getSubPost()) : 0;
 
 		// Exécution:
 		Post result = self.addPost(p);
@@ -942,6 +1205,11 @@ public class TestUser {
 			// @ensures \old(lastIndex()) > -1 ==> lastIndex() == \old(lastIndex()) + 1;
 			assertEquals(oldLastIndex + 1, self.lastIndex());
 		}
+		// @ensures p instanceof RePost ==> getRepostNb(((RePost) p).getSubPost()) ==
+		// \old(getRepostNb(((RePost) p).getSubPost())) + 1;
+		if (p instanceof RePost) {
+			assertEquals(oldRepostNb + 1, User.getRepostNb(((RePost) p).getSubPost()));
+		}
 
 		// Invariant:
 		assertInvariant(self);
@@ -1046,6 +1314,468 @@ public class TestUser {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method rankedFeed
+	 *
+	 * Renvoie les k premiers Post, selon le classement spécifié, des Post de cet
+	 * utilisateur et des utilisateurs auxquels il est abonné.
+	 */
+	@ParameterizedTest
+	@MethodSource("userAndIntProvider")
+	public void testrankedFeed(User self, int k) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		FeedRanking ranking;
+		switch (DataProvider.randInt(3)) {
+		case 0:
+			ranking = FeedRanking.recency();
+			break;
+		case 1:
+			ranking = FeedRanking.likes();
+			break;
+		default:
+			ranking = FeedRanking.score(DataProvider.randInt(1, 5), Duration.ofMinutes(DataProvider.randInt(1, 60)),
+					Instant.now());
+		}
+		if (k < 0) {
+			assertThrows(IllegalArgumentException.class, () -> self.rankedFeed(FeedRanking.likes(), k));
+			return;
+		}
+		assertThrows(NullPointerException.class, () -> self.rankedFeed(null, k));
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+		List<Post> all = new ArrayList<Post>(self.getPosts());
+		for (User u : self.getSubscriptions()) {
+			all.addAll(u.getPosts());
+		}
+		all.sort(ranking.comparator());
+
+		// Exécution:
+		List<Post> result = self.rankedFeed(ranking, k);
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		assertEquals(all.subList(0, Math.min(k, all.size())), result);
+		// @ensures ranking.isSourceOrdered() ==> \result.equals(timeLine().limit(k));
+		if (ranking.isSourceOrdered()) {
+			assertEquals(self.timeLine().limit(k), result);
+		}
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method setEngagementIndex
+	 *
+	 * Installe l'EngagementIndex dans lequel seront classés les Post publiés
+	 * ensuite par addPost, et mis à jour à chaque like de ces Post.
+	 */
+	@ParameterizedTest
+	@MethodSource("userAndIntProvider")
+	public void testsetEngagementIndex(User self, int k) {
+		assumeTrue(self != null && k >= 0);
+		EngagementIndex oldIndex = User.getEngagementIndex();
+		EngagementIndex index = new EngagementIndex(DataProvider.randInt(1, 5),
+				Duration.ofMillis(DataProvider.randInt(1, 1000)));
+		try {
+			// Exécution:
+			User.setEngagementIndex(index);
+
+			// Post-conditions:
+			// @ensures getEngagementIndex() == index;
+			assertSame(index, User.getEngagementIndex());
+
+			// Les Post publiés ensuite sont classés, et reclassés à chaque like
+			List<User> authors = new ArrayList<User>(self.getSubscriptions());
+			authors.add(self);
+			List<Post> published = new ArrayList<Post>();
+			for (int i = DataProvider.randInt(20); i > 0; i--) {
+				Post p = getRandomElt(authors).addPost(new SimplePost("Engagement test SimplePost " + i));
+				assertTrue(index.contains(p));
+				published.add(p);
+			}
+			List<User> likers = new ArrayList<User>(authors);
+			for (int i = DataProvider.randInt(40); i > 0 && !published.isEmpty(); i--) {
+				getRandomElt(published).addLikeFrom(getRandomElt(likers));
+			}
+			List<Post> expected = new ArrayList<Post>(published);
+			expected.sort((p1, p2) -> {
+				int cmp = Double.compare(index.key(p2), index.key(p1));
+				return cmp != 0 ? cmp : Long.compare(p2.getTimestamp(), p1.getTimestamp());
+			});
+			assertEquals(expected.subList(0, Math.min(k, expected.size())), index.top(self, k));
+		} finally {
+			User.setEngagementIndex(oldIndex);
+		}
+		assertSame(oldIndex, User.getEngagementIndex());
+	}
+
+	/**
+	 * Test method for method setTextIndex
+	 *
+	 * Installe le TextIndex dans lequel seront indexés les textes des Post
+	 * publiés ensuite par addPost.
+	 */
+	@ParameterizedTest
+	@MethodSource("userAndIntProvider")
+	public void testsetTextIndex(User self, int k) {
+		assumeTrue(self != null && k >= 0);
+		TextIndex oldIndex = User.getTextIndex();
+		TextIndex index = new TextIndex();
+		String[] words = { "alpha", "Beta", "gamma", "delta", "epsilon", "zêta" };
+		try {
+			// Exécution:
+			User.setTextIndex(index);
+
+			// Post-conditions:
+			// @ensures getTextIndex() == index;
+			assertSame(index, User.getTextIndex());
+
+			// Les Post publiés ensuite sont indexés selon leur propre texte, un
+			// RePost sans le texte du Post republié
+			List<User> authors = new ArrayList<User>(self.getSubscriptions());
+			authors.add(self);
+			List<Post> published = new ArrayList<Post>();
+			List<User> publishers = new ArrayList<User>();
+			List<List<String>> texts = new ArrayList<List<String>>();
+			for (int i = DataProvider.randInt(300); i > 0; i--) {
+				StringBuilder sb = new StringBuilder("Test");
+				for (int j = DataProvider.randInt(4); j > 0; j--) {
+					sb.append(j % 2 == 0 ? ", " : " ").append(getRandomElt(Arrays.asList(words)));
+				}
+				User author = getRandomElt(authors);
+				Post p;
+				if (!published.isEmpty() && DataProvider.randInt(4) == 0) {
+					int sub = DataProvider.randInt(published.size());
+					p = author.addPost(new RePost(sb.toString(), publishers.get(sub), published.get(sub)));
+				} else {
+					p = author.addPost(new SimplePost(sb.toString()));
+				}
+				published.add(p);
+				publishers.add(author);
+				texts.add(TextIndex.tokens(sb.toString()));
+			}
+			assertEquals(published.size(), index.size());
+			assertEquals(Arrays.asList("test", "beta", "zêta"), TextIndex.tokens("Test  BETA,zêta... beta"));
+
+			List<String> query = new ArrayList<String>();
+			for (int j = DataProvider.randInt(3); j > 0; j--) {
+				query.add(getRandomElt(Arrays.asList(words)).toUpperCase());
+			}
+			List<String> tokens = new ArrayList<String>();
+			for (String t : query) {
+				tokens.add(t.toLowerCase());
+			}
+			List<Post> all = new ArrayList<Post>();
+			List<Post> any = new ArrayList<Post>();
+			for (int i = published.size() - 1; i >= 0; i--) {
+				if (!tokens.isEmpty() && texts.get(i).containsAll(tokens)) {
+					all.add(published.get(i));
+				}
+				if (!Collections.disjoint(texts.get(i), tokens)) {
+					any.add(published.get(i));
+				}
+			}
+			assertTrue(index.isDateOrdered());
+			assertEquals(all.subList(0, Math.min(k, all.size())), index.searchAll(query, k));
+			assertEquals(any.subList(0, Math.min(k, any.size())), index.searchAny(query, k));
+			assertEquals(Collections.emptyList(), index.searchAll(Arrays.asList("alpha", "absent"), k));
+			assertThrows(NullPointerException.class, () -> index.searchAll(null, k));
+			assertThrows(IllegalArgumentException.class, () -> index.searchAny(query, -1));
+		} finally {
+			User.setTextIndex(oldIndex);
+		}
+		assertSame(oldIndex, User.getTextIndex());
+	}
+
+	/**
+	 * Test du TextIndex lorsque plusieurs threads publient simultanément: chaque
+	 * thread crée alternativement les Post de deux auteurs, puis publie tous ceux
+	 * du premier avant ceux du second, si bien que les numéros de l'index ne
+	 * suivent pas l'ordre des dates. Les requêtes exécutées pendant les
+	 * publications, puis après, renvoient au plus k Post du plus récent au plus
+	 * ancien, et ce sont finalement les k plus récents Post contenant les mots
+	 * cherchés.
+	 */
+	@ParameterizedTest
+	@MethodSource("userAndIntProvider")
+	public void testsetTextIndexConcurrent(User other, int k) throws InterruptedException {
+		assumeTrue(other != null && k >= 0);
+		TextIndex oldIndex = User.getTextIndex();
+		TextIndex index = new TextIndex();
+		String[] words = { "alpha", "beta", "gamma" };
+		List<String> query = Arrays.asList(getRandomElt(Arrays.asList(words)));
+		int threadNb = DataProvider.randInt(2, 6);
+		List<Post> published = Collections.synchronizedList(new ArrayList<Post>());
+		List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[threadNb];
+		try {
+			User.setTextIndex(index);
+
+			// Exécution:
+			for (int i = 0; i < threadNb; i++) {
+				User first = new User("Concurrent user " + concurrentUserCounter++, "password");
+				User second = new User("Concurrent user " + concurrentUserCounter++, "password");
+				other.addSubscriptionTo(first);
+				List<Post> firstPosts = new ArrayList<Post>();
+				List<Post> secondPosts = new ArrayList<Post>();
+				for (int j = DataProvider.randInt(1, 50); j > 0; j--) {
+					firstPosts.add(new SimplePost("Test " + getRandomElt(Arrays.asList(words))));
+					secondPosts.add(new SimplePost("Test " + getRandomElt(Arrays.asList(words))));
+				}
+				threads[i] = new Thread(() -> {
+					try {
+						start.await();
+						for (Post p : firstPosts) {
+							published.add(first.addPost(p));
+							assertSearch(index.searchAny(query, k), k);
+						}
+						for (Post p : secondPosts) {
+							published.add(second.addPost(p));
+							assertSearch(index.searchAny(query, k), k);
+						}
+					} catch (Throwable e) {
+						errors.add(e);
+					}
+				});
+				threads[i].start();
+			}
+			start.countDown();
+			for (Thread t : threads) {
+				t.join(10_000);
+				assertFalse(t.isAlive());
+			}
+			List<Post> result = index.searchAll(query, k);
+
+			// Post-conditions:
+			assertEquals(Collections.emptyList(), errors);
+			assertEquals(published.size(), index.size());
+			List<Long> expected = new ArrayList<Long>();
+			for (Post p : published) {
+				if (TextIndex.tokens(p.getText()).containsAll(query)) {
+					expected.add(p.getTimestamp());
+				}
+			}
+			expected.sort(Comparator.reverseOrder());
+			assertSearch(result, k);
+			List<Long> timestamps = new ArrayList<Long>();
+			for (Post p : result) {
+				assertTrue(TextIndex.tokens(p.getText()).containsAll(query));
+				timestamps.add(p.getTimestamp());
+			}
+			assertEquals(expected.subList(0, Math.min(k, expected.size())), timestamps);
+			assertEquals(result.size(), new HashSet<Post>(result).size());
+		} finally {
+			User.setTextIndex(oldIndex);
+		}
+	}
+
+	/*
+	 * Vérifie que le résultat spécifié d'une requête compte au plus k Post, du
+	 * plus récent au plus ancien.
+	 */
+	private static void assertSearch(List<Post> result, int k) {
+		assertTrue(result.size() <= k);
+		for (int i = 1; i < result.size(); i++) {
+			assertFalse(result.get(i).isAfter(result.get(i - 1)));
+		}
+	}
+
+	/**
+	 * Test method for method cursor
+	 *
+	 * Renvoie un nouveau curseur sur les Post de cet utilisateur, positionné avant
+	 * le plus récent de ses Post. Chaque curseur mémorise sa propre position: son
+	 * usage ne modifie ni l'état de cette instance en tant qu'itérateur, ni celui
+	 * des autres curseurs.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testcursor(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+
+		// Exécution:
+		PostCursor result = self.cursor();
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.getUser() == this;
+		assertSame(self, result.getUser());
+		// @ensures !\result.hasPrevious();
+		assertFalse(result.hasPrevious());
+		// @ensures \result.lastIndex() == -1;
+		assertEquals(-1, result.lastIndex());
+		// Le curseur énumère les Post de l'User
+		ListIterObserver<Post> resmodel = new ListIterObserverAdapter<Post>(result);
+		assertEquals(self.getPosts(), resmodel.toList());
+		assertThrows(UnsupportedOperationException.class, () -> result.add(new SimplePost("Some text")));
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test de l'indépendance de deux curseurs sur le même User: leurs
+	 * déplacements alternent avec des appels à addPost, et chaque curseur suit la
+	 * spécification de User.addPost(Post) (index décalés de un si l'itération a
+	 * commencé, inchangés sinon) sans modifier l'état de l'autre curseur ni celui
+	 * de l'itérateur natif de l'User.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testcursorsWithAddPost(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Exécution:
+		PostCursor[] cursors = { self.cursor(), self.cursor() };
+		int[] nextIndexes = { 0, 0 };
+		int[] lastIndexes = { -1, -1 };
+		for (int step = DataProvider.randInt(60); step > 0; step--) {
+			int nativeLastIndex = self.lastIndex();
+			int nativeNextIndex = self.nextIndex();
+			int action = DataProvider.randInt(5);
+			if (action == 0) {
+				self.addPost(new SimplePost("Cursor test SimplePost " + step));
+				for (int i = 0; i < cursors.length; i++) {
+					if (lastIndexes[i] > -1) {
+						nextIndexes[i]++;
+						lastIndexes[i]++;
+					}
+				}
+				// Post-conditions de addPost pour l'itérateur natif
+				assertEquals(nativeLastIndex > -1 ? nativeNextIndex + 1 : nativeNextIndex, self.nextIndex());
+			} else {
+				int i = DataProvider.randInt(cursors.length);
+				PostCursor c = cursors[i];
+				if (action % 2 == 0) {
+					if (nextIndexes[i] == self.getPostNb()) {
+						assertFalse(c.hasNext());
+						assertThrows(NoSuchElementException.class, () -> c.next());
+					} else {
+						Post expected = self.getPost(nextIndexes[i]);
+						assertSame(expected, c.getNext());
+						assertSame(expected, c.next());
+						lastIndexes[i] = nextIndexes[i];
+						nextIndexes[i]++;
+					}
+				} else {
+					if (nextIndexes[i] == 0) {
+						assertFalse(c.hasPrevious());
+						assertThrows(NoSuchElementException.class, () -> c.previous());
+					} else {
+						Post expected = self.getPost(nextIndexes[i] - 1);
+						assertSame(expected, c.getPrevious());
+						assertSame(expected, c.previous());
+						nextIndexes[i]--;
+						lastIndexes[i] = nextIndexes[i];
+					}
+				}
+				// L'itérateur natif n'est pas déplacé
+				assertEquals(nativeLastIndex, self.lastIndex());
+				assertEquals(nativeNextIndex, self.nextIndex());
+			}
+
+			// Post-conditions:
+			for (int i = 0; i < cursors.length; i++) {
+				assertEquals(nextIndexes[i], cursors[i].nextIndex());
+				assertEquals(nextIndexes[i] - 1, cursors[i].previousIndex());
+				assertEquals(lastIndexes[i], cursors[i].lastIndex());
+				assertEquals(nextIndexes[i] < self.getPostNb(), cursors[i].hasNext());
+				assertEquals(nextIndexes[i] > 0, cursors[i].hasPrevious());
+			}
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method timeLine
+	 *
+	 * Renvoie un fil d'actualité de cet utilisateur indépendant de tout autre
+	 * lecteur: deux fils parcourus en alternance énumèrent les mêmes Post, sans
+	 * modifier l'état des itérateurs natifs des User.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testtimeLine(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Oldies:
+		List<Post> expected = new ArrayList<Post>(self.getPosts());
+		for (User u : self.getSubscriptions()) {
+			expected.addAll(u.getPosts());
+		}
+		expected.sort(Post.reverseChronologicalOrder());
+
+		// Exécution:
+		FusionSortedIterator<Post, PostCursor> first = self.timeLine();
+		FusionSortedIterator<Post, PostCursor> second = self.timeLine();
+		List<Post> firstPosts = new ArrayList<Post>();
+		List<Post> secondPosts = new ArrayList<Post>();
+		while (first.hasNext() || second.hasNext()) {
+			FusionSortedIterator<Post, PostCursor> feed = !second.hasNext() || (first.hasNext() && DataProvider.randBool())
+					? first
+					: second;
+			Post p = feed.next();
+			(feed == first ? firstPosts : secondPosts).add(p);
+			// @ensures lastIterator().getUser() est l'auteur du dernier Post énuméré
+			assertTrue(feed.lastIterator().getUser().getPosts().contains(p));
+		}
+
+		// Post-conditions:
+		// @ensures \resmodel.isSorted(Comparator.reverseOrder());
+		// @ensures \resmodel.containsAll(getPosts());
+		// @ensures (\forall User u; hasSubscriptionTo(u);
+		// \resmodel.containsAll(u.getPosts()));
+		assertEquals(expected, firstPosts);
+		assertEquals(expected, secondPosts);
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method iterator
 	 *
@@ -1101,6 +1831,83 @@ public class TestUser {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method spliterator
+	 *
+	 * Renvoie un Spliterator sur les Post actuels de cet utilisateur, du plus
+	 * récent au plus ancien, indépendant de l'itération en cours.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testspliterator(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Exécution:
+		Spliterator<Post> result = self.spliterator();
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.estimateSize() == getPostNb();
+		assertEquals(self.getPostNb(), result.estimateSize());
+		// @ensures \result.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED
+		// | Spliterator.SIZED | Spliterator.SUBSIZED);
+		assertTrue(result.hasCharacteristics(
+				Spliterator.ORDERED | Spliterator.SORTED | Spliterator.SIZED | Spliterator.SUBSIZED));
+		assertEquals(self.getPosts(), DataProvider.splitToList(result));
+		List<Post> sorted = new ArrayList<Post>(self.getPosts());
+		sorted.sort(self.spliterator().getComparator());
+		assertEquals(self.getPosts(), sorted);
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method stream
+	 *
+	 * Renvoie un Stream séquentiel sur les Post actuels de cet utilisateur, du plus
+	 * récent au plus ancien.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void teststream(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Save state for purity check:
+		saveState(self);
+
+		// Exécution:
+		Stream<Post> result = self.stream();
+
+		// Post-conditions:
+		// @ensures \result != null;
+		assertNotNull(result);
+		// @ensures \result.collect(Collectors.toList()).equals(getPosts());
+		assertEquals(self.getPosts(), result.collect(Collectors.toList()));
+		assertEquals(self.getPosts(), self.stream().parallel().collect(Collectors.toList()));
+		assertEquals(self.getPosts().stream().mapToInt(Post::getLikeNumber).sum(),
+				self.stream().parallel().mapToInt(Post::getLikeNumber).sum());
+
+		// Assert purity:
+		assertPurity(self);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method startIteration
 	 *
@@ -1524,6 +2331,141 @@ public class TestUser {
 		assertInvariant(self);
 	}
 
+	/**
+	 * Test method for method seekTo
+	 *
+	 * Positionne l'itération en cours avant le plus récent Post de ce User dont la
+	 * date n'est pas postérieure à la date spécifiée.
+	 *
+	 * @throws NullPointerException si la date spécifiée est null
+	 */
+	@ParameterizedTest
+	@MethodSource("userAndDateProvider")
+	public void testseekTo(User self, Instant date) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires date != null;
+		if (date == null) {
+			assertThrows(NullPointerException.class, () -> self.seekTo(date));
+			return;
+		}
+
+		// Oldies:
+		List<Post> oldPosts = new LinkedList<Post>(self.getPosts());
+
+		// Exécution:
+		self.seekTo(date);
+
+		// Post-conditions:
+		assertEquals(oldPosts, self.getPosts());
+		// @ensures (\forall int i; i >= 0 && i < nextIndex();
+		// getPost(i).getDate().isAfter(date));
+		for (int i = 0; i < self.nextIndex(); i++) {
+			assertTrue(self.getPost(i).getDate().isAfter(date));
+		}
+		// @ensures hasNext() ==> !getNext().getDate().isAfter(date);
+		if (self.hasNext()) {
+			assertFalse(self.getNext().getDate().isAfter(date));
+		}
+		// @ensures nextIndex() == 0 ==> lastIndex() == -1;
+		if (self.nextIndex() == 0) {
+			assertEquals(-1, self.lastIndex());
+		} else if (self.hasNext()) {
+			// @ensures nextIndex() > 0 && hasNext() ==> lastIndex() == nextIndex();
+			assertEquals(self.nextIndex(), self.lastIndex());
+		} else {
+			// @ensures nextIndex() > 0 && !hasNext() ==> lastIndex() ==
+			// previousIndex();
+			assertEquals(self.previousIndex(), self.lastIndex());
+		}
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method addPostListener
+	 *
+	 * Enregistre l'observateur spécifié, qui sera notifié de chaque Post ajouté
+	 * ensuite aux posts de cet utilisateur.
+	 *
+	 * @throws NullPointerException si l'observateur spécifié est null
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testaddPostListener(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		// Pré-conditions:
+		// @requires l != null;
+		assertThrows(NullPointerException.class, () -> self.addPostListener(null));
+
+		// Exécution:
+		List<Post> notified = new LinkedList<Post>();
+		PostListener l = (author, p) -> {
+			assertSame(self, author);
+			notified.add(p);
+		};
+		boolean result = self.addPostListener(l);
+
+		// Post-conditions:
+		// @ensures \result <==> !\old(hasPostListener(l));
+		assertTrue(result);
+		// @ensures hasPostListener(l);
+		assertTrue(self.hasPostListener(l));
+		assertFalse(self.addPostListener(l));
+		// L'observateur est notifié une fois de chaque nouveau Post
+		Post p = self.addPost(new SimplePost("Test listener"));
+		assertEquals(Collections.singletonList(p), notified);
+		self.removePostListener(l);
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
+	/**
+	 * Test method for method removePostListener
+	 *
+	 * Retire l'observateur spécifié des observateurs de cet utilisateur.
+	 */
+	@ParameterizedTest
+	@MethodSource("userProvider")
+	public void testremovePostListener(User self) {
+		assumeTrue(self != null);
+
+		// Invariant:
+		assertInvariant(self);
+
+		List<Post> notified = new LinkedList<Post>();
+		PostListener l = (author, p) -> notified.add(p);
+		if (DataProvider.randBool()) {
+			self.addPostListener(l);
+		}
+		// Oldies:
+		boolean oldHasListener = self.hasPostListener(l);
+
+		// Exécution:
+		boolean result = self.removePostListener(l);
+
+		// Post-conditions:
+		// @ensures \result <==> \old(hasPostListener(l));
+		assertEquals(oldHasListener, result);
+		// @ensures !hasPostListener(l);
+		assertFalse(self.hasPostListener(l));
+		self.addPost(new SimplePost("Test listener"));
+		assertTrue(notified.isEmpty());
+
+		// Invariant:
+		assertInvariant(self);
+	}
+
 	/**
 	 * Test method for method remove
 	 *
@@ -0,0 +1,177 @@
+package social.model.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import social.model.Post;
+import social.model.RePost;
+import social.model.User;
+
+/**
+ * Test class for WorkloadGenerator and ZipfSampler.
+ *
+ * Deux générateurs de même graine et de même configuration, dont les User ne
+ * diffèrent que par le préfixe de leur nom, produisent les mêmes abonnements et
+ * le même flot de Post: mêmes auteurs, mêmes textes, mêmes like et mêmes
+ * RePost. Les valeurs tirées par un ZipfSampler restent entre 1 et n, et les
+ * plus petits rangs sont les plus fréquents.
+ */
+public class TestWorkloadGenerator {
+	private static final int RUN_NB = 20;
+	private static int generatorCounter = 0;
+
+	public static Stream<Arguments> seedProvider() {
+		Stream<Arguments> exStream = Stream.of(Arguments.of(42L, 1, 0), Arguments.of(0L, 2, 1));
+		return Stream.concat(exStream, Stream.generate(
+				() -> Arguments.of((long) DataProvider.randInt(Integer.MAX_VALUE), DataProvider.randInt(1, 60),
+						DataProvider.randInt(0, 10))))
+				.limit(RUN_NB);
+	}
+
+	public static Stream<Arguments> zipfProvider() {
+		Stream<Arguments> exStream = Stream.of(Arguments.of(1, 1.0), Arguments.of(2, 0.5), Arguments.of(10, 2.0));
+		return Stream.concat(exStream,
+				Stream.generate(() -> Arguments.of(DataProvider.randInt(2, 100), 0.5 + DataProvider.randInt(20) / 10.0)))
+				.limit(RUN_NB);
+	}
+
+	private static String newPrefix() {
+		return "Workload test " + generatorCounter++ + "-";
+	}
+
+	private static WorkloadGenerator newGenerator(String prefix, long seed, int userNb, int subscriptionNb) {
+		return new WorkloadGenerator(prefix, seed).setUserNb(userNb).setAverageSubscriptionNb(subscriptionNb)
+				.setMaxLikeNb(userNb).setRepostRate(0.3);
+	}
+
+	/**
+	 * Test method for methods buildSubscriptions and posts
+	 *
+	 * Les deux flots de Post sont décrits indépendamment des noms des User (rang
+	 * de chaque User dans getUsers(), texte des RePost privé du préfixe des noms)
+	 * et de l'identité des Post (rang de chaque Post republié dans le flot).
+	 */
+	@ParameterizedTest
+	@MethodSource("seedProvider")
+	public void testsameSeed(long seed, int userNb, int subscriptionNb) {
+		// Exécution:
+		String firstPrefix = newPrefix();
+		String secondPrefix = newPrefix();
+		WorkloadGenerator first = newGenerator(firstPrefix, seed, userNb, subscriptionNb);
+		WorkloadGenerator second = newGenerator(secondPrefix, seed, userNb, subscriptionNb);
+		long firstSubscriptionNb = first.buildSubscriptions();
+		long secondSubscriptionNb = second.buildSubscriptions();
+		int postNb = DataProvider.randInt(1, 300);
+		List<String> firstStream = describe(first, firstPrefix, postNb);
+		List<String> secondStream = describe(second, secondPrefix, postNb);
+
+		// Post-conditions:
+		assertEquals(firstSubscriptionNb, secondSubscriptionNb);
+		for (int i = 0; i < userNb; i++) {
+			assertEquals(ranks(first, first.getUsers().get(i).getSubscriptions()),
+					ranks(second, second.getUsers().get(i).getSubscriptions()));
+		}
+		assertEquals(firstStream, secondStream);
+		assertEquals(postNb, first.getGeneratedPostNb());
+		assertEquals(postNb, second.getGeneratedPostNb());
+	}
+
+	/*
+	 * Renvoie la description des nb prochains Post du flot du générateur
+	 * spécifié, dont les User ont le préfixe spécifié.
+	 */
+	private static List<String> describe(WorkloadGenerator gen, String prefix, int nb) {
+		Map<Post, Integer> rankOf = new IdentityHashMap<Post, Integer>();
+		List<String> result = new ArrayList<String>(nb);
+		gen.posts(nb).forEach(p -> {
+			StringBuilder sb = new StringBuilder();
+			sb.append(p.getText().replace(prefix, "")).append('|').append(ranks(gen, p.getLikers()));
+			if (p instanceof RePost) {
+				RePost rp = (RePost) p;
+				sb.append("|repost of ").append(rankOf.get(rp.getSubPost())).append(" by ")
+						.append(gen.getUsers().indexOf(rp.getSubPostAuthor()));
+			}
+			int author = -1;
+			for (int i = 0; author < 0 && i < gen.getUsers().size(); i++) {
+				if (gen.getUsers().get(i).getPosts().contains(p)) {
+					author = i;
+				}
+			}
+			sb.append("|author ").append(author);
+			rankOf.put(p, result.size());
+			result.add(sb.toString());
+		});
+		return result;
+	}
+
+	/*
+	 * Renvoie les rangs dans gen.getUsers() des User spécifiés.
+	 */
+	private static TreeSet<Integer> ranks(WorkloadGenerator gen, Iterable<User> users) {
+		TreeSet<Integer> result = new TreeSet<Integer>();
+		for (User u : users) {
+			result.add(gen.getUsers().indexOf(u));
+		}
+		return result;
+	}
+
+	/**
+	 * Test method for method ZipfSampler.sample
+	 *
+	 * @throws IllegalArgumentException si n < 1 ou exponent <= 0
+	 */
+	@ParameterizedTest
+	@MethodSource("zipfProvider")
+	public void testZipfSampler(int n, double exponent) {
+		// Pré-conditions:
+		assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(1 - n, exponent));
+		assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(n, -exponent));
+
+		ZipfSampler self = new ZipfSampler(n, exponent);
+		Random rand = new Random(DataProvider.randInt(Integer.MAX_VALUE));
+		int sampleNb = 20_000;
+		int[] counts = new int[n];
+
+		// Exécution:
+		for (int i = 0; i < sampleNb; i++) {
+			int k = self.sample(rand);
+			// Post-conditions:
+			assertTrue(k >= 1 && k <= n);
+			counts[k - 1]++;
+		}
+
+		// Post-conditions:
+		assertEquals(n, self.getN());
+		assertEquals(exponent, self.getExponent());
+		// Le premier rang est le plus fréquent
+		for (int k = 1; k < n; k++) {
+			assertTrue(counts[0] >= counts[k]);
+		}
+		// Sa fréquence est proche de 1 / H(n, exponent)
+		double harmonic = 0;
+		for (int k = 1; k <= n; k++) {
+			harmonic += 1 / Math.pow(k, exponent);
+		}
+		double expected = sampleNb / harmonic;
+		assertTrue(Math.abs(counts[0] - expected) <= 5 * Math.sqrt(expected) + 1);
+		// La première moitié des rangs est plus fréquente que la seconde
+		int firstHalf = 0;
+		for (int k = 0; k < n / 2; k++) {
+			firstHalf += counts[k];
+		}
+		assertTrue(n < 2 || firstHalf > sampleNb / 2);
+	}
+}
@@ -0,0 +1,540 @@
+/**
+ *
+ */
+package social.model.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import social.model.Post;
+import social.model.PostClock;
+import social.model.RePost;
+import social.model.SimplePost;
+import social.model.User;
+
+/**
+ * Générateur de charges synthétiques de taille arbitraire, aux formes proches
+ * de celles d'un réseau social réel, pour les benchmarks et les tests de
+ * charge:
+ * <ul>
+ * <li>le nombre d'abonnés des User suit une loi de puissance: chaque abonnement
+ * vise le User de rang k en popularité avec une probabilité proportionnelle à
+ * 1 / k^getFollowerExponent();</li>
+ * <li>l'activité des User suit de même une loi de Zipf: l'auteur de chaque Post
+ * est le User de rang k en activité avec une probabilité proportionnelle à
+ * 1 / k^getActivityExponent();</li>
+ * <li>le nombre de like de chaque Post suit une loi de Zipf d'exposant
+ * getLikeExponent() entre 0 et getMaxLikeNb();</li>
+ * <li>une proportion getRepostRate() des Post sont des RePost d'un Post récent,
+ * le kième Post le plus récent étant republié avec une probabilité
+ * proportionnelle à 1 / k^getRepostExponent().</li>
+ * </ul>
+ *
+ * Toutes les valeurs tirées dépendent uniquement de la graine du générateur et
+ * de sa configuration: deux générateurs de même graine et de même configuration
+ * produisent les mêmes abonnements, les mêmes auteurs, les mêmes textes, les
+ * mêmes like et les mêmes RePost.
+ *
+ * Le générateur est indépendant de DataProvider: il tire toutes ses valeurs de
+ * son propre Random, ne crée aucun User, Post ou abonnement en dehors de ceux
+ * qu'on lui demande, et ne dépend pas de JUnit. Il ne mémorise pas les Post qu'il
+ * publie (hormis une fenêtre bornée des plus récents, candidats au RePost):
+ * posts(nb) les produit au fur et à mesure de leur consommation. Les textes des
+ * Post sont choisis parmi un ensemble fixé de phrases partagées, si bien que le
+ * coût mémoire d'un Post se réduit à celui de l'objet Post lui-même; seuls les
+ * User, qui conservent leurs Post, en limitent le nombre. Par exemple:
+ *
+ * <pre>{@code
+ * WorkloadGenerator gen = new WorkloadGenerator("charge-", 42).setUserNb(1_000_000)
+ * 		.setAverageSubscriptionNb(100);
+ * gen.buildSubscriptions();
+ * gen.posts(100_000_000).forEach(p -> {});
+ * }</pre>
+ *
+ * Un générateur n'est pas prévu pour être utilisé simultanément par plusieurs
+ * threads.
+ *
+ * @invariant getUserNb() > 0;
+ * @invariant getAverageSubscriptionNb() >= 0;
+ * @invariant getFollowerExponent() > 0 && getActivityExponent() > 0;
+ * @invariant getLikeExponent() > 0 && getRepostExponent() > 0;
+ * @invariant getMaxLikeNb() >= 0;
+ * @invariant getRepostRate() >= 0 && getRepostRate() <= 1;
+ * @invariant getGeneratedPostNb() >= 0;
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+public final class WorkloadGenerator {
+	/*
+	 * Nombre de Post récents pouvant être republiés.
+	 */
+	private static final int REPOST_WINDOW = 4096;
+	/*
+	 * Nombre de mots distincts, de phrases distinctes, et nombre maximal de mots
+	 * par phrase.
+	 */
+	private static final int VOCABULARY_SIZE = 10_000;
+	private static final int PHRASE_NB = 65_536;
+	private static final int MAX_WORDS_PER_PHRASE = 12;
+
+	private final String namePrefix;
+	private final Random rand;
+	private int userNb = 10_000;
+	private double averageSubscriptionNb = 20;
+	private double followerExponent = 1.0;
+	private double activityExponent = 1.0;
+	private double likeExponent = 2.0;
+	private int maxLikeNb = 1_000;
+	private double repostRate = 0.1;
+	private double repostExponent = 1.0;
+	private PostClock clock;
+
+	private List<User> users;
+	private int[] byPopularity;
+	private int[] byActivity;
+	private String[] phrases;
+	private ZipfSampler authorSampler;
+	private ZipfSampler likeSampler;
+	private ZipfSampler repostSampler;
+	private Post[] recentPosts;
+	private User[] recentAuthors;
+	private long generatedPostNb;
+
+	/**
+	 * Initialise un générateur dont les User auront pour nom le préfixe spécifié
+	 * suivi de leur numéro, et dont le générateur pseudo-aléatoire a pour graine
+	 * la graine spécifiée.
+	 *
+	 * @param namePrefix le préfixe du nom des User créés
+	 * @param seed       la graine du générateur pseudo-aléatoire
+	 *
+	 * @throws NullPointerException si namePrefix est null
+	 *
+	 * @requires namePrefix != null;
+	 * @ensures getGeneratedPostNb() == 0;
+	 */
+	public WorkloadGenerator(String namePrefix, long seed) {
+		if (namePrefix == null) {
+			throw new NullPointerException();
+		}
+		this.namePrefix = namePrefix;
+		this.rand = new Random(seed);
+	}
+
+	// Configuration
+	/**
+	 * Fixe le nombre de User créés par ce générateur (10 000 par défaut).
+	 *
+	 * @param nb le nombre de User
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si nb <= 0
+	 * @throws IllegalStateException    si les User ont déjà été créés
+	 *
+	 * @requires nb > 0;
+	 * @ensures getUserNb() == nb;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setUserNb(int nb) {
+		if (nb <= 0) {
+			throw new IllegalArgumentException("Le nombre de User doit être strictement positif");
+		}
+		checkNotStarted();
+		this.userNb = nb;
+		return this;
+	}
+
+	/**
+	 * Fixe le nombre moyen d'abonnements de chaque User (20 par défaut): le nombre
+	 * d'abonnements tentés pour chaque User est tiré uniformément entre 0 et deux
+	 * fois cette moyenne.
+	 *
+	 * @param nb le nombre moyen d'abonnements
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si nb < 0
+	 *
+	 * @requires nb >= 0;
+	 * @ensures getAverageSubscriptionNb() == nb;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setAverageSubscriptionNb(double nb) {
+		if (!(nb >= 0)) {
+			throw new IllegalArgumentException("Le nombre moyen d'abonnements doit être positif");
+		}
+		this.averageSubscriptionNb = nb;
+		return this;
+	}
+
+	/**
+	 * Fixe l'exposant de la loi de puissance suivie par le nombre d'abonnés des
+	 * User (1.0 par défaut).
+	 *
+	 * @param exponent l'exposant
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si exponent <= 0
+	 * @throws IllegalStateException    si les User ont déjà été créés
+	 *
+	 * @requires exponent > 0;
+	 * @ensures getFollowerExponent() == exponent;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setFollowerExponent(double exponent) {
+		checkExponent(exponent);
+		checkNotStarted();
+		this.followerExponent = exponent;
+		return this;
+	}
+
+	/**
+	 * Fixe l'exposant de la loi de Zipf suivie par le nombre de Post publiés par
+	 * les User (1.0 par défaut).
+	 *
+	 * @param exponent l'exposant
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si exponent <= 0
+	 * @throws IllegalStateException    si les User ont déjà été créés
+	 *
+	 * @requires exponent > 0;
+	 * @ensures getActivityExponent() == exponent;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setActivityExponent(double exponent) {
+		checkExponent(exponent);
+		checkNotStarted();
+		this.activityExponent = exponent;
+		return this;
+	}
+
+	/**
+	 * Fixe l'exposant de la loi de Zipf suivie par le nombre de like des Post (2.0
+	 * par défaut).
+	 *
+	 * @param exponent l'exposant
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si exponent <= 0
+	 * @throws IllegalStateException    si des Post ont déjà été générés
+	 *
+	 * @requires exponent > 0;
+	 * @ensures getLikeExponent() == exponent;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setLikeExponent(double exponent) {
+		checkExponent(exponent);
+		checkNoPost();
+		this.likeExponent = exponent;
+		return this;
+	}
+
+	/**
+	 * Fixe le nombre maximal de like d'un Post (1 000 par défaut). Les like d'un
+	 * même User ne comptant qu'une fois, un Post reçoit au plus getUserNb() like.
+	 *
+	 * @param nb le nombre maximal de like
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si nb < 0
+	 * @throws IllegalStateException    si des Post ont déjà été générés
+	 *
+	 * @requires nb >= 0;
+	 * @ensures getMaxLikeNb() == nb;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setMaxLikeNb(int nb) {
+		if (nb < 0) {
+			throw new IllegalArgumentException("Le nombre maximal de like doit être positif");
+		}
+		checkNoPost();
+		this.maxLikeNb = nb;
+		return this;
+	}
+
+	/**
+	 * Fixe la proportion de RePost parmi les Post générés (0.1 par défaut).
+	 *
+	 * @param rate la proportion de RePost
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si rate < 0 ou rate > 1
+	 *
+	 * @requires rate >= 0 && rate <= 1;
+	 * @ensures getRepostRate() == rate;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setRepostRate(double rate) {
+		if (!(rate >= 0 && rate <= 1)) {
+			throw new IllegalArgumentException("La proportion de RePost doit être comprise entre 0 et 1");
+		}
+		this.repostRate = rate;
+		return this;
+	}
+
+	/**
+	 * Fixe l'exposant de la loi de Zipf suivie par le rang, du plus récent au plus
+	 * ancien, des Post republiés (1.0 par défaut).
+	 *
+	 * @param exponent l'exposant
+	 *
+	 * @return ce générateur
+	 *
+	 * @throws IllegalArgumentException si exponent <= 0
+	 * @throws IllegalStateException    si des Post ont déjà été générés
+	 *
+	 * @requires exponent > 0;
+	 * @ensures getRepostExponent() == exponent;
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setRepostExponent(double exponent) {
+		checkExponent(exponent);
+		checkNoPost();
+		this.repostExponent = exponent;
+		return this;
+	}
+
+	/**
+	 * Fixe l'horloge datant les Post générés. Par défaut, les Post sont datés par
+	 * l'horloge des SimplePost (SimplePost.getClock()).
+	 *
+	 * @param clock l'horloge datant les Post, ou null pour l'horloge par défaut
+	 *
+	 * @return ce générateur
+	 *
+	 * @ensures \result == this;
+	 */
+	public WorkloadGenerator setClock(PostClock clock) {
+		this.clock = clock;
+		return this;
+	}
+
+	public int getUserNb() {
+		return userNb;
+	}
+
+	public double getAverageSubscriptionNb() {
+		return averageSubscriptionNb;
+	}
+
+	public double getFollowerExponent() {
+		return followerExponent;
+	}
+
+	public double getActivityExponent() {
+		return activityExponent;
+	}
+
+	public double getLikeExponent() {
+		return likeExponent;
+	}
+
+	public int getMaxLikeNb() {
+		return maxLikeNb;
+	}
+
+	public double getRepostRate() {
+		return repostRate;
+	}
+
+	public double getRepostExponent() {
+		return repostExponent;
+	}
+
+	/**
+	 * Renvoie le nombre de Post générés par ce générateur.
+	 *
+	 * @return le nombre de Post générés
+	 *
+	 * @pure
+	 */
+	public long getGeneratedPostNb() {
+		return generatedPostNb;
+	}
+
+	// Génération
+	/**
+	 * Renvoie la liste non modifiable des User de ce générateur, en les créant
+	 * lors du premier appel.
+	 *
+	 * @return la liste des User de ce générateur
+	 *
+	 * @throws IllegalArgumentException si un User de même nom existe déjà
+	 *
+	 * @ensures \result != null && \result.size() == getUserNb();
+	 */
+	public List<User> getUsers() {
+		if (users == null) {
+			List<User> created = new ArrayList<User>(userNb);
+			for (int i = 0; i < userNb; i++) {
+				created.add(new User(namePrefix + i, "pass"));
+			}
+			users = Collections.unmodifiableList(created);
+			byPopularity = permutation(userNb);
+			byActivity = permutation(userNb);
+		}
+		return users;
+	}
+
+	/**
+	 * Abonne chaque User de ce générateur à getAverageSubscriptionNb() User en
+	 * moyenne, choisis selon leur popularité. Les abonnements d'un User à
+	 * lui-même ou déjà existants sont ignorés.
+	 *
+	 * @return le nombre d'abonnements créés
+	 *
+	 * @ensures \result >= 0;
+	 */
+	public long buildSubscriptions() {
+		List<User> all = getUsers();
+		ZipfSampler followed = new ZipfSampler(userNb, followerExponent);
+		int bound = (int) Math.min(Integer.MAX_VALUE - 1, Math.round(2 * averageSubscriptionNb));
+		long created = 0;
+		for (User u : all) {
+			int nb = rand.nextInt(bound + 1);
+			for (int i = 0; i < nb; i++) {
+				User v = all.get(byPopularity[followed.sample(rand) - 1]);
+				if (v != u && u.addSubscriptionTo(v)) {
+					created++;
+				}
+			}
+		}
+		return created;
+	}
+
+	/**
+	 * Renvoie un flot séquentiel de nb Post générés au fur et à mesure de sa
+	 * consommation: chaque Post est publié par son auteur et a reçu ses like
+	 * lorsqu'il est produit par le flot.
+	 *
+	 * @param nb le nombre de Post du flot
+	 *
+	 * @return un flot de nb Post
+	 *
+	 * @throws IllegalArgumentException si nb < 0
+	 *
+	 * @requires nb >= 0;
+	 * @ensures \result != null;
+	 */
+	public Stream<Post> posts(long nb) {
+		if (nb < 0) {
+			throw new IllegalArgumentException("Le nombre de Post doit être positif");
+		}
+		return LongStream.range(0, nb).mapToObj(i -> nextPost());
+	}
+
+	/**
+	 * Génère un Post, le fait publier par son auteur et lui ajoute ses like.
+	 *
+	 * @return le Post généré
+	 *
+	 * @ensures \result != null;
+	 * @ensures getGeneratedPostNb() == \old(getGeneratedPostNb()) + 1;
+	 */
+	public Post nextPost() {
+		List<User> all = getUsers();
+		if (authorSampler == null) {
+			initPostSamplers();
+		}
+		User author = all.get(byActivity[authorSampler.sample(rand) - 1]);
+		String text = phrases[rand.nextInt(PHRASE_NB)];
+		int recentNb = (int) Math.min(generatedPostNb, REPOST_WINDOW);
+		Post p;
+		if (recentNb > 0 && rand.nextDouble() < repostRate) {
+			int rank = recentNb == REPOST_WINDOW ? repostSampler.sample(rand) : 1 + rand.nextInt(recentNb);
+			int slot = (int) ((generatedPostNb - rank) % REPOST_WINDOW);
+			p = clock == null ? new RePost(text, recentAuthors[slot], recentPosts[slot])
+					: new RePost(text, recentAuthors[slot], recentPosts[slot], clock);
+		} else {
+			p = clock == null ? new SimplePost(text) : new SimplePost(text, clock);
+		}
+		author.addPost(p);
+		int likeNb = likeSampler.sample(rand) - 1;
+		for (int i = 0; i < likeNb; i++) {
+			p.addLikeFrom(all.get(rand.nextInt(userNb)));
+		}
+		int slot = (int) (generatedPostNb % REPOST_WINDOW);
+		recentPosts[slot] = p;
+		recentAuthors[slot] = author;
+		generatedPostNb++;
+		return p;
+	}
+
+	private void initPostSamplers() {
+		authorSampler = new ZipfSampler(userNb, activityExponent);
+		likeSampler = new ZipfSampler(Math.min(maxLikeNb, userNb) + 1, likeExponent);
+		repostSampler = new ZipfSampler(REPOST_WINDOW, repostExponent);
+		recentPosts = new Post[REPOST_WINDOW];
+		recentAuthors = new User[REPOST_WINDOW];
+		// Les mots sont plus ou moins fréquents dans les phrases, selon une loi de
+		// Zipf
+		ZipfSampler words = new ZipfSampler(VOCABULARY_SIZE, 1.0);
+		phrases = new String[PHRASE_NB];
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < PHRASE_NB; i++) {
+			sb.setLength(0);
+			int wordNb = 1 + rand.nextInt(MAX_WORDS_PER_PHRASE);
+			for (int w = 0; w < wordNb; w++) {
+				if (w > 0) {
+					sb.append(' ');
+				}
+				appendWord(sb, words.sample(rand) - 1);
+			}
+			phrases[i] = sb.toString();
+		}
+	}
+
+	/*
+	 * Ajoute le mot de numéro spécifié: son écriture en base 26, en lettres
+	 * minuscules.
+	 */
+	private static void appendWord(StringBuilder sb, int n) {
+		do {
+			sb.append((char) ('a' + n % 26));
+			n /= 26;
+		} while (n > 0);
+	}
+
+	/*
+	 * Renvoie une permutation aléatoire des entiers de 0 à n - 1.
+	 */
+	private int[] permutation(int n) {
+		int[] result = new int[n];
+		for (int i = 0; i < n; i++) {
+			int j = rand.nextInt(i + 1);
+			result[i] = result[j];
+			result[j] = i;
+		}
+		return result;
+	}
+
+	private void checkNotStarted() {
+		if (users != null) {
+			throw new IllegalStateException("Les User ont déjà été créés");
+		}
+	}
+
+	private void checkNoPost() {
+		if (authorSampler != null) {
+			throw new IllegalStateException("Des Post ont déjà été générés");
+		}
+	}
+
+	private static void checkExponent(double exponent) {
+		if (!(exponent > 0)) {
+			throw new IllegalArgumentException("L'exposant doit être strictement positif");
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ *
+ */
+package social.model.test;
+
+import java.util.Random;
+
+/**
+ * Tirage d'entiers entre 1 et n selon une loi de Zipf d'exposant s: la
+ * probabilité de tirer k est proportionnelle à 1 / k^s. Chaque tirage coûte
+ * O(1) en moyenne, quel que soit n, et aucune table n'est allouée (méthode de
+ * rejet-inversion de Hörmann et Derflinger, "Rejection-inversion to generate
+ * variates from monotone discrete distributions", 1996).
+ *
+ * @invariant getN() >= 1 && getExponent() > 0;
+ *
+ * @since 18/10/2026
+ * @version 18/10/2026
+ */
+final class ZipfSampler {
+	private final int n;
+	private final double exponent;
+	private final double hIntegralX1;
+	private final double hIntegralN;
+	private final double threshold;
+
+	/**
+	 * Initialise un générateur d'entiers entre 1 et n selon une loi de Zipf
+	 * d'exposant spécifié.
+	 *
+	 * @param n        le plus grand entier pouvant être tiré
+	 * @param exponent l'exposant de la loi
+	 *
+	 * @throws IllegalArgumentException si n < 1 ou exponent <= 0
+	 */
+	ZipfSampler(int n, double exponent) {
+		if (n < 1 || !(exponent > 0)) {
+			throw new IllegalArgumentException();
+		}
+		this.n = n;
+		this.exponent = exponent;
+		this.hIntegralX1 = hIntegral(1.5) - 1.0;
+		this.hIntegralN = hIntegral(n + 0.5);
+		this.threshold = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+	}
+
+	int getN() {
+		return n;
+	}
+
+	double getExponent() {
+		return exponent;
+	}
+
+	/**
+	 * Renvoie un entier entre 1 et getN() tiré à l'aide du générateur spécifié.
+	 *
+	 * @param rand le générateur pseudo-aléatoire utilisé
+	 *
+	 * @return un entier entre 1 et getN()
+	 *
+	 * @ensures \result >= 1 && \result <= getN();
+	 */
+	int sample(Random rand) {
+		while (true) {
+			double u = hIntegralN + rand.nextDouble() * (hIntegralX1 - hIntegralN);
+			double x = hIntegralInverse(u);
+			int k = (int) (x + 0.5);
+			if (k < 1) {
+				k = 1;
+			} else if (k > n) {
+				k = n;
+			}
+			if (k - x <= threshold || u >= hIntegral(k + 0.5) - h(k)) {
+				return k;
+			}
+		}
+	}
+
+	// Primitive de h(x) = 1 / x^exponent, à une constante près
+	private double hIntegral(double x) {
+		double logX = Math.log(x);
+		return expm1OverX((1.0 - exponent) * logX) * logX;
+	}
+
+	private double h(double x) {
+		return Math.exp(-exponent * Math.log(x));
+	}
+
+	private double hIntegralInverse(double x) {
+		double t = x * (1.0 - exponent);
+		if (t < -1.0) {
+			t = -1.0;
+		}
+		return Math.exp(log1pOverX(t) * x);
+	}
+
+	// log(1 + x) / x, prolongée par continuité en 0
+	private static double log1pOverX(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.log1p(x) / x;
+		}
+		return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+	}
+
+	// (exp(x) - 1) / x, prolongée par continuité en 0
+	private static double expm1OverX(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.expm1(x) / x;
+		}
+		return 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+	}
+}